@@ -25,6 +25,9 @@ public class Arm extends Interface {
 	{
 		super(LeapJNI.Arm_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.ARM);
+		}
 	}
 	
 	/**
@@ -193,15 +196,13 @@ public class Arm extends Interface {
 		return paramArm == null ? 0L : paramArm.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_Arm(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_Arm(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
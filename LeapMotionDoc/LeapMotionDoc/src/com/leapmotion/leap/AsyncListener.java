@@ -0,0 +1,78 @@
+package com.leapmotion.leap;
+
+/**
+ * The {@code AsyncListener} class is a {@link Listener} that moves frame processing off
+ * the native callback thread.<p>
+ *
+ * The native library calls {@link Listener#onFrame(Controller)} for every listener in turn on
+ * one thread, so a single slow listener delays all others and the service itself.
+ * An {@code AsyncListener} only captures each frame into a {@link FrameRingBuffer} and returns;
+ * its consumers process the frames on their own threads:
+ *
+ * <blockquote><pre>
+ * AsyncListener async = new AsyncListener(64);
+ * async.addConsumer(gestureHandler, FrameRingBuffer.WaitStrategy.BUSY_SPIN);
+ * async.addConsumer(loggingHandler, FrameRingBuffer.WaitStrategy.PARKING);
+ * controller.addListener(async);
+ * </pre></blockquote>
+ *
+ * Add an {@code AsyncListener} to one {@link Controller} only.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class AsyncListener extends Listener {
+	private final FrameRingBuffer ring;
+
+	/**
+	 * Constructs a listener with a ring of the specified size.
+	 *
+	 * @param capacity - The number of frames a consumer may fall behind before it skips frames.
+	 * A power of two.
+	 */
+	public AsyncListener(int capacity) {
+		this.ring = new FrameRingBuffer(capacity);
+	}
+
+	public void onFrame(Controller controller) {
+		Frame frame = controller.frame();
+		this.ring.publish(frame);
+		frame.delete();
+	}
+
+	/**
+	 * Starts a consumer thread that passes every subsequent frame to {@code handler}.
+	 *
+	 * @param handler - The handler, called on the consumer thread.
+	 * @param strategy - How the consumer thread waits for frames.
+	 *
+	 * @return The running consumer.
+	 */
+	public FrameRingBuffer.Consumer addConsumer(FrameSnapshotHandler handler, FrameRingBuffer.WaitStrategy strategy) {
+		return this.ring.addConsumer(handler, strategy);
+	}
+
+	/**
+	 * Stops a consumer and waits for its current frame to finish.
+	 *
+	 * @param consumer - A consumer of this listener.
+	 *
+	 * @return True, if the consumer was running.
+	 */
+	public boolean removeConsumer(FrameRingBuffer.Consumer consumer) {
+		return this.ring.removeConsumer(consumer);
+	}
+
+	/**
+	 * The ring buffer this listener publishes to.
+	 *
+	 * @return The ring buffer.
+	 */
+	public FrameRingBuffer ring() {
+		return this.ring;
+	}
+
+	public void onExit(Controller controller) {
+		this.ring.close();
+	}
+}
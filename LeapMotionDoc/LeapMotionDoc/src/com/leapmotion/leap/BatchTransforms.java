@@ -0,0 +1,216 @@
+package com.leapmotion.leap;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The {@code BatchTransforms} class applies a transformation matrix to large buffers of points.<p>
+ *
+ * Use these functions for offline work such as transforming every {@link Bone} joint of a
+ * recorded session or a point cloud built from rectified {@link Image} pixels.
+ * The matrix is read from the native library once per call; the points themselves are
+ * transformed in pure Java.<p>
+ *
+ * Two buffer layouts are supported. Packed buffers hold x, y, z triples one after another:
+ *
+ * <blockquote><pre>
+ * float[] joints = ...; // x0, y0, z0, x1, y1, z1, ...
+ * BatchTransforms.transformPoints(hand.basis(), joints, 0, joints, 0, joints.length / 3);
+ * </pre></blockquote>
+ *
+ * Split buffers hold each component in its own array. Split loops have no stride,
+ * so the JIT compiler can turn them into SIMD instructions:
+ *
+ * <blockquote><pre>
+ * BatchTransforms.transformPoints(transform, xs, ys, zs, 0, count);
+ * </pre></blockquote>
+ *
+ * The {@code parallelTransformPoints} functions split large buffers across a {@link ForkJoinPool}.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public final class BatchTransforms {
+	/**
+	 * Buffers smaller than this number of points are not split across threads.
+	 */
+	public static final int PARALLEL_THRESHOLD = 16384;
+
+	private BatchTransforms() {
+	}
+
+	/**
+	 * Transforms packed x, y, z points with a native {@link Matrix}.
+	 *
+	 * @param matrix - The transform to apply.
+	 * @param src - The packed source points.
+	 * @param srcOffset - The index of the first source x component.
+	 * @param dst - The packed destination points; may be {@code src}.
+	 * @param dstOffset - The index of the first destination x component.
+	 * @param count - The number of points to transform.
+	 */
+	public static void transformPoints(Matrix matrix, float[] src, int srcOffset, float[] dst, int dstOffset, int count) {
+		new Matrix3x4f(matrix).transformPoints(src, srcOffset, dst, dstOffset, count);
+	}
+
+	/**
+	 * Transforms packed x, y, z points with a matrix in the column-major layout
+	 * returned by {@link Matrix#toArray4x4()}.
+	 *
+	 * @param matrix4x4 - The transform to apply, 16 elements.
+	 * @param src - The packed source points.
+	 * @param srcOffset - The index of the first source x component.
+	 * @param dst - The packed destination points; may be {@code src}.
+	 * @param dstOffset - The index of the first destination x component.
+	 * @param count - The number of points to transform.
+	 */
+	public static void transformPoints(float[] matrix4x4, float[] src, int srcOffset, float[] dst, int dstOffset, int count) {
+		fromArray4x4(matrix4x4).transformPoints(src, srcOffset, dst, dstOffset, count);
+	}
+
+	/**
+	 * Transforms points stored as separate x, y and z arrays, in place.
+	 *
+	 * @param matrix - The transform to apply.
+	 * @param xs - The x components.
+	 * @param ys - The y components.
+	 * @param zs - The z components.
+	 * @param offset - The index of the first point.
+	 * @param count - The number of points to transform.
+	 */
+	public static void transformPoints(Matrix3x4f matrix, float[] xs, float[] ys, float[] zs, int offset, int count) {
+		float[] m = matrix.array();
+		float m0 = m[0], m1 = m[1], m2 = m[2], m3 = m[3], m4 = m[4], m5 = m[5];
+		float m6 = m[6], m7 = m[7], m8 = m[8], m9 = m[9], m10 = m[10], m11 = m[11];
+		int end = offset + count;
+		for (int i = offset; i < end; i++) {
+			float x = xs[i], y = ys[i], z = zs[i];
+			xs[i] = m0 * x + m3 * y + m6 * z + m9;
+			ys[i] = m1 * x + m4 * y + m7 * z + m10;
+			zs[i] = m2 * x + m5 * y + m8 * z + m11;
+		}
+	}
+
+	/**
+	 * Transforms packed x, y, z points, splitting the work across the threads of {@code pool}.<p>
+	 *
+	 * The source and destination ranges must either coincide exactly or not overlap.
+	 *
+	 * @param matrix - The transform to apply.
+	 * @param src - The packed source points.
+	 * @param srcOffset - The index of the first source x component.
+	 * @param dst - The packed destination points; may be {@code src}.
+	 * @param dstOffset - The index of the first destination x component.
+	 * @param count - The number of points to transform.
+	 * @param pool - The pool that runs the work.
+	 */
+	public static void parallelTransformPoints(Matrix3x4f matrix, float[] src, int srcOffset, float[] dst, int dstOffset,
+			int count, ForkJoinPool pool) {
+		if (count < PARALLEL_THRESHOLD) {
+			matrix.transformPoints(src, srcOffset, dst, dstOffset, count);
+		} else {
+			pool.invoke(new PackedTask(matrix, src, srcOffset, dst, dstOffset, count));
+		}
+	}
+
+	/**
+	 * Transforms points stored as separate x, y and z arrays in place,
+	 * splitting the work across the threads of {@code pool}.
+	 *
+	 * @param matrix - The transform to apply.
+	 * @param xs - The x components.
+	 * @param ys - The y components.
+	 * @param zs - The z components.
+	 * @param offset - The index of the first point.
+	 * @param count - The number of points to transform.
+	 * @param pool - The pool that runs the work.
+	 */
+	public static void parallelTransformPoints(Matrix3x4f matrix, float[] xs, float[] ys, float[] zs, int offset, int count,
+			ForkJoinPool pool) {
+		if (count < PARALLEL_THRESHOLD) {
+			transformPoints(matrix, xs, ys, zs, offset, count);
+		} else {
+			pool.invoke(new SplitTask(matrix, xs, ys, zs, offset, count));
+		}
+	}
+
+	/**
+	 * Converts a column-major 4x4 array, as returned by {@link Matrix#toArray4x4()},
+	 * into a {@link Matrix3x4f}. The projective row is ignored.
+	 *
+	 * @param matrix4x4 - A 16 element array.
+	 *
+	 * @return A new {@link Matrix3x4f}.
+	 */
+	public static Matrix3x4f fromArray4x4(float[] matrix4x4) {
+		Matrix3x4f result = new Matrix3x4f();
+		float[] m = result.array();
+		for (int column = 0; column < 4; column++) {
+			m[column * 3] = matrix4x4[column * 4];
+			m[column * 3 + 1] = matrix4x4[column * 4 + 1];
+			m[column * 3 + 2] = matrix4x4[column * 4 + 2];
+		}
+		return result;
+	}
+
+	private static class PackedTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Matrix3x4f matrix;
+		private final float[] src;
+		private final int srcOffset;
+		private final float[] dst;
+		private final int dstOffset;
+		private final int count;
+
+		PackedTask(Matrix3x4f matrix, float[] src, int srcOffset, float[] dst, int dstOffset, int count) {
+			this.matrix = matrix;
+			this.src = src;
+			this.srcOffset = srcOffset;
+			this.dst = dst;
+			this.dstOffset = dstOffset;
+			this.count = count;
+		}
+
+		protected void compute() {
+			if (this.count <= PARALLEL_THRESHOLD) {
+				this.matrix.transformPoints(this.src, this.srcOffset, this.dst, this.dstOffset, this.count);
+				return;
+			}
+			int half = this.count >>> 1;
+			invokeAll(new PackedTask(this.matrix, this.src, this.srcOffset, this.dst, this.dstOffset, half),
+					new PackedTask(this.matrix, this.src, this.srcOffset + half * 3, this.dst, this.dstOffset + half * 3,
+							this.count - half));
+		}
+	}
+
+	private static class SplitTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Matrix3x4f matrix;
+		private final float[] xs;
+		private final float[] ys;
+		private final float[] zs;
+		private final int offset;
+		private final int count;
+
+		SplitTask(Matrix3x4f matrix, float[] xs, float[] ys, float[] zs, int offset, int count) {
+			this.matrix = matrix;
+			this.xs = xs;
+			this.ys = ys;
+			this.zs = zs;
+			this.offset = offset;
+			this.count = count;
+		}
+
+		protected void compute() {
+			if (this.count <= PARALLEL_THRESHOLD) {
+				transformPoints(this.matrix, this.xs, this.ys, this.zs, this.offset, this.count);
+				return;
+			}
+			int half = this.count >>> 1;
+			invokeAll(new SplitTask(this.matrix, this.xs, this.ys, this.zs, this.offset, half),
+					new SplitTask(this.matrix, this.xs, this.ys, this.zs, this.offset + half, this.count - half));
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package com.leapmotion.leap;
+
+import java.util.Arrays;
+
+/**
+ * The {@code BlobDetector} class is an {@link ImageStage} that finds bright regions in camera images.<p>
+ *
+ * Pixels at or above a brightness level are grouped into blobs of 4-connected pixels. Blobs
+ * smaller than a minimum area are ignored. The stage writes a label image, in which each pixel
+ * holds the 1-based index of its blob or 0, and records the area and centroid of every blob
+ * for each camera. Run it after {@link ImageStages#threshold(int)}, or pass the level directly,
+ * and read the results in the {@link StereoImageHandler}:
+ *
+ * <blockquote><pre>
+ * public void onImages(ImagePlane left, ImagePlane right) {
+ *     for (int i = 0; i &lt; blobs.blobCount(0); i++) {
+ *         float x = blobs.blobX(0, i);
+ *         float y = blobs.blobY(0, i);
+ *         // ...
+ *     }
+ * }
+ * </pre></blockquote>
+ *
+ * The results of a camera are replaced when its next image is processed.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class BlobDetector implements ImageStage {
+	/**
+	 * The largest number of blobs reported per image; labels must fit in one byte.
+	 */
+	public static final int MAX_BLOBS = 255;
+
+	private final int level;
+	private final int minArea;
+	private final Results[] results = { new Results(), new Results() };
+
+	/**
+	 * Constructs a detector for thresholded images, treating every nonzero pixel as part of a blob.
+	 *
+	 * @param minArea - The smallest blob reported, in pixels.
+	 */
+	public BlobDetector(int minArea) {
+		this(1, minArea);
+	}
+
+	/**
+	 * Constructs a detector for grayscale images.
+	 *
+	 * @param level - The lowest brightness, from 1 to 255, of pixels that belong to blobs.
+	 * @param minArea - The smallest blob reported, in pixels.
+	 */
+	public BlobDetector(int level, int minArea) {
+		if (level < 1 || level > 255) {
+			throw new IllegalArgumentException("Level out of range: " + level);
+		}
+		this.level = level;
+		this.minArea = Math.max(minArea, 1);
+	}
+
+	public void process(ImagePlane src, ImagePlane dst) {
+		int width = src.width();
+		int height = src.height();
+		int size = width * height;
+		dst.reshape(width, height, src);
+		byte[] in = src.pixels();
+		byte[] out = dst.pixels();
+		Results result = results(src.camera());
+		if (result.stack.length < size) {
+			result.stack = new int[size];
+			result.visited = new boolean[size];
+		} else {
+			Arrays.fill(result.visited, 0, size, false);
+		}
+		Arrays.fill(out, 0, size, (byte)0);
+		int[] stack = result.stack;
+		boolean[] visited = result.visited;
+		int count = 0;
+		for (int start = 0; start < size; start++) {
+			if (visited[start] || (in[start] & 0xFF) < this.level) {
+				continue;
+			}
+			// Flood fill; the pixels of the blob are left on the stack in visiting order.
+			int top = 0;
+			int next = 0;
+			stack[top++] = start;
+			visited[start] = true;
+			long sumX = 0;
+			long sumY = 0;
+			while (next < top) {
+				int p = stack[next++];
+				int x = p % width;
+				int y = p / width;
+				sumX += x;
+				sumY += y;
+				if (x > 0) {
+					top = push(in, visited, stack, top, p - 1);
+				}
+				if (x < width - 1) {
+					top = push(in, visited, stack, top, p + 1);
+				}
+				if (y > 0) {
+					top = push(in, visited, stack, top, p - width);
+				}
+				if (y < height - 1) {
+					top = push(in, visited, stack, top, p + width);
+				}
+			}
+			if (top < this.minArea || count == MAX_BLOBS) {
+				continue;
+			}
+			byte label = (byte)(count + 1);
+			for (int i = 0; i < top; i++) {
+				out[stack[i]] = label;
+			}
+			result.area[count] = top;
+			result.x[count] = (float)sumX / top;
+			result.y[count] = (float)sumY / top;
+			count++;
+		}
+		result.count = count;
+	}
+
+	private int push(byte[] in, boolean[] visited, int[] stack, int top, int p) {
+		if (!visited[p] && (in[p] & 0xFF) >= this.level) {
+			visited[p] = true;
+			stack[top++] = p;
+		}
+		return top;
+	}
+
+	private Results results(int camera) {
+		if (camera < 0 || camera >= this.results.length) {
+			throw new IllegalArgumentException("Unknown camera: " + camera);
+		}
+		return this.results[camera];
+	}
+
+	/**
+	 * The number of blobs found in the latest image of a camera.
+	 *
+	 * @param camera - 0 for the left camera, 1 for the right one.
+	 *
+	 * @return The number of blobs, at most {@link BlobDetector#MAX_BLOBS}.
+	 */
+	public int blobCount(int camera) {
+		return results(camera).count;
+	}
+
+	/**
+	 * The number of pixels in a blob.
+	 *
+	 * @param camera - 0 for the left camera, 1 for the right one.
+	 * @param blob - The blob index, one less than its label.
+	 *
+	 * @return The area in pixels.
+	 */
+	public int blobArea(int camera, int blob) {
+		return results(camera).area[blob];
+	}
+
+	/**
+	 * The horizontal position of the centroid of a blob.
+	 *
+	 * @param camera - 0 for the left camera, 1 for the right one.
+	 * @param blob - The blob index.
+	 *
+	 * @return The x coordinate in pixels of the processed image.
+	 */
+	public float blobX(int camera, int blob) {
+		return results(camera).x[blob];
+	}
+
+	/**
+	 * The vertical position of the centroid of a blob.
+	 *
+	 * @param camera - 0 for the left camera, 1 for the right one.
+	 * @param blob - The blob index.
+	 *
+	 * @return The y coordinate in pixels of the processed image.
+	 */
+	public float blobY(int camera, int blob) {
+		return results(camera).y[blob];
+	}
+
+	private static final class Results {
+		final int[] area = new int[MAX_BLOBS];
+		final float[] x = new float[MAX_BLOBS];
+		final float[] y = new float[MAX_BLOBS];
+		int count;
+		int[] stack = new int[0];
+		boolean[] visited = new boolean[0];
+	}
+}
@@ -49,6 +49,9 @@ public class Bone extends Interface {
 	{
 		super(LeapJNI.Bone_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.BONE);
+		}
 	}
 
 	/**
@@ -243,15 +246,13 @@ public class Bone extends Interface {
 		return paramBone == null ? 0L : paramBone.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_Bone(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_Bone(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
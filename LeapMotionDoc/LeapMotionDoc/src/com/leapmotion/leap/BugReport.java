@@ -7,21 +7,22 @@ public class BugReport extends Interface {
 	{
 		super(LeapJNI.BugReport_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.BUG_REPORT);
+		}
 	}
 
 	public static long getCPtr(BugReport paramBugReport) {
 		return paramBugReport == null ? 0L : paramBugReport.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_BugReport(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_BugReport(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -93,6 +93,9 @@ public class CircleGesture extends Gesture {
 	{
 		super(LeapJNI.CircleGesture_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.CIRCLE_GESTURE);
+		}
 	}
 
 	/**
@@ -187,15 +190,13 @@ public class CircleGesture extends Gesture {
 		return paramCircleGesture == null ? 0L : paramCircleGesture.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_CircleGesture(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_CircleGesture(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
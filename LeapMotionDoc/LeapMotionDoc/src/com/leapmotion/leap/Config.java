@@ -87,6 +87,9 @@ public class Config extends Interface {
 	{
 		super(LeapJNI.Config_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.CONFIG);
+		}
 	}
 
 	/**
@@ -249,15 +252,13 @@ public class Config extends Interface {
 		return paramConfig == null ? 0L : paramConfig.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_Config(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_Config(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
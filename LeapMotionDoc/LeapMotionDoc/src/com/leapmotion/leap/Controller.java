@@ -76,6 +76,9 @@ public class Controller extends Interface {
 	{
 		super(LeapJNI.Controller_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.CONTROLLER);
+		}
 	}
 
 	/**
@@ -472,15 +475,13 @@ public class Controller extends Interface {
 		return paramController == null ? 0L : paramController.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_Controller(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_Controller(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
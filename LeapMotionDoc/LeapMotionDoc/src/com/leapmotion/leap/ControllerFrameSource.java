@@ -0,0 +1,53 @@
+package com.leapmotion.leap;
+
+/**
+ * The {@code ControllerFrameSource} class is a {@link FrameSource} that delivers
+ * the live frames of a {@link Controller}.<p>
+ *
+ * Each frame is captured into a {@link FrameSnapshot} on the native callback thread
+ * and passed to the handlers on that thread.
+ *
+ * <blockquote><pre>
+ * FrameSource source = new ControllerFrameSource(new Controller());
+ * source.addHandler(handler);
+ * source.start();
+ * </pre></blockquote>
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class ControllerFrameSource extends FrameSource {
+	private final Controller controller;
+	private final FrameSnapshot snapshot = new FrameSnapshot();
+	private Listener listener;
+
+	/**
+	 * Constructs a source for the specified {@link Controller}.
+	 *
+	 * @param controller - The controller providing frames.
+	 */
+	public ControllerFrameSource(Controller controller) {
+		this.controller = controller;
+	}
+
+	public synchronized void start() {
+		if (this.listener != null) {
+			return;
+		}
+		this.listener = new Listener() {
+			public void onFrame(Controller controller) {
+				Frame frame = controller.frame();
+				dispatch(ControllerFrameSource.this.snapshot.capture(frame));
+				frame.delete();
+			}
+		};
+		this.controller.addListener(this.listener);
+	}
+
+	public synchronized void stop() {
+		if (this.listener != null) {
+			this.controller.removeListener(this.listener);
+			this.listener = null;
+		}
+	}
+}
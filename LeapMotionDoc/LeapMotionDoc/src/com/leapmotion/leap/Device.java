@@ -39,6 +39,9 @@ public class Device extends Interface {
 	{
 		super(LeapJNI.Device_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.DEVICE);
+		}
 	}
 
 	/**
@@ -261,15 +264,13 @@ public class Device extends Interface {
 		return paramDevice == null ? 0L : paramDevice.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_Device(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_Device(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
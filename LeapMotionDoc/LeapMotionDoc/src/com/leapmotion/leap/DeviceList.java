@@ -25,6 +25,9 @@ public class DeviceList extends Interface implements Iterable<Device> {
 	{
 		super(LeapJNI.DeviceList_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.DEVICE_LIST);
+		}
 	}
 
 	public Iterator<Device> iterator() { return new DeviceListIterator(); }
@@ -76,19 +79,38 @@ public class DeviceList extends Interface implements Iterable<Device> {
 		return new DeviceList(LeapJNI.DeviceList_append(this.swigCPtr, this, getCPtr(other), other), false);
 	}
 
-	public static long getCPtr(DeviceList paramDeviceList) {
-		return paramDeviceList == null ? 0L : paramDeviceList.swigCPtr;
+	/**
+	 * Copies the members of this list into a new array.<p>
+	 * 
+	 * The list size is read once, so this makes one fewer native call per member
+	 * than calling {@link DeviceList#count()} and {@link DeviceList#get(int)} in a loop.
+	 * 
+	 * <blockquote><pre>
+	 * Device[] all = list.toArray();
+	 * </pre></blockquote>
+	 * 
+	 * @return An array of the {@link Device} objects in this list, in list order.
+	 */
+	public Device[] toArray() {
+		int count = count();
+		Device[] result = new Device[count];
+		for (int index = 0; index < count; index++) {
+			result[index] = get(index);
+		}
+		return result;
 	}
 
-	protected void finalize() {
-		delete();
+	public static long getCPtr(DeviceList paramDeviceList) {
+		return paramDeviceList == null ? 0L : paramDeviceList.swigCPtr;
 	}
 
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_DeviceList(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_DeviceList(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -98,11 +120,12 @@ public class DeviceList extends Interface implements Iterable<Device> {
 	public class DeviceListIterator implements Iterator<Device> { 
 
 		int index = 0;
+		final int count = DeviceList.this.count();
 
 		public DeviceListIterator() {}
 
 		public boolean hasNext() { 
-			return this.index < DeviceList.this.count(); 
+			return this.index < this.count; 
 		}
 
 		public Device next() {
@@ -0,0 +1,391 @@
+package com.leapmotion.leap;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The {@code DisparityEngine} class computes dense depth maps from the images of the two cameras.<p>
+ *
+ * The engine matches small blocks of the left image along the same row of the right image and
+ * records, for every pixel, the horizontal shift (the disparity) with the smallest sum of absolute
+ * differences. Both images must first be corrected with the same {@link RectificationMap} size, so that
+ * rows are epipolar lines and columns are proportional to ray slopes. Depth then follows from the
+ * disparity, {@link Device#baseline()} and {@link Image#rayScaleX()}; it works for any textured
+ * surface in view, not only hands:
+ *
+ * <blockquote><pre>
+ * DisparityEngine engine = new DisparityEngine(320, 240, 48, 7);
+ * short[] disparity = new short[320 * 240];
+ * float[] depth = new float[320 * 240];
+ *
+ * public void onImages(ImagePlane left, ImagePlane right) { // from a StereoPipeline that undistorts
+ *     engine.parallelCompute(left.pixels(), right.pixels(), disparity, pool);
+ *     engine.toDepth(disparity, depth);
+ * }
+ * </pre></blockquote>
+ *
+ * Costs are evaluated one disparity at a time over whole rows, with running sums for the block
+ * windows, so the time per pixel does not depend on the block size and the inner loops are plain
+ * array loops that the JIT compiler can vectorize. {@link DisparityEngine#parallelCompute(byte[], byte[], short[], ForkJoinPool)}
+ * splits the image into bands of rows across a {@link ForkJoinPool}. Disparities are refined to
+ * 1/{@link DisparityEngine#SUBPIXEL_SCALE} pixel. Pixels without a reliable match, at the left border
+ * or in areas without texture, are marked {@link DisparityEngine#INVALID}.<p>
+ *
+ * The engine keeps its working buffers per thread and does not allocate once warmed up. Its settings
+ * must not be changed while a computation is running.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class DisparityEngine {
+	/**
+	 * The disparity values written by the engine are in units of 1/16 pixel.
+	 */
+	public static final int SUBPIXEL_SCALE = 16;
+
+	/**
+	 * The disparity value of pixels without a reliable match.
+	 */
+	public static final short INVALID = -1;
+
+	/**
+	 * Bands of fewer rows than this are not split further across threads.
+	 */
+	public static final int MIN_BAND_ROWS = 16;
+
+	private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<Scratch>() {
+		protected Scratch initialValue() {
+			return new Scratch();
+		}
+	};
+
+	private final int width;
+	private final int height;
+	private final int maxDisparity;
+	private final int radius;
+	private int uniquenessRatio = 10;
+	private float baseline = 40.0F;
+	private float rayScaleX = 0.125F;
+
+	/**
+	 * Constructs an engine for images of a fixed size.
+	 *
+	 * @param width - The width of the corrected images.
+	 * @param height - The height of the corrected images.
+	 * @param maxDisparity - The number of disparities searched, from 0 to {@code maxDisparity - 1} pixels.
+	 * Larger values find closer objects and take proportionally longer.
+	 * @param blockSize - The odd side length of the matched blocks, in pixels.
+	 */
+	public DisparityEngine(int width, int height, int maxDisparity, int blockSize) {
+		if (width <= 0 || height <= 0) {
+			throw new IllegalArgumentException("Invalid image size: " + width + "x" + height);
+		}
+		if (maxDisparity < 2 || maxDisparity >= width || maxDisparity > Short.MAX_VALUE / SUBPIXEL_SCALE) {
+			throw new IllegalArgumentException("Invalid disparity range: " + maxDisparity);
+		}
+		if (blockSize < 1 || blockSize % 2 == 0) {
+			throw new IllegalArgumentException("Block size must be odd: " + blockSize);
+		}
+		this.width = width;
+		this.height = height;
+		this.maxDisparity = maxDisparity;
+		this.radius = blockSize / 2;
+	}
+
+	/**
+	 * Sets the values used by {@link DisparityEngine#toDepth(short[], float[])}.
+	 *
+	 * @param baseline - The distance between the cameras in millimeters, from {@link Device#baseline()}.
+	 * @param rayScaleX - The value of {@link Image#rayScaleX()}.
+	 */
+	public void setCalibration(float baseline, float rayScaleX) {
+		this.baseline = baseline;
+		this.rayScaleX = rayScaleX;
+	}
+
+	/**
+	 * Reads the calibration from a device and one of its images.
+	 *
+	 * @param device - The device that took the images.
+	 * @param image - An image of the device.
+	 */
+	public void setCalibration(Device device, Image image) {
+		setCalibration(device.baseline(), image.rayScaleX());
+	}
+
+	/**
+	 * Sets how much better the best match must be than any other, non-adjacent one.
+	 *
+	 * @param percent - The required margin in percent; 0 accepts every match. The default is 10.
+	 */
+	public void setUniquenessRatio(int percent) {
+		this.uniquenessRatio = Math.max(percent, 0);
+	}
+
+	/**
+	 * The width of the images this engine matches.
+	 *
+	 * @return The width in pixels.
+	 */
+	public int width() {
+		return this.width;
+	}
+
+	/**
+	 * The height of the images this engine matches.
+	 *
+	 * @return The height in pixels.
+	 */
+	public int height() {
+		return this.height;
+	}
+
+	/**
+	 * The number of disparities searched per pixel.
+	 *
+	 * @return The search range; disparities run from 0 to {@code maxDisparity() - 1}.
+	 */
+	public int maxDisparity() {
+		return this.maxDisparity;
+	}
+
+	/**
+	 * Computes the disparity of every pixel of the left image.
+	 *
+	 * @param left - The corrected left image, one byte per pixel.
+	 * @param right - The corrected right image.
+	 * @param disparity - Receives the disparities in units of 1/{@link DisparityEngine#SUBPIXEL_SCALE}
+	 * pixel, or {@link DisparityEngine#INVALID}.
+	 */
+	public void compute(byte[] left, byte[] right, short[] disparity) {
+		compute(left, right, disparity, 0, this.height);
+	}
+
+	/**
+	 * Computes the disparities of a band of rows.
+	 *
+	 * @param left - The corrected left image.
+	 * @param right - The corrected right image.
+	 * @param disparity - Receives the disparities.
+	 * @param fromRow - The first row to compute.
+	 * @param toRow - The row after the last one to compute.
+	 */
+	public void compute(byte[] left, byte[] right, short[] disparity, int fromRow, int toRow) {
+		int size = this.width * this.height;
+		if (left.length < size || right.length < size || disparity.length < size) {
+			throw new IllegalArgumentException("Image buffer too small");
+		}
+		int w = this.width;
+		int r = this.radius;
+		int range = this.maxDisparity;
+		int window = 2 * r + 1;
+		Scratch s = SCRATCH.get();
+		s.ensure(w, range, window);
+		int[] column = s.column;
+		Arrays.fill(column, 0, range * w, 0);
+		int added = Math.max(fromRow - r, 0);
+		int removed = added;
+		for (int y = fromRow; y < toRow; y++) {
+			// Slide the block window down to rows y - r to y + r.
+			for (; removed < y - r; removed++) {
+				int[] rowCosts = s.rows[removed % window];
+				for (int i = 0; i < range * w; i++) {
+					column[i] -= rowCosts[i];
+				}
+			}
+			for (; added <= y + r && added < this.height; added++) {
+				int[] rowCosts = s.rows[added % window];
+				rowCosts(left, right, added, rowCosts, s.prefix);
+				for (int i = 0; i < range * w; i++) {
+					column[i] += rowCosts[i];
+				}
+			}
+			select(column, s, disparity, y * w);
+		}
+	}
+
+	/**
+	 * Computes the horizontal block sums of absolute differences of one row, for all disparities.
+	 */
+	private void rowCosts(byte[] left, byte[] right, int y, int[] dst, int[] prefix) {
+		int w = this.width;
+		int r = this.radius;
+		int row = y * w;
+		int head = Math.min(r, w);
+		int tail = Math.max(w - r - 1, head);
+		for (int d = 0; d < this.maxDisparity; d++) {
+			int out = d * w;
+			prefix[0] = 0;
+			for (int x = 0; x < d; x++) {
+				prefix[x + 1] = prefix[x] + 255;
+			}
+			for (int x = d; x < w; x++) {
+				int diff = (left[row + x] & 0xFF) - (right[row + x - d] & 0xFF);
+				prefix[x + 1] = prefix[x] + (diff < 0 ? -diff : diff);
+			}
+			for (int x = 0; x < head; x++) {
+				dst[out + x] = prefix[Math.min(x + r + 1, w)];
+			}
+			for (int x = head; x < tail; x++) {
+				dst[out + x] = prefix[x + r + 1] - prefix[x - r];
+			}
+			for (int x = tail; x < w; x++) {
+				dst[out + x] = prefix[w] - prefix[Math.max(x - r, 0)];
+			}
+		}
+	}
+
+	/**
+	 * Picks the best disparity of every pixel of a row from its block costs.
+	 */
+	private void select(int[] column, Scratch s, short[] disparity, int offset) {
+		int w = this.width;
+		int r = this.radius;
+		int range = this.maxDisparity;
+		int[] best = s.best;
+		int[] bestDisparity = s.bestDisparity;
+		int[] second = s.second;
+		Arrays.fill(best, 0, w, Integer.MAX_VALUE);
+		Arrays.fill(bestDisparity, 0, w, 0);
+		Arrays.fill(second, 0, w, Integer.MAX_VALUE);
+		// Written with min and conditional expressions so the JIT compiler can avoid branches.
+		for (int d = 0; d < range; d++) {
+			int base = d * w;
+			for (int x = d; x < w; x++) {
+				int cost = column[base + x];
+				int b = best[x];
+				bestDisparity[x] = cost < b ? d : bestDisparity[x];
+				best[x] = Math.min(cost, b);
+			}
+		}
+		for (int d = 0; d < range; d++) {
+			int base = d * w;
+			for (int x = d; x < w; x++) {
+				int distance = d - bestDisparity[x];
+				int cost = distance > 1 || distance < -1 ? column[base + x] : Integer.MAX_VALUE;
+				second[x] = Math.min(second[x], cost);
+			}
+		}
+		int ratio = 100 + this.uniquenessRatio;
+		for (int x = 0; x < w; x++) {
+			int d = bestDisparity[x];
+			int cost = best[x];
+			if (x - r - d < 0 || (second[x] != Integer.MAX_VALUE && (long)second[x] * 100 <= (long)cost * ratio)) {
+				disparity[offset + x] = INVALID;
+				continue;
+			}
+			int value = d * SUBPIXEL_SCALE;
+			if (d > 0 && d < range - 1) {
+				// Fit a parabola through the costs around the minimum.
+				int c0 = column[(d - 1) * w + x];
+				int c2 = column[(d + 1) * w + x];
+				int denominator = c0 - 2 * cost + c2;
+				if (denominator > 0) {
+					value += Math.round((float)((c0 - c2) * SUBPIXEL_SCALE) / (2 * denominator));
+				}
+			}
+			disparity[offset + x] = (short)Math.max(value, 0);
+		}
+	}
+
+	/**
+	 * Computes the disparity of every pixel, splitting the rows across the threads of {@code pool}.
+	 *
+	 * @param left - The corrected left image.
+	 * @param right - The corrected right image.
+	 * @param disparity - Receives the disparities.
+	 * @param pool - The pool that runs the work.
+	 */
+	public void parallelCompute(byte[] left, byte[] right, short[] disparity, ForkJoinPool pool) {
+		if (this.height < 2 * MIN_BAND_ROWS) {
+			compute(left, right, disparity);
+		} else {
+			pool.invoke(new BandTask(this, left, right, disparity, 0, this.height));
+		}
+	}
+
+	/**
+	 * The factor that converts a disparity in pixels into a depth: depth = factor / disparity.
+	 *
+	 * @return The baseline in millimeters times the focal length in pixels.
+	 */
+	public float depthFactor() {
+		return this.baseline * this.width * this.rayScaleX;
+	}
+
+	/**
+	 * Converts disparities into distances from the cameras.
+	 *
+	 * @param disparity - Disparities from {@link DisparityEngine#compute(byte[], byte[], short[])}.
+	 * @param depth - Receives the distance along the camera axis in millimeters, positive infinity
+	 * for a disparity of zero, or NaN for invalid pixels.
+	 */
+	public void toDepth(short[] disparity, float[] depth) {
+		float factor = depthFactor() * SUBPIXEL_SCALE;
+		int size = this.width * this.height;
+		for (int i = 0; i < size; i++) {
+			int d = disparity[i];
+			depth[i] = d < 0 ? Float.NaN : factor / d;
+		}
+	}
+
+	/**
+	 * Per-thread working buffers: the row costs of the current block window, kept as a ring,
+	 * and their running sums.
+	 */
+	private static final class Scratch {
+		int[][] rows = new int[0][];
+		int[] column = new int[0];
+		int[] prefix = new int[0];
+		int[] best = new int[0];
+		int[] bestDisparity = new int[0];
+		int[] second = new int[0];
+
+		void ensure(int width, int range, int window) {
+			if (this.rows.length != window || this.rows[0].length < width * range) {
+				this.rows = new int[window][width * range];
+			}
+			if (this.column.length < width * range) {
+				this.column = new int[width * range];
+			}
+			if (this.prefix.length < width + 1) {
+				this.prefix = new int[width + 1];
+				this.best = new int[width];
+				this.bestDisparity = new int[width];
+				this.second = new int[width];
+			}
+		}
+	}
+
+	private static class BandTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final DisparityEngine engine;
+		private final byte[] left;
+		private final byte[] right;
+		private final short[] disparity;
+		private final int fromRow;
+		private final int toRow;
+
+		BandTask(DisparityEngine engine, byte[] left, byte[] right, short[] disparity, int fromRow, int toRow) {
+			this.engine = engine;
+			this.left = left;
+			this.right = right;
+			this.disparity = disparity;
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+		}
+
+		protected void compute() {
+			int rows = this.toRow - this.fromRow;
+			if (rows < 2 * MIN_BAND_ROWS) {
+				this.engine.compute(this.left, this.right, this.disparity, this.fromRow, this.toRow);
+				return;
+			}
+			int middle = this.fromRow + (rows >>> 1);
+			invokeAll(new BandTask(this.engine, this.left, this.right, this.disparity, this.fromRow, middle),
+					new BandTask(this.engine, this.left, this.right, this.disparity, middle, this.toRow));
+		}
+	}
+}
@@ -55,6 +55,9 @@ public class Finger extends Pointable {
 	{
 		super(LeapJNI.Finger_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.FINGER);
+		}
 	}
 	
 	/**
@@ -182,15 +185,13 @@ public class Finger extends Pointable {
 		return paramFinger == null ? 0L : paramFinger.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_Finger(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_Finger(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
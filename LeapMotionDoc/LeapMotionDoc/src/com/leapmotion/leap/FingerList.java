@@ -28,16 +28,20 @@ public class FingerList extends Interface implements Iterable<Finger> {
 	{
 		super(LeapJNI.FingerList_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.FINGER_LIST);
+		}
 	}
 
 	public class FingerListIterator implements Iterator<Finger> { 
 
 		int index = 0;
+		final int count = FingerList.this.count();
 
 		public FingerListIterator() {}
 
 		public boolean hasNext() { 
-			return this.index < FingerList.this.count(); 
+			return this.index < this.count; 
 		}
 
 		public Finger next() {
@@ -180,19 +184,38 @@ public class FingerList extends Interface implements Iterable<Finger> {
 		return new FingerList(LeapJNI.FingerList_fingerType(this.swigCPtr, this, type.swigValue()), true);
 	}
 	
-	public static long getCPtr(FingerList paramFingerList) {
-		return paramFingerList == null ? 0L : paramFingerList.swigCPtr;
+	/**
+	 * Copies the members of this list into a new array.<p>
+	 * 
+	 * The list size is read once, so this makes one fewer native call per member
+	 * than calling {@link FingerList#count()} and {@link FingerList#get(int)} in a loop.
+	 * 
+	 * <blockquote><pre>
+	 * Finger[] all = list.toArray();
+	 * </pre></blockquote>
+	 * 
+	 * @return An array of the {@link Finger} objects in this list, in list order.
+	 */
+	public Finger[] toArray() {
+		int count = count();
+		Finger[] result = new Finger[count];
+		for (int index = 0; index < count; index++) {
+			result[index] = get(index);
+		}
+		return result;
 	}
 
-	protected void finalize() {
-		delete();
+	public static long getCPtr(FingerList paramFingerList) {
+		return paramFingerList == null ? 0L : paramFingerList.swigCPtr;
 	}
 
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_FingerList(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_FingerList(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
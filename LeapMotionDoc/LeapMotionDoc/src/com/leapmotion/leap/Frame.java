@@ -1,5 +1,8 @@
 package com.leapmotion.leap;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 /**
  * The {@code Frame} class represents a set of hand and finger tracking data detected in a single frame.<p>
  * 
@@ -21,6 +24,12 @@ package com.leapmotion.leap;
  * @author Leap Motion Inc
  */
 public class Frame extends Interface {
+	private static final ThreadLocal<byte[]> SCRATCH = new ThreadLocal<byte[]>() {
+		protected byte[] initialValue() {
+			return new byte[4096];
+		}
+	};
+
 	private long swigCPtr;
 
 	/**
@@ -45,6 +54,9 @@ public class Frame extends Interface {
 	{
 		super(LeapJNI.Frame_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.FRAME);
+		}
 	}
 
 	/**
@@ -706,6 +718,77 @@ public class Frame extends Interface {
 		LeapJNI.Frame_deserialize(this.swigCPtr, this, paramArrayOfByte, paramInt);
 	}
 
+	/**
+	 * Encodes this {@link Frame} object into the remaining space of a {@link ByteBuffer}.<p>
+	 * 
+	 * The encoded bytes are written at the buffer's position, which is then advanced past them. 
+	 * Heap buffers whose content starts at index 0 of their backing array are written directly; 
+	 * other buffers, including direct buffers, are filled from a scratch array that is reused 
+	 * by the calling thread, so repeated calls do not allocate.
+	 * 
+	 * <blockquote><pre>
+	 * ByteBuffer buffer = ByteBuffer.allocateDirect(65536);
+	 * frame.serialize(buffer);
+	 * buffer.flip();
+	 * channel.write(buffer);
+	 * </pre></blockquote>
+	 * 
+	 * @param dst - The buffer to write to.
+	 * 
+	 * @return The number of bytes written.
+	 * 
+	 * @throws BufferOverflowException if fewer than {@link Frame#serializeLength()} bytes remain in {@code dst}.
+	 */
+	public int serialize(ByteBuffer dst) {
+		int length = serializeLength();
+		if (dst.remaining() < length) {
+			throw new BufferOverflowException();
+		}
+		if (dst.hasArray() && dst.arrayOffset() + dst.position() == 0) {
+			LeapJNI.Frame_serialize(this.swigCPtr, this, dst.array());
+			dst.position(length);
+		} else {
+			byte[] scratch = scratch(length);
+			LeapJNI.Frame_serialize(this.swigCPtr, this, scratch);
+			dst.put(scratch, 0, length);
+		}
+		return length;
+	}
+
+	/**
+	 * Decodes the remaining bytes of a {@link ByteBuffer} to replace the properties of this {@link Frame}.<p>
+	 * 
+	 * All bytes between the buffer's position and its limit are consumed and the position is advanced to the limit. 
+	 * The same requirements as {@link Frame#deserialize(byte[])} apply.
+	 * 
+	 * <blockquote><pre>
+	 * Frame reconstructedFrame = new Frame();
+	 * reconstructedFrame.deserialize(mappedRecord);
+	 * </pre></blockquote>
+	 * 
+	 * @param src - A buffer holding the bytes of a serialized frame.
+	 */
+	public void deserialize(ByteBuffer src) {
+		int length = src.remaining();
+		if (src.hasArray() && src.arrayOffset() + src.position() == 0) {
+			LeapJNI.Frame_deserialize(this.swigCPtr, this, src.array(), length);
+		} else {
+			byte[] scratch = scratch(length);
+			src.duplicate().get(scratch, 0, length);
+			LeapJNI.Frame_deserialize(this.swigCPtr, this, scratch, length);
+		}
+		src.position(src.limit());
+	}
+
+	private static byte[] scratch(int length) {
+		byte[] scratch = SCRATCH.get();
+		if (scratch.length < length) {
+			scratch = new byte[Math.max(length, scratch.length * 2)];
+			SCRATCH.set(scratch);
+		}
+		return scratch;
+	}
+
 	/**
 	 * A string containing a brief, human readable description of the {@link Frame} object.
 	 * 
@@ -719,15 +802,13 @@ public class Frame extends Interface {
 		return paramFrame == null ? 0L : paramFrame.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_Frame(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_Frame(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -0,0 +1,189 @@
+package com.leapmotion.leap;
+
+import java.util.Arrays;
+
+/**
+ * The {@code FrameArena} class owns the native objects behind all wrappers created while
+ * processing a frame and releases them in one batch.<p>
+ *
+ * An arena is a reusable, lower-overhead alternative to {@link FrameScope}. Wrappers created
+ * on a thread while an arena is entered on that thread are not tracked individually: the arena
+ * only appends each wrapper and its native pointer to reusable arrays, and {@link FrameArena#close()}
+ * deletes them all in one pass. No per-wrapper handle or finalizer is created, and releasing does not
+ * take the lock of each wrapper's {@code delete()} function. One arena per processing thread,
+ * entered once per frame, reaches a steady state without allocating anything itself:
+ *
+ * <blockquote><pre>
+ * private final FrameArena arena = new FrameArena();
+ *
+ * public void onFrame(Controller controller) {
+ *     try (FrameArena frameArena = arena.enter()) {
+ *         Frame frame = controller.frame();
+ *         for (Hand hand : frame.hands()) {
+ *             for (Finger finger : hand.fingers()) {
+ *                 process(finger.bone(Bone.Type.TYPE_DISTAL).nextJoint());
+ *             }
+ *         }
+ *     }
+ * }
+ * </pre></blockquote>
+ *
+ * Wrappers created in an arena belong to it entirely: their {@code delete()} function does not
+ * release the native object, and they must not be used once the arena is closed. To let one
+ * outlive the arena, pass it to {@link FrameArena#keep(Interface)} (or the {@link Vector} and
+ * {@link Matrix} overloads) before closing.<p>
+ *
+ * An arena may be nested with other arenas and {@link FrameScope} objects; a wrapper belongs to the
+ * innermost one. It must be closed on the thread that entered it.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public final class FrameArena extends NativeOwner implements AutoCloseable {
+	private final NativeHandle handle = new NativeHandle(this);
+	private Object[] wrappers;
+	private long[] pointers;
+	private int[] kinds;
+	private int size;
+	private int peakSize;
+
+	/**
+	 * Constructs an arena with room for 256 native objects. It grows as needed.
+	 */
+	public FrameArena() {
+		this(256);
+	}
+
+	/**
+	 * Constructs an arena with room for the specified number of native objects.
+	 *
+	 * @param capacity - The initial capacity.
+	 */
+	public FrameArena(int capacity) {
+		this.wrappers = new Object[Math.max(capacity, 16)];
+		this.pointers = new long[this.wrappers.length];
+		this.kinds = new int[this.wrappers.length];
+	}
+
+	/**
+	 * Makes this arena the owner of wrappers created on the current thread until it is closed.
+	 *
+	 * @return This arena, for use in a {@code try}-with-resources statement.
+	 *
+	 * @throws IllegalStateException if the arena is already entered.
+	 */
+	public FrameArena enter() {
+		attach();
+		return this;
+	}
+
+	NativeHandle adopt(Object wrapper, long cPtr, int kind) {
+		if (this.size == this.pointers.length) {
+			this.wrappers = Arrays.copyOf(this.wrappers, this.size * 2);
+			this.pointers = Arrays.copyOf(this.pointers, this.size * 2);
+			this.kinds = Arrays.copyOf(this.kinds, this.size * 2);
+		}
+		this.wrappers[this.size] = wrapper;
+		this.pointers[this.size] = cPtr;
+		this.kinds[this.size] = kind;
+		this.size++;
+		return this.handle;
+	}
+
+	// Subclass constructors run right after their superclass constructor, so the wrapper
+	// being retagged is always the one added last.
+	void retagLast(long cPtr, int kind) {
+		int last = this.size - 1;
+		NativeObjects.retag(this.kinds[last], kind);
+		this.pointers[last] = cPtr;
+		this.kinds[last] = kind;
+	}
+
+	/**
+	 * Lets a wrapper created in this arena outlive it. The wrapper is then released by its
+	 * {@code delete()} function or by the garbage collector, as if it had been created outside any arena.
+	 *
+	 * @param wrapper - A wrapper such as a {@link Frame} or {@link Hand}.
+	 *
+	 * @return The {@code wrapper} parameter.
+	 */
+	public <T extends Interface> T keep(T wrapper) {
+		if (wrapper.swigHandle == this.handle) {
+			wrapper.swigHandle = release(wrapper);
+		}
+		return wrapper;
+	}
+
+	/**
+	 * Lets a {@link Vector} created in this arena outlive it.
+	 *
+	 * @param vector - The vector to keep.
+	 *
+	 * @return The {@code vector} parameter.
+	 */
+	public Vector keep(Vector vector) {
+		if (vector.swigHandle == this.handle) {
+			vector.swigHandle = release(vector);
+		}
+		return vector;
+	}
+
+	/**
+	 * Lets a {@link Matrix} created in this arena outlive it.
+	 *
+	 * @param matrix - The matrix to keep.
+	 *
+	 * @return The {@code matrix} parameter.
+	 */
+	public Matrix keep(Matrix matrix) {
+		if (matrix.swigHandle == this.handle) {
+			matrix.swigHandle = release(matrix);
+		}
+		return matrix;
+	}
+
+	private NativeHandle release(Object wrapper) {
+		for (int i = this.size - 1; i >= 0; i--) {
+			if (this.wrappers[i] == wrapper && this.kinds[i] >= 0) {
+				int kind = this.kinds[i];
+				this.kinds[i] = -1;
+				this.wrappers[i] = null;
+				return NativeObjects.promote(wrapper, this.pointers[i], kind);
+			}
+		}
+		throw new IllegalArgumentException("Wrapper does not belong to this arena");
+	}
+
+	/**
+	 * The number of native objects this arena currently owns.
+	 *
+	 * @return The number of objects that {@link FrameArena#close()} will release.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * The largest number of native objects this arena has owned at once.
+	 *
+	 * @return The peak size.
+	 */
+	public int peakSize() {
+		return Math.max(this.peakSize, this.size);
+	}
+
+	/**
+	 * Releases every native object owned by this arena and leaves it ready to be entered again.
+	 *
+	 * @throws IllegalStateException if called on another thread, or while a nested scope or arena is still open.
+	 */
+	public void close() {
+		if (!detach()) {
+			return;
+		}
+		NativeObjects.freeAll(this.pointers, this.kinds, this.size);
+		Arrays.fill(this.wrappers, 0, this.size, null);
+		this.peakSize = Math.max(this.peakSize, this.size);
+		this.size = 0;
+	}
+}
@@ -0,0 +1,124 @@
+package com.leapmotion.leap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code FrameBufferPool} class recycles direct {@link ByteBuffer} objects
+ * used to hold serialized frames.<p>
+ *
+ * Serializing every frame with {@link Frame#serialize()} allocates a new array per frame.
+ * With a pool, buffers are taken with {@link FrameBufferPool#serialize(Frame)}, handed to
+ * the code that archives them, and returned with {@link FrameBufferPool#release(ByteBuffer)}:
+ *
+ * <blockquote><pre>
+ * FrameBufferPool pool = new FrameBufferPool(16384, 64);
+ *
+ * public void onFrame(Controller controller) {
+ *     ByteBuffer buffer = pool.serialize(controller.frame());
+ *     writerQueue.offer(buffer); // the writer calls pool.release(buffer) when done
+ * }
+ * </pre></blockquote>
+ *
+ * Once enough buffers are in circulation, no further buffers are allocated.
+ * A {@code FrameBufferPool} may be used from several threads at once.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class FrameBufferPool {
+	private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<ByteBuffer>();
+	private final AtomicInteger freeCount = new AtomicInteger();
+	private final AtomicInteger allocatedCount = new AtomicInteger();
+	private final int maxPooled;
+	private volatile int bufferCapacity;
+
+	/**
+	 * Constructs an empty pool.
+	 *
+	 * @param bufferCapacity - The initial capacity of new buffers in bytes.
+	 * Buffers grow automatically when a frame does not fit.
+	 * @param maxPooled - The maximum number of idle buffers kept for reuse.
+	 */
+	public FrameBufferPool(int bufferCapacity, int maxPooled) {
+		this.bufferCapacity = bufferCapacity;
+		this.maxPooled = maxPooled;
+	}
+
+	/**
+	 * Takes a cleared buffer with at least the specified capacity from the pool,
+	 * allocating a new direct buffer if none is available.
+	 *
+	 * @param minCapacity - The required capacity in bytes.
+	 *
+	 * @return A buffer in native byte order, with position zero and limit equal to its capacity.
+	 */
+	public ByteBuffer acquire(int minCapacity) {
+		ByteBuffer buffer = this.free.poll();
+		if (buffer != null) {
+			this.freeCount.decrementAndGet();
+			if (buffer.capacity() >= minCapacity) {
+				buffer.clear();
+				return buffer;
+			}
+		}
+		int capacity = Math.max(minCapacity, this.bufferCapacity);
+		if (capacity > this.bufferCapacity) {
+			this.bufferCapacity = capacity;
+		}
+		this.allocatedCount.incrementAndGet();
+		return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Serializes a frame into a pooled buffer.
+	 *
+	 * @param frame - The frame to encode.
+	 *
+	 * @return A buffer whose position is zero and whose limit is the length of the encoded frame.
+	 */
+	public ByteBuffer serialize(Frame frame) {
+		ByteBuffer buffer = acquire(frame.serializeLength());
+		frame.serialize(buffer);
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Returns a buffer to the pool. The buffer must not be used after it has been released.
+	 *
+	 * @param buffer - A buffer obtained from this pool.
+	 */
+	public void release(ByteBuffer buffer) {
+		if (buffer.capacity() < this.bufferCapacity) {
+			// Outgrown by a larger frame; dropping it keeps the pool from thrashing.
+			return;
+		}
+		if (this.freeCount.incrementAndGet() > this.maxPooled) {
+			this.freeCount.decrementAndGet();
+			return;
+		}
+		this.free.offer(buffer);
+	}
+
+	/**
+	 * The number of idle buffers currently held by the pool.
+	 *
+	 * @return The number of idle buffers.
+	 */
+	public int freeCount() {
+		return this.freeCount.get();
+	}
+
+	/**
+	 * The total number of buffers this pool has allocated since it was created.
+	 * A value that stops increasing shows that the pool has reached a steady state.
+	 *
+	 * @return The number of buffers allocated.
+	 */
+	public int allocatedCount() {
+		return this.allocatedCount.get();
+	}
+}
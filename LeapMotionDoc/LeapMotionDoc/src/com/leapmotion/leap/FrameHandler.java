@@ -0,0 +1,34 @@
+package com.leapmotion.leap;
+
+/**
+ * The {@code FrameHandler} interface receives frames one at a time.<p>
+ *
+ * Unlike a {@link Listener}, which is handed a {@link Controller} and fetches the frame itself,
+ * a {@code FrameHandler} is handed the {@link Frame} directly. That lets the same code process
+ * live frames, through a {@link FrameHandlerListener}, and recorded frames, through a {@link FramePlayer}:
+ *
+ * <blockquote><pre>
+ * FrameHandler gestureLogic = new FrameHandler() {
+ *     public void onFrame(Frame frame) {
+ *         // ... Process the frame
+ *     }
+ * };
+ * controller.addListener(new FrameHandlerListener(gestureLogic)); // live
+ * new FramePlayer(recording).play(gestureLogic, 0, -1, FramePlayer.AS_FAST_AS_POSSIBLE); // replayed
+ * </pre></blockquote>
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public interface FrameHandler {
+	/**
+	 * Called with each frame.<p>
+	 *
+	 * The frame is only valid during the call: a {@link FrameHandlerListener} deletes it afterwards, and a
+	 * {@link FramePlayer} reuses it for the next frame. To keep the data, copy it, for example with
+	 * {@link FrameSnapshot#capture(Frame)}.
+	 *
+	 * @param frame - The frame to process.
+	 */
+	void onFrame(Frame frame);
+}
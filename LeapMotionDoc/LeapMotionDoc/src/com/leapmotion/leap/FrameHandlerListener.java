@@ -0,0 +1,34 @@
+package com.leapmotion.leap;
+
+/**
+ * The {@code FrameHandlerListener} class is a {@link Listener} that passes the latest frame
+ * of its {@link Controller} to a {@link FrameHandler}. The frame is deleted when the handler returns.
+ *
+ * <blockquote><pre>
+ * controller.addListener(new FrameHandlerListener(handler));
+ * </pre></blockquote>
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class FrameHandlerListener extends Listener {
+	private final FrameHandler handler;
+
+	/**
+	 * Constructs a listener forwarding to {@code handler}.
+	 *
+	 * @param handler - The handler that receives each frame.
+	 */
+	public FrameHandlerListener(FrameHandler handler) {
+		this.handler = handler;
+	}
+
+	public void onFrame(Controller controller) {
+		Frame frame = controller.frame();
+		try {
+			this.handler.onFrame(frame);
+		} finally {
+			frame.delete();
+		}
+	}
+}
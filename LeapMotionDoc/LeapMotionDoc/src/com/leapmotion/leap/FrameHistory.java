@@ -0,0 +1,296 @@
+package com.leapmotion.leap;
+
+import java.util.Arrays;
+
+/**
+ * The {@code FrameHistory} class keeps the most recent frames as {@link FrameSnapshot} objects
+ * in a ring buffer of fixed size.<p>
+ *
+ * {@link Controller#frame(int)} only reaches back as far as the native history, about sixty frames,
+ * and every call creates a new {@link Frame} through the native library. A {@code FrameHistory}
+ * holds as many frames as it is configured for, entirely in Java, and finds them by age in constant
+ * time, by {@link Frame#id()} in constant time, and by {@link Frame#timestamp()} with a binary search:
+ *
+ * <blockquote><pre>
+ * FrameHistory history = new FrameHistory(2.0, 120); // two seconds at up to 120 fps
+ * source.addHandler(history);
+ * // ...
+ * FrameSnapshot now = history.get(0);
+ * FrameSnapshot then = history.atOrBefore(now.timestamp() - 500000); // half a second ago
+ * </pre></blockquote>
+ *
+ * Snapshots are stored in preallocated slots, so adding a frame does not allocate once every slot has
+ * been filled with frames of similar size. A returned snapshot is the slot itself: it is valid until
+ * the frame is evicted and must not be modified.<p>
+ *
+ * A {@code FrameHistory} is not thread safe. Add to and read from it on one thread, for example a
+ * {@link FrameRingBuffer} consumer.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class FrameHistory implements FrameSnapshotHandler {
+	private final FrameSnapshot[] slots;
+	private FrameSnapshot spare = new FrameSnapshot();
+	private final long[] ids;
+	private final long[] timestamps;
+	private final long[] idTable;
+	private final int idMask;
+	private final long windowMicros;
+	private long added;
+	private int size;
+
+	/**
+	 * Constructs a history holding up to {@code capacity} frames.
+	 *
+	 * @param capacity - The number of frames to keep.
+	 */
+	public FrameHistory(int capacity) {
+		this(capacity, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Constructs a history holding the frames of the last {@code seconds}.
+	 *
+	 * @param seconds - The length of the history.
+	 * @param maxFramesPerSecond - The highest expected frame rate, used to size the buffer.
+	 * At higher rates the history covers less time.
+	 */
+	public FrameHistory(double seconds, float maxFramesPerSecond) {
+		this((int)Math.ceil(seconds * maxFramesPerSecond) + 1, (long)(seconds * 1e6));
+	}
+
+	private FrameHistory(int capacity, long windowMicros) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+		this.slots = new FrameSnapshot[capacity];
+		for (int i = 0; i < capacity; i++) {
+			this.slots[i] = new FrameSnapshot();
+		}
+		this.ids = new long[capacity];
+		this.timestamps = new long[capacity];
+		// Consecutive frame IDs within the history never share an entry of this table.
+		this.idTable = new long[Integer.highestOneBit(capacity) * 4];
+		this.idMask = this.idTable.length - 1;
+		this.windowMicros = windowMicros;
+	}
+
+	/**
+	 * Adds a frame, copying it into the slot of the oldest one.
+	 *
+	 * @param frame - The newest frame. Invalid frames are ignored.
+	 */
+	public void add(Frame frame) {
+		// Capture into the spare snapshot so that an invalid frame does not overwrite the oldest one.
+		if (this.spare.capture(frame).isValid()) {
+			int slot = (int)(this.added % this.slots.length);
+			FrameSnapshot evicted = this.slots[slot];
+			this.slots[slot] = this.spare;
+			this.spare = evicted;
+			commit(slot);
+		}
+	}
+
+	/**
+	 * Adds a frame, copying it into the slot of the oldest one.
+	 *
+	 * @param snapshot - The newest frame. Invalid snapshots are ignored.
+	 */
+	public void add(FrameSnapshot snapshot) {
+		if (snapshot.isValid()) {
+			int slot = (int)(this.added % this.slots.length);
+			this.slots[slot].set(snapshot);
+			commit(slot);
+		}
+	}
+
+	public void onFrame(FrameSnapshot snapshot) {
+		add(snapshot);
+	}
+
+	private void commit(int slot) {
+		FrameSnapshot snapshot = this.slots[slot];
+		long timestamp = snapshot.timestamp();
+		if (this.size > 0 && timestamp < this.timestamps[slot(0)]) {
+			// Time went backwards, as when a recording restarts; the old frames no longer apply.
+			clear();
+			this.slots[slot] = this.slots[0];
+			this.slots[0] = snapshot;
+			slot = 0;
+		}
+		this.ids[slot] = snapshot.id();
+		this.timestamps[slot] = timestamp;
+		this.idTable[(int)snapshot.id() & this.idMask] = this.added + 1;
+		this.added++;
+		this.size = Math.min(this.size + 1, this.slots.length);
+		long oldest = timestamp - this.windowMicros;
+		while (this.size > 1 && this.timestamps[slot(this.size - 1)] < oldest) {
+			this.size--;
+		}
+	}
+
+	private int slot(int age) {
+		return (int)((this.added - 1 - age) % this.slots.length);
+	}
+
+	/**
+	 * Removes all frames.
+	 */
+	public void clear() {
+		this.added = 0;
+		this.size = 0;
+		Arrays.fill(this.idTable, 0L);
+	}
+
+	/**
+	 * The number of frames currently held.
+	 *
+	 * @return The number of frames, from zero up to {@link FrameHistory#capacity()}.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * The largest number of frames this history can hold.
+	 *
+	 * @return The capacity.
+	 */
+	public int capacity() {
+		return this.slots.length;
+	}
+
+	/**
+	 * A frame by age.
+	 *
+	 * @param age - Zero for the newest frame, one for the frame before it, and so on.
+	 *
+	 * @return The snapshot.
+	 *
+	 * @throws IndexOutOfBoundsException if {@code age} is negative or not less than {@link FrameHistory#size()}.
+	 */
+	public FrameSnapshot get(int age) {
+		checkAge(age);
+		return this.slots[slot(age)];
+	}
+
+	/**
+	 * The {@link Frame#timestamp()} of a frame, by age, without touching its snapshot.
+	 *
+	 * @param age - Zero for the newest frame.
+	 *
+	 * @return The timestamp in microseconds.
+	 */
+	public long timestamp(int age) {
+		checkAge(age);
+		return this.timestamps[slot(age)];
+	}
+
+	/**
+	 * The {@link Frame#id()} of a frame, by age, without touching its snapshot.
+	 *
+	 * @param age - Zero for the newest frame.
+	 *
+	 * @return The frame ID.
+	 */
+	public long id(int age) {
+		checkAge(age);
+		return this.ids[slot(age)];
+	}
+
+	private void checkAge(int age) {
+		if (age < 0 || age >= this.size) {
+			throw new IndexOutOfBoundsException("Frame age " + age + " of " + this.size);
+		}
+	}
+
+	/**
+	 * Finds a frame by ID.
+	 *
+	 * @param id - A {@link Frame#id()} value.
+	 *
+	 * @return The age of the frame, or -1 if the history does not hold it.
+	 */
+	public int ageOfId(long id) {
+		if (this.size == 0) {
+			return -1;
+		}
+		long sequence = this.idTable[(int)id & this.idMask] - 1;
+		long age = this.added - 1 - sequence;
+		if (sequence >= 0 && age < this.size && this.ids[slot((int)age)] == id) {
+			return (int)age;
+		}
+		// The table only misses when IDs are not consecutive; IDs still increase, so search them.
+		int low = 0;
+		int high = this.size - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			long midId = this.ids[slot(mid)];
+			if (midId == id) {
+				return mid;
+			} else if (midId > id) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Finds a frame by ID.
+	 *
+	 * @param id - A {@link Frame#id()} value.
+	 *
+	 * @return The snapshot, or null if the history does not hold it.
+	 */
+	public FrameSnapshot byId(long id) {
+		int age = ageOfId(id);
+		return age < 0 ? null : this.slots[slot(age)];
+	}
+
+	/**
+	 * Finds the newest frame recorded at or before the specified time.
+	 *
+	 * @param timestamp - A {@link Frame#timestamp()} value in microseconds.
+	 *
+	 * @return The age of the frame, or -1 if every frame held is newer.
+	 */
+	public int ageAtOrBefore(long timestamp) {
+		int low = 0;
+		int high = this.size - 1;
+		int found = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (this.timestamps[slot(mid)] <= timestamp) {
+				found = mid;
+				high = mid - 1;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Finds the newest frame recorded at or before the specified time.
+	 *
+	 * @param timestamp - A {@link Frame#timestamp()} value in microseconds.
+	 *
+	 * @return The snapshot, or null if every frame held is newer.
+	 */
+	public FrameSnapshot atOrBefore(long timestamp) {
+		int age = ageAtOrBefore(timestamp);
+		return age < 0 ? null : this.slots[slot(age)];
+	}
+
+	/**
+	 * The time covered by the frames held, from the oldest to the newest.
+	 *
+	 * @return The time span in microseconds; zero with fewer than two frames.
+	 */
+	public long spanMicros() {
+		return this.size < 2 ? 0 : this.timestamps[slot(0)] - this.timestamps[slot(this.size - 1)];
+	}
+}
@@ -0,0 +1,348 @@
+package com.leapmotion.leap;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code FrameLog} class appends serialized frames to a segmented, memory-mapped log on disk.<p>
+ *
+ * A log is a directory of segment files ({@code 00000000.seg}, {@code 00000001.seg}, ...),
+ * each of a fixed size. Every segment has a sidecar index file ({@code .idx}) with one entry
+ * per record holding the {@link Frame#id()}, the {@link Frame#timestamp()} and the record position,
+ * so recordings can be searched without reading the segments. When a record does not fit in
+ * the current segment, the segment is flushed and a new one is started.<p>
+ *
+ * Each record starts with a header holding the payload length, a CRC-32 checksum of the
+ * payload, the frame ID and the timestamp. When an existing log is opened, the last segment is
+ * scanned and everything after the last intact record is discarded, so a log left behind by a
+ * crash can be appended to safely; its index is rebuilt from the records that survived.<p>
+ *
+ * Appending happens on the caller's thread. To keep disk writes off the {@link Listener} thread,
+ * use a {@link FrameRecorder}. Read recordings with a {@link FramePlayer}.
+ *
+ * <blockquote><pre>
+ * FrameLog log = FrameLog.open(new File("session"), 64 * 1024 * 1024);
+ * log.append(frame);
+ * log.close();
+ * </pre></blockquote>
+ *
+ * All multi-byte values are big-endian. The methods of this class are synchronized.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class FrameLog implements Closeable {
+	/** Segment file name suffix. */
+	public static final String SEGMENT_SUFFIX = ".seg";
+	/** Index file name suffix. */
+	public static final String INDEX_SUFFIX = ".idx";
+	/** Record header size: payload length, CRC-32, frame ID and timestamp. */
+	public static final int RECORD_HEADER_SIZE = 24;
+	/** Index entry size: frame ID, timestamp, record position and payload length. */
+	public static final int INDEX_ENTRY_SIZE = 24;
+
+	static final int RECORD_LENGTH = 0;
+	static final int RECORD_CRC = 4;
+	static final int RECORD_ID = 8;
+	static final int RECORD_TIMESTAMP = 16;
+
+	static final int INDEX_ID = 0;
+	static final int INDEX_TIMESTAMP = 8;
+	static final int INDEX_POSITION = 16;
+	static final int INDEX_LENGTH = 20;
+
+	private final File directory;
+	private final int segmentSize;
+	private final CRC32 crc = new CRC32();
+	private final byte[] crcScratch = new byte[4096];
+	private final ByteBuffer indexEntry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+
+	private int segmentNumber;
+	private RandomAccessFile segmentFile;
+	private MappedByteBuffer segment;
+	private RandomAccessFile indexFile;
+	private FileChannel index;
+	private int position;
+	private int segmentRecords;
+	private long recordCount;
+	private boolean closed;
+
+	private FrameLog(File directory, int segmentSize) {
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+	}
+
+	/**
+	 * Opens the log in {@code directory} for appending, creating the directory if needed.<p>
+	 *
+	 * If the directory already holds segments, the last one is recovered: records after the
+	 * last intact record are discarded and its index is rebuilt. Appends continue from there.
+	 *
+	 * @param directory - The log directory.
+	 * @param segmentSize - The size in bytes of new segment files.
+	 *
+	 * @return The opened log.
+	 *
+	 * @throws IOException if the directory cannot be created or a segment cannot be mapped.
+	 */
+	public static FrameLog open(File directory, int segmentSize) throws IOException {
+		if (segmentSize <= RECORD_HEADER_SIZE) {
+			throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+		}
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Cannot create log directory " + directory);
+		}
+		FrameLog log = new FrameLog(directory, segmentSize);
+		File[] segments = segmentFiles(directory);
+		for (int i = 0; i < segments.length - 1; i++) {
+			File indexFile = indexFile(segments[i]);
+			if (!indexFile.isFile() || indexFile.length() % INDEX_ENTRY_SIZE != 0) {
+				log.openSegment(segmentNumber(segments[i]));
+				log.recover();
+				log.closeSegment();
+			} else {
+				log.recordCount += indexFile.length() / INDEX_ENTRY_SIZE;
+			}
+		}
+		if (segments.length == 0) {
+			log.openSegment(0);
+		} else {
+			log.openSegment(segmentNumber(segments[segments.length - 1]));
+			log.recover();
+		}
+		return log;
+	}
+
+	/**
+	 * Lists the segment files of a log directory in order.
+	 *
+	 * @param directory - The log directory.
+	 *
+	 * @return The segment files, oldest first; empty if there are none.
+	 */
+	public static File[] segmentFiles(File directory) {
+		File[] files = directory.listFiles(new FilenameFilter() {
+			public boolean accept(File dir, String name) {
+				return name.endsWith(SEGMENT_SUFFIX);
+			}
+		});
+		if (files == null) {
+			return new File[0];
+		}
+		Arrays.sort(files);
+		return files;
+	}
+
+	/**
+	 * The index file belonging to a segment file.
+	 *
+	 * @param segment - A segment file.
+	 *
+	 * @return The sidecar index file.
+	 */
+	public static File indexFile(File segment) {
+		String name = segment.getName();
+		return new File(segment.getParentFile(), name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX);
+	}
+
+	static int segmentNumber(File segment) {
+		String name = segment.getName();
+		return Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+	}
+
+	private void openSegment(int number) throws IOException {
+		File file = new File(this.directory, String.format("%08d", number) + SEGMENT_SUFFIX);
+		this.segmentNumber = number;
+		this.segmentFile = new RandomAccessFile(file, "rw");
+		if (this.segmentFile.length() < this.segmentSize) {
+			this.segmentFile.setLength(this.segmentSize);
+		}
+		this.segment = this.segmentFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, this.segmentFile.length());
+		this.indexFile = new RandomAccessFile(indexFile(file), "rw");
+		this.index = this.indexFile.getChannel();
+		this.position = 0;
+		this.segmentRecords = 0;
+	}
+
+	private void closeSegment() throws IOException {
+		this.segment.force();
+		this.index.force(false);
+		this.index.close();
+		this.indexFile.close();
+		this.segmentFile.close();
+		// The mapping itself is released when the buffer is garbage collected.
+		this.segment = null;
+	}
+
+	private void recover() throws IOException {
+		MappedByteBuffer s = this.segment;
+		int capacity = s.capacity();
+		int pos = 0;
+		this.index.truncate(0);
+		this.segmentRecords = 0;
+		while (pos + RECORD_HEADER_SIZE <= capacity) {
+			int length = s.getInt(pos + RECORD_LENGTH);
+			if (length <= 0 || length > capacity - pos - RECORD_HEADER_SIZE
+					|| checksum(s, pos + RECORD_HEADER_SIZE, length) != s.getInt(pos + RECORD_CRC)) {
+				break;
+			}
+			writeIndex(s.getLong(pos + RECORD_ID), s.getLong(pos + RECORD_TIMESTAMP), pos, length);
+			pos += RECORD_HEADER_SIZE + length;
+		}
+		// Clear the torn tail so stale bytes can never be mistaken for records appended later.
+		int i = pos;
+		for (; i + 8 <= capacity; i += 8) {
+			if (s.getLong(i) != 0L) {
+				s.putLong(i, 0L);
+			}
+		}
+		for (; i < capacity; i++) {
+			s.put(i, (byte)0);
+		}
+		this.position = pos;
+	}
+
+	private int checksum(ByteBuffer buffer, int offset, int length) {
+		CRC32 crc = this.crc;
+		byte[] scratch = this.crcScratch;
+		crc.reset();
+		ByteBuffer view = buffer.duplicate();
+		view.position(offset);
+		view.limit(offset + length);
+		while (view.hasRemaining()) {
+			int n = Math.min(scratch.length, view.remaining());
+			view.get(scratch, 0, n);
+			crc.update(scratch, 0, n);
+		}
+		return (int)crc.getValue();
+	}
+
+	private void writeIndex(long id, long timestamp, int pos, int length) throws IOException {
+		ByteBuffer entry = this.indexEntry;
+		entry.clear();
+		entry.putLong(id).putLong(timestamp).putInt(pos).putInt(length).flip();
+		long at = (long)this.segmentRecords * INDEX_ENTRY_SIZE;
+		while (entry.hasRemaining()) {
+			at += this.index.write(entry, at);
+		}
+		this.segmentRecords++;
+		this.recordCount++;
+	}
+
+	/**
+	 * Appends one record. The remaining bytes of {@code payload} are consumed.
+	 *
+	 * @param id - The {@link Frame#id()} of the recorded frame.
+	 * @param timestamp - The {@link Frame#timestamp()} of the recorded frame.
+	 * @param payload - The serialized frame.
+	 *
+	 * @throws IOException if a new segment cannot be created.
+	 * @throws IllegalArgumentException if the record is larger than a segment.
+	 */
+	public synchronized void append(long id, long timestamp, ByteBuffer payload) throws IOException {
+		ensureOpen();
+		int length = payload.remaining();
+		if (length <= 0 || length > this.segmentSize - RECORD_HEADER_SIZE) {
+			throw new IllegalArgumentException("Record of " + length + " bytes does not fit in a segment");
+		}
+		if (this.position + RECORD_HEADER_SIZE + length > this.segment.capacity()) {
+			roll();
+		}
+		MappedByteBuffer s = this.segment;
+		int pos = this.position;
+		int body = pos + RECORD_HEADER_SIZE;
+		ByteBuffer view = s.duplicate();
+		view.position(body);
+		view.put(payload);
+		s.putInt(pos + RECORD_CRC, checksum(s, body, length));
+		s.putLong(pos + RECORD_ID, id);
+		s.putLong(pos + RECORD_TIMESTAMP, timestamp);
+		// The length is written last; a record without it is never read back.
+		s.putInt(pos + RECORD_LENGTH, length);
+		writeIndex(id, timestamp, pos, length);
+		this.position = body + length;
+	}
+
+	/**
+	 * Serializes and appends a frame.
+	 *
+	 * @param frame - The frame to record.
+	 *
+	 * @throws IOException if a new segment cannot be created.
+	 */
+	public synchronized void append(Frame frame) throws IOException {
+		ByteBuffer payload = ByteBuffer.allocate(frame.serializeLength());
+		frame.serialize(payload);
+		payload.flip();
+		append(frame.id(), frame.timestamp(), payload);
+	}
+
+	private void roll() throws IOException {
+		closeSegment();
+		openSegment(this.segmentNumber + 1);
+	}
+
+	/**
+	 * Forces all appended records and index entries to the storage device.
+	 *
+	 * @throws IOException if the index cannot be forced.
+	 */
+	public synchronized void flush() throws IOException {
+		ensureOpen();
+		this.segment.force();
+		this.index.force(false);
+	}
+
+	/**
+	 * The total number of records in the log, over all segments.
+	 *
+	 * @return The number of records.
+	 */
+	public synchronized long recordCount() {
+		return this.recordCount;
+	}
+
+	/**
+	 * The number of the segment currently being appended to. Segments are numbered from zero.
+	 *
+	 * @return The current segment number.
+	 */
+	public synchronized int segmentNumber() {
+		return this.segmentNumber;
+	}
+
+	/**
+	 * The directory holding this log.
+	 *
+	 * @return The log directory.
+	 */
+	public File directory() {
+		return this.directory;
+	}
+
+	/**
+	 * Flushes and closes the log. Further appends fail.
+	 *
+	 * @throws IOException if the segment files cannot be closed.
+	 */
+	public synchronized void close() throws IOException {
+		if (!this.closed) {
+			this.closed = true;
+			closeSegment();
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (this.closed) {
+			throw new IOException("Frame log is closed");
+		}
+	}
+}
@@ -0,0 +1,358 @@
+package com.leapmotion.leap;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@code FramePlayer} class gives random access to a recording made with a {@link FrameLog}.<p>
+ *
+ * Opening a recording reads only the index files. Records are located by position, by
+ * {@link Frame#timestamp()} or by {@link Frame#id()} with a binary search over the index, and are
+ * turned back into {@link Frame} objects only when requested:
+ *
+ * <blockquote><pre>
+ * Controller controller = new Controller(); // required by Frame.deserialize
+ * FramePlayer player = new FramePlayer(new File("session"));
+ * int start = player.indexOfTimestamp(player.timestamp(0) + 60 * 1000000L); // one minute in
+ * Frame frame = player.frame(start, new Frame());
+ * </pre></blockquote>
+ *
+ * {@link FramePlayer#play(FrameHandler, int, int, double)} replays a range of records into a
+ * {@link FrameHandler}, either paced by the recorded timestamps, at a multiple of real time,
+ * or as fast as possible.<p>
+ *
+ * A log that was appended to across several sessions of the Leap Motion service holds several runs
+ * of frames, and IDs and timestamps start again at the beginning of each run. Lookups search the runs
+ * in recording order and return the first match, and playback restarts its schedule at each run.<p>
+ *
+ * Segment files are mapped read-only when first accessed. Recordings must not be appended to
+ * while a player has them open. The lookup functions may be called from several threads;
+ * only one playback may run at a time.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class FramePlayer implements Closeable {
+	/** Playback speed that delivers frames without waiting between them. */
+	public static final double AS_FAST_AS_POSSIBLE = Double.POSITIVE_INFINITY;
+	/** Playback speed that reproduces the recorded frame timing. */
+	public static final double REAL_TIME = 1.0;
+
+	private final File[] segmentFiles;
+	private final MappedByteBuffer[] segments;
+	private final int count;
+	private final long[] ids;
+	private final long[] timestamps;
+	private final int[] segmentIndex;
+	private final int[] positions;
+	private final int[] lengths;
+	private final int[] idRuns;
+	private final int[] timestampRuns;
+	private volatile boolean stopRequested;
+
+	/**
+	 * Opens a recording and loads its index.
+	 *
+	 * @param directory - The directory of a {@link FrameLog}.
+	 *
+	 * @throws IOException if an index file cannot be read.
+	 */
+	public FramePlayer(File directory) throws IOException {
+		this.segmentFiles = FrameLog.segmentFiles(directory);
+		this.segments = new MappedByteBuffer[this.segmentFiles.length];
+		long total = 0;
+		for (File segment : this.segmentFiles) {
+			total += FrameLog.indexFile(segment).length() / FrameLog.INDEX_ENTRY_SIZE;
+		}
+		if (total > Integer.MAX_VALUE) {
+			throw new IOException("Recording has too many frames: " + total);
+		}
+		this.ids = new long[(int)total];
+		this.timestamps = new long[(int)total];
+		this.segmentIndex = new int[(int)total];
+		this.positions = new int[(int)total];
+		this.lengths = new int[(int)total];
+		int n = 0;
+		for (int s = 0; s < this.segmentFiles.length; s++) {
+			n = readIndex(s, n);
+		}
+		this.count = n;
+		this.idRuns = runs(this.ids, n);
+		this.timestampRuns = runs(this.timestamps, n);
+	}
+
+	/**
+	 * The start positions of the runs in which the values do not decrease.
+	 */
+	private static int[] runs(long[] values, int count) {
+		int runs = 1;
+		for (int i = 1; i < count; i++) {
+			if (values[i] < values[i - 1]) {
+				runs++;
+			}
+		}
+		int[] starts = new int[runs];
+		for (int i = 1, r = 1; i < count; i++) {
+			if (values[i] < values[i - 1]) {
+				starts[r++] = i;
+			}
+		}
+		return starts;
+	}
+
+	private int runEnd(int[] runs, int run) {
+		return run + 1 < runs.length ? runs[run + 1] : this.count;
+	}
+
+	private int readIndex(int segment, int n) throws IOException {
+		File file = FrameLog.indexFile(this.segmentFiles[segment]);
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = raf.getChannel();
+			int entries = (int)(channel.size() / FrameLog.INDEX_ENTRY_SIZE);
+			ByteBuffer buffer = ByteBuffer.allocate(entries * FrameLog.INDEX_ENTRY_SIZE);
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+				// Keep reading until the whole index is in memory.
+			}
+			buffer.flip();
+			for (int e = 0; e < entries && n < this.ids.length; e++, n++) {
+				int p = e * FrameLog.INDEX_ENTRY_SIZE;
+				this.ids[n] = buffer.getLong(p + FrameLog.INDEX_ID);
+				this.timestamps[n] = buffer.getLong(p + FrameLog.INDEX_TIMESTAMP);
+				this.positions[n] = buffer.getInt(p + FrameLog.INDEX_POSITION);
+				this.lengths[n] = buffer.getInt(p + FrameLog.INDEX_LENGTH);
+				this.segmentIndex[n] = segment;
+			}
+		} finally {
+			raf.close();
+		}
+		return n;
+	}
+
+	/**
+	 * The number of frames in the recording.
+	 *
+	 * @return The number of frames.
+	 */
+	public int frameCount() {
+		return this.count;
+	}
+
+	/**
+	 * The {@link Frame#id()} of a recorded frame.
+	 *
+	 * @param index - The record position, from zero to {@code frameCount() - 1}.
+	 *
+	 * @return The frame ID.
+	 */
+	public long id(int index) {
+		checkIndex(index);
+		return this.ids[index];
+	}
+
+	/**
+	 * The {@link Frame#timestamp()} of a recorded frame.
+	 *
+	 * @param index - The record position, from zero to {@code frameCount() - 1}.
+	 *
+	 * @return The timestamp in microseconds.
+	 */
+	public long timestamp(int index) {
+		checkIndex(index);
+		return this.timestamps[index];
+	}
+
+	/**
+	 * Finds the first frame recorded at or after the specified time. The first run of the recording
+	 * whose time span contains {@code timestamp} is searched; if none does, the result is the start of
+	 * the first run recorded entirely after that time.
+	 *
+	 * @param timestamp - A {@link Frame#timestamp()} value in microseconds.
+	 *
+	 * @return The record position, or {@code frameCount()} if every frame is older.
+	 */
+	public int indexOfTimestamp(long timestamp) {
+		int later = this.count;
+		for (int run = 0; run < this.timestampRuns.length; run++) {
+			int start = this.timestampRuns[run];
+			int end = runEnd(this.timestampRuns, run);
+			if (end == start || this.timestamps[end - 1] < timestamp) {
+				continue;
+			}
+			if (this.timestamps[start] > timestamp) {
+				later = Math.min(later, start);
+				continue;
+			}
+			int index = Arrays.binarySearch(this.timestamps, start, end, timestamp);
+			if (index < 0) {
+				return -index - 1;
+			}
+			while (index > start && this.timestamps[index - 1] == timestamp) {
+				index--;
+			}
+			return index;
+		}
+		return later;
+	}
+
+	/**
+	 * Finds the frame with the specified ID, in the first run of the recording that has it.
+	 *
+	 * @param id - A {@link Frame#id()} value.
+	 *
+	 * @return The record position, or -1 if the recording has no frame with that ID.
+	 */
+	public int indexOfId(long id) {
+		for (int run = 0; run < this.idRuns.length; run++) {
+			int start = this.idRuns[run];
+			int end = runEnd(this.idRuns, run);
+			if (end > start && this.ids[start] <= id && id <= this.ids[end - 1]) {
+				int index = Arrays.binarySearch(this.ids, start, end, id);
+				if (index >= 0) {
+					return index;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * The serialized bytes of a recorded frame, as produced by {@link Frame#serialize()}.
+	 *
+	 * @param index - The record position.
+	 *
+	 * @return A read-only buffer positioned at the first byte and limited to the record.
+	 *
+	 * @throws IOException if the segment file cannot be mapped.
+	 */
+	public ByteBuffer payload(int index) throws IOException {
+		checkIndex(index);
+		ByteBuffer view = segment(this.segmentIndex[index]).duplicate();
+		int start = this.positions[index] + FrameLog.RECORD_HEADER_SIZE;
+		view.limit(start + this.lengths[index]);
+		view.position(start);
+		return view;
+	}
+
+	/**
+	 * Deserializes a recorded frame into {@code dst}.<p>
+	 *
+	 * A {@link Controller} object must exist for this to succeed; see {@link Frame#deserialize(byte[])}.
+	 *
+	 * @param index - The record position.
+	 * @param dst - The frame to replace, typically a new {@link Frame}.
+	 *
+	 * @return The {@code dst} parameter.
+	 *
+	 * @throws IOException if the segment file cannot be mapped.
+	 */
+	public Frame frame(int index, Frame dst) throws IOException {
+		dst.deserialize(payload(index));
+		return dst;
+	}
+
+	private synchronized MappedByteBuffer segment(int segment) throws IOException {
+		MappedByteBuffer mapped = this.segments[segment];
+		if (mapped == null) {
+			RandomAccessFile raf = new RandomAccessFile(this.segmentFiles[segment], "r");
+			try {
+				FileChannel channel = raf.getChannel();
+				mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			} finally {
+				raf.close();
+			}
+			this.segments[segment] = mapped;
+		}
+		return mapped;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= this.count) {
+			throw new IndexOutOfBoundsException("Frame index " + index + " of " + this.count);
+		}
+	}
+
+	/**
+	 * Replays recorded frames into a handler on the calling thread.<p>
+	 *
+	 * With a speed of {@link FramePlayer#REAL_TIME} the handler is called with the same spacing
+	 * as the original frames; a speed of 2 replays twice as fast, and
+	 * {@link FramePlayer#AS_FAST_AS_POSSIBLE} does not wait at all. Time spent in the handler
+	 * counts toward the wait, so a slow handler does not drift the schedule. Where the recorded
+	 * timestamps start again, as at a new session of an appended log, the schedule restarts.
+	 * A single {@link Frame} is reused for every call, so the handler must not keep it.
+	 *
+	 * <blockquote><pre>
+	 * player.play(handler, player.indexOfTimestamp(start), player.indexOfTimestamp(end), 4.0);
+	 * </pre></blockquote>
+	 *
+	 * @param handler - The handler that receives each frame.
+	 * @param from - The first record position to replay.
+	 * @param to - The record position to stop before, or -1 for the end of the recording.
+	 * @param speed - The playback speed relative to real time.
+	 *
+	 * @return The number of frames delivered; fewer than requested if {@link FramePlayer#stop()} was called.
+	 *
+	 * @throws IOException if a segment file cannot be mapped.
+	 * @throws IllegalArgumentException if {@code from} is not between zero and {@code frameCount()}.
+	 */
+	public int play(FrameHandler handler, int from, int to, double speed) throws IOException {
+		if (!(speed > 0)) {
+			throw new IllegalArgumentException("Playback speed must be positive: " + speed);
+		}
+		if (from < 0 || from > this.count) {
+			throw new IllegalArgumentException("Start position " + from + " of " + this.count);
+		}
+		int end = to < 0 ? this.count : Math.min(to, this.count);
+		this.stopRequested = false;
+		Frame frame = new Frame();
+		long startNanos = System.nanoTime();
+		int base = from;
+		int delivered = 0;
+		try {
+			for (int index = from; index < end && !this.stopRequested; index++) {
+				if (speed != AS_FAST_AS_POSSIBLE) {
+					if (index > from && this.timestamps[index] < this.timestamps[index - 1]) {
+						startNanos = System.nanoTime();
+						base = index;
+					}
+					long dueMicros = this.timestamps[index] - this.timestamps[base];
+					long dueNanos = startNanos + (long)(TimeUnit.MICROSECONDS.toNanos(dueMicros) / speed);
+					long wait;
+					while ((wait = dueNanos - System.nanoTime()) > 0 && !this.stopRequested) {
+						LockSupport.parkNanos(wait);
+					}
+				}
+				handler.onFrame(frame(index, frame));
+				delivered++;
+			}
+		} finally {
+			frame.delete();
+		}
+		return delivered;
+	}
+
+	/**
+	 * Asks a running {@link FramePlayer#play(FrameHandler, int, int, double)} to return
+	 * after the frame it is currently delivering. Safe to call from any thread.
+	 */
+	public void stop() {
+		this.stopRequested = true;
+	}
+
+	/**
+	 * Releases this player's references to the mapped segments.
+	 * The mappings are unmapped when they are garbage collected.
+	 */
+	public synchronized void close() {
+		Arrays.fill(this.segments, null);
+	}
+}
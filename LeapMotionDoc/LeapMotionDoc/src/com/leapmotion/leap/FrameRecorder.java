@@ -0,0 +1,172 @@
+package com.leapmotion.leap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code FrameRecorder} class records frames to a {@link FrameLog} on a background thread.<p>
+ *
+ * {@link FrameRecorder#record(Frame)} serializes the frame into a pooled buffer and hands it
+ * to a writer thread through a bounded queue; it never waits for the disk. If the writer falls
+ * so far behind that the queue is full, the frame is dropped and counted instead of stalling
+ * the {@link Listener} thread:
+ *
+ * <blockquote><pre>
+ * final FrameRecorder recorder = new FrameRecorder(FrameLog.open(dir, 64 * 1024 * 1024), 1024);
+ * controller.addListener(new Listener() {
+ *     public void onFrame(Controller controller) {
+ *         recorder.record(controller.frame());
+ *     }
+ * });
+ * // ...
+ * recorder.close();
+ * </pre></blockquote>
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class FrameRecorder implements Closeable {
+	private static final int ENTRY_HEADER = 16;
+	private static final ByteBuffer STOP = ByteBuffer.allocate(0);
+
+	private final FrameLog log;
+	private final FrameBufferPool pool;
+	private final ArrayBlockingQueue<ByteBuffer> queue;
+	private final Thread writer;
+	private final AtomicLong recorded = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private volatile IOException failure;
+	private volatile boolean closed;
+
+	/**
+	 * Constructs a recorder and starts its writer thread.
+	 *
+	 * @param log - The log to append to. It is closed when this recorder is closed.
+	 * @param queueCapacity - The number of frames that may wait for the writer.
+	 */
+	public FrameRecorder(FrameLog log, int queueCapacity) {
+		this.log = log;
+		this.pool = new FrameBufferPool(16384, queueCapacity + 2);
+		this.queue = new ArrayBlockingQueue<ByteBuffer>(queueCapacity);
+		this.writer = new Thread(new Runnable() {
+			public void run() {
+				write();
+			}
+		}, "FrameRecorder " + log.directory().getName());
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	/**
+	 * Queues a frame for recording. Safe to call from any thread.
+	 *
+	 * @param frame - The frame to record.
+	 *
+	 * @return True, if the frame was queued; false if it was dropped because the queue was full,
+	 * the recorder is closed, or the writer has failed.
+	 */
+	public boolean record(Frame frame) {
+		if (this.closed || this.failure != null) {
+			this.dropped.incrementAndGet();
+			return false;
+		}
+		ByteBuffer buffer = this.pool.acquire(ENTRY_HEADER + frame.serializeLength());
+		buffer.putLong(frame.id());
+		buffer.putLong(frame.timestamp());
+		frame.serialize(buffer);
+		buffer.flip();
+		if (!this.queue.offer(buffer)) {
+			this.pool.release(buffer);
+			this.dropped.incrementAndGet();
+			return false;
+		}
+		if (this.closed && this.queue.remove(buffer)) {
+			// Queued behind the stop marker of a concurrent close; the writer will never take it.
+			this.pool.release(buffer);
+			this.dropped.incrementAndGet();
+			return false;
+		}
+		return true;
+	}
+
+	private void write() {
+		try {
+			while (true) {
+				ByteBuffer buffer = this.queue.take();
+				if (buffer == STOP) {
+					break;
+				}
+				try {
+					long id = buffer.getLong(0);
+					long timestamp = buffer.getLong(8);
+					buffer.position(ENTRY_HEADER);
+					this.log.append(id, timestamp, buffer);
+					this.recorded.incrementAndGet();
+				} finally {
+					this.pool.release(buffer);
+				}
+			}
+		} catch (IOException e) {
+			this.failure = e;
+		} catch (RuntimeException e) {
+			this.failure = new IOException("Frame writer failed", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * The number of frames written to the log so far.
+	 *
+	 * @return The number of recorded frames.
+	 */
+	public long recordedCount() {
+		return this.recorded.get();
+	}
+
+	/**
+	 * The number of frames passed to {@link FrameRecorder#record(Frame)} that were not recorded.
+	 *
+	 * @return The number of dropped frames.
+	 */
+	public long droppedCount() {
+		return this.dropped.get();
+	}
+
+	/**
+	 * The number of frames waiting for the writer thread.
+	 *
+	 * @return The current queue depth.
+	 */
+	public int queueDepth() {
+		return this.queue.size();
+	}
+
+	/**
+	 * Writes all queued frames, stops the writer thread and closes the log.
+	 *
+	 * @throws IOException if the writer failed or the log cannot be closed.
+	 */
+	public void close() throws IOException {
+		if (this.closed) {
+			return;
+		}
+		this.closed = true;
+		try {
+			while (this.writer.isAlive() && !this.queue.offer(STOP, 100, TimeUnit.MILLISECONDS)) {
+				// The writer is still draining a full queue.
+			}
+			this.writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.log.close();
+		if (this.failure != null) {
+			throw this.failure;
+		}
+	}
+}
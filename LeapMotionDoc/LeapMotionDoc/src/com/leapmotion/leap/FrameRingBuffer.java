@@ -0,0 +1,302 @@
+package com.leapmotion.leap;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@code FrameRingBuffer} class passes frames from one producer thread to any number of
+ * consumer threads through a preallocated ring of {@link FrameSnapshot} slots.<p>
+ *
+ * Publishing a frame only copies it into the next slot. Consumers registered with
+ * {@link FrameRingBuffer#addConsumer(FrameSnapshotHandler, WaitStrategy)} each run on their own
+ * thread and follow the ring at their own pace:
+ *
+ * <blockquote><pre>
+ * FrameRingBuffer ring = new FrameRingBuffer(64);
+ * ring.addConsumer(gestureHandler, FrameRingBuffer.WaitStrategy.BUSY_SPIN);
+ * ring.addConsumer(loggingHandler, FrameRingBuffer.WaitStrategy.PARKING);
+ * source.addHandler(ring);
+ * </pre></blockquote>
+ *
+ * The producer never waits for a slow consumer. A consumer that falls more than the ring
+ * capacity behind skips ahead to the oldest frame still in the ring; the frames it missed are
+ * reported by {@link Consumer#skippedCount()}. Other consumers are not affected.<p>
+ *
+ * Each consumer copies a slot into its own {@link FrameSnapshot} before calling its handler,
+ * so handlers may take as long as they like; the snapshot passed to a handler is reused for
+ * the next frame and must not be kept. The producer only pauses while a consumer is copying
+ * the exact slot it is about to overwrite, which lasts no longer than one copy.<p>
+ *
+ * Frames must be published from a single thread. To publish the frames of a {@link Controller},
+ * use an {@link AsyncListener}.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class FrameRingBuffer implements FrameSnapshotHandler {
+	/**
+	 * How a consumer thread waits for the next frame.
+	 */
+	public enum WaitStrategy {
+		/** Spins on the ring cursor. Lowest latency; occupies a core. */
+		BUSY_SPIN,
+		/** Calls {@link Thread#yield()} between checks. Low latency; lets other threads run. */
+		YIELDING,
+		/** Parks until the producer publishes a frame. Highest latency; no CPU while idle. */
+		PARKING
+	}
+
+	private static final long IDLE = Long.MIN_VALUE;
+	private static final long PARK_NANOS = 1000000L;
+
+	private final FrameSnapshot[] ring;
+	private final int mask;
+	private final CopyOnWriteArrayList<Consumer> consumers = new CopyOnWriteArrayList<Consumer>();
+	private volatile long cursor = -1;
+	private volatile long writing = -1;
+	private int consumerCount;
+
+	/**
+	 * Constructs a ring buffer of the specified size.
+	 *
+	 * @param capacity - The number of frames a consumer may fall behind before it skips frames.
+	 * A power of two.
+	 */
+	public FrameRingBuffer(int capacity) {
+		if (capacity <= 0 || (capacity & (capacity - 1)) != 0) {
+			throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+		}
+		this.ring = new FrameSnapshot[capacity];
+		for (int i = 0; i < capacity; i++) {
+			this.ring[i] = new FrameSnapshot();
+		}
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * Captures a {@link Frame} into the next slot and publishes it.
+	 * Does nothing if there are no consumers.
+	 *
+	 * @param frame - The frame to publish. The caller still owns it.
+	 */
+	public void publish(Frame frame) {
+		if (this.consumers.isEmpty()) {
+			return;
+		}
+		claimNext().capture(frame);
+		publish();
+	}
+
+	public void onFrame(FrameSnapshot snapshot) {
+		if (this.consumers.isEmpty()) {
+			return;
+		}
+		claimNext().set(snapshot);
+		publish();
+	}
+
+	private FrameSnapshot claimNext() {
+		long next = this.cursor + 1;
+		long overwritten = next - this.ring.length;
+		this.writing = next;
+		for (Consumer consumer : this.consumers) {
+			while (consumer.copying == overwritten) {
+				Thread.yield();
+			}
+		}
+		return this.ring[(int)next & this.mask];
+	}
+
+	private void publish() {
+		this.cursor = this.writing;
+		for (Consumer consumer : this.consumers) {
+			if (consumer.parked) {
+				LockSupport.unpark(consumer.thread);
+			}
+		}
+	}
+
+	/**
+	 * Starts a consumer thread that passes every subsequent frame to {@code handler}.
+	 *
+	 * @param handler - The handler, called on the consumer thread.
+	 * @param strategy - How the consumer thread waits for frames.
+	 *
+	 * @return The running consumer.
+	 */
+	public Consumer addConsumer(FrameSnapshotHandler handler, WaitStrategy strategy) {
+		int number;
+		synchronized (this) {
+			number = this.consumerCount++;
+		}
+		Consumer consumer = new Consumer(handler, strategy, this.cursor + 1);
+		consumer.thread = new Thread(consumer, "FrameRingBuffer consumer " + number);
+		consumer.thread.setDaemon(true);
+		this.consumers.add(consumer);
+		consumer.thread.start();
+		return consumer;
+	}
+
+	/**
+	 * Stops a consumer and waits for its current frame to finish.
+	 *
+	 * @param consumer - A consumer of this listener.
+	 *
+	 * @return True, if the consumer was running.
+	 */
+	public boolean removeConsumer(Consumer consumer) {
+		if (!this.consumers.remove(consumer)) {
+			return false;
+		}
+		consumer.running = false;
+		LockSupport.unpark(consumer.thread);
+		if (consumer.thread != Thread.currentThread()) {
+			try {
+				consumer.thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Stops all consumers. Stop publishing first.
+	 */
+	public void close() {
+		for (Consumer consumer : this.consumers) {
+			removeConsumer(consumer);
+		}
+	}
+
+	/**
+	 * The number of frames published so far.
+	 *
+	 * @return The number of frames.
+	 */
+	public long publishedCount() {
+		return this.cursor + 1;
+	}
+
+	/**
+	 * The number of frames the ring holds.
+	 *
+	 * @return The ring capacity.
+	 */
+	public int capacity() {
+		return this.ring.length;
+	}
+
+	/**
+	 * The {@code Consumer} class is a consumer thread of a {@link FrameRingBuffer}.
+	 *
+	 * @since 2.3
+	 * @author Leap Motion Inc
+	 */
+	public final class Consumer implements Runnable {
+		private final FrameSnapshotHandler handler;
+		private final WaitStrategy strategy;
+		private final FrameSnapshot snapshot = new FrameSnapshot();
+		private Thread thread;
+		private volatile long next;
+		private volatile long copying = IDLE;
+		private volatile boolean parked;
+		private volatile boolean running = true;
+		private volatile long delivered;
+		private volatile long skipped;
+
+		private Consumer(FrameSnapshotHandler handler, WaitStrategy strategy, long next) {
+			this.handler = handler;
+			this.strategy = strategy;
+			this.next = next;
+		}
+
+		public void run() {
+			FrameRingBuffer outer = FrameRingBuffer.this;
+			int capacity = outer.ring.length;
+			while (this.running) {
+				long available = outer.cursor;
+				if (this.next > available) {
+					idle();
+					continue;
+				}
+				if (this.next <= available - capacity) {
+					skipTo(available - capacity + 1);
+				}
+				// Announce the slot before checking the producer; the producer announces the
+				// slot it overwrites before checking consumers, so one of the two always sees the other.
+				this.copying = this.next;
+				long writing = outer.writing;
+				if (writing >= this.next + capacity) {
+					this.copying = IDLE;
+					skipTo(writing - capacity + 1);
+					continue;
+				}
+				this.snapshot.set(outer.ring[(int)this.next & outer.mask]);
+				this.copying = IDLE;
+				this.next++;
+				this.handler.onFrame(this.snapshot);
+				this.delivered++;
+			}
+		}
+
+		private void skipTo(long sequence) {
+			this.skipped += sequence - this.next;
+			this.next = sequence;
+		}
+
+		private void idle() {
+			switch (this.strategy) {
+			case BUSY_SPIN:
+				break;
+			case YIELDING:
+				Thread.yield();
+				break;
+			default:
+				this.parked = true;
+				if (this.next > FrameRingBuffer.this.cursor && this.running) {
+					LockSupport.parkNanos(PARK_NANOS);
+				}
+				this.parked = false;
+			}
+		}
+
+		/**
+		 * The number of frames passed to the handler so far.
+		 *
+		 * @return The number of delivered frames.
+		 */
+		public long deliveredCount() {
+			return this.delivered;
+		}
+
+		/**
+		 * The number of frames this consumer missed because it fell more than
+		 * {@link FrameRingBuffer#capacity()} frames behind.
+		 *
+		 * @return The number of skipped frames.
+		 */
+		public long skippedCount() {
+			return this.skipped;
+		}
+
+		/**
+		 * The number of published frames this consumer has not yet taken from the ring.
+		 *
+		 * @return The current backlog, from zero up to the ring capacity.
+		 */
+		public long lag() {
+			long lag = FrameRingBuffer.this.cursor + 1 - this.next;
+			return Math.max(0, Math.min(lag, FrameRingBuffer.this.ring.length));
+		}
+
+		/**
+		 * The wait strategy of this consumer.
+		 *
+		 * @return The wait strategy.
+		 */
+		public WaitStrategy waitStrategy() {
+			return this.strategy;
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package com.leapmotion.leap;
+
+import java.util.Arrays;
+
+/**
+ * The {@code FrameScope} class releases every native object created inside it when it is closed.<p>
+ *
+ * Each call such as {@link Frame#hands()}, {@link Hand#palmPosition()} or {@link Bone#basis()}
+ * creates a wrapper that owns a native object. Calling {@code delete()} on each of them is
+ * tedious, and leaving them to the garbage collector lets native memory grow while the Java heap
+ * looks idle. Wrappers created on a thread while a scope is open on that thread are released,
+ * newest first, when the scope is closed:
+ *
+ * <blockquote><pre>
+ * public void onFrame(Controller controller) {
+ *     try (FrameScope scope = FrameScope.open()) {
+ *         Frame frame = controller.frame();
+ *         for (Hand hand : frame.hands()) {
+ *             process(hand.palmPosition(), hand.direction());
+ *         }
+ *     } // every Frame, HandList, Hand and Vector above is released here
+ * }
+ * </pre></blockquote>
+ *
+ * Wrappers must not be used after their scope is closed. To let one outlive the scope, pass it to
+ * {@link FrameScope#keep(Interface)} (or the {@link Vector} and {@link Matrix} overloads) before
+ * closing. Calling {@code delete()} on a scoped wrapper is allowed and releases it early.<p>
+ *
+ * Scopes may be nested, also with {@link FrameArena} objects; a wrapper belongs to the innermost open one.
+ * A scope belongs to the thread that opened it and must be closed on that thread, in the reverse
+ * order scopes were opened.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public final class FrameScope extends NativeOwner implements AutoCloseable {
+	private NativeHandle[] handles = new NativeHandle[64];
+	private int size;
+
+	private FrameScope() {
+	}
+
+	/**
+	 * Opens a scope on the current thread.
+	 *
+	 * @return The new, innermost scope.
+	 */
+	public static FrameScope open() {
+		FrameScope scope = new FrameScope();
+		scope.attach();
+		return scope;
+	}
+
+	NativeHandle adopt(Object wrapper, long cPtr, int kind) {
+		NativeHandle handle = new NativeHandle(wrapper, null, kind, cPtr);
+		if (this.size == this.handles.length) {
+			this.handles = Arrays.copyOf(this.handles, this.size * 2);
+		}
+		this.handles[this.size++] = handle;
+		return handle;
+	}
+
+	/**
+	 * Lets a wrapper created in this scope outlive it. The wrapper is then released by its
+	 * {@code delete()} function or by the garbage collector, as if it had been created outside any scope.
+	 *
+	 * @param wrapper - A wrapper such as a {@link Frame} or {@link Hand}.
+	 *
+	 * @return The {@code wrapper} parameter.
+	 */
+	public <T extends Interface> T keep(T wrapper) {
+		wrapper.swigHandle = NativeObjects.promote(wrapper.swigHandle, wrapper);
+		return wrapper;
+	}
+
+	/**
+	 * Lets a {@link Vector} created in this scope outlive it.
+	 *
+	 * @param vector - The vector to keep.
+	 *
+	 * @return The {@code vector} parameter.
+	 */
+	public Vector keep(Vector vector) {
+		vector.swigHandle = NativeObjects.promote(vector.swigHandle, vector);
+		return vector;
+	}
+
+	/**
+	 * Lets a {@link Matrix} created in this scope outlive it.
+	 *
+	 * @param matrix - The matrix to keep.
+	 *
+	 * @return The {@code matrix} parameter.
+	 */
+	public Matrix keep(Matrix matrix) {
+		matrix.swigHandle = NativeObjects.promote(matrix.swigHandle, matrix);
+		return matrix;
+	}
+
+	/**
+	 * The number of native objects created in this scope so far, including released and kept ones.
+	 *
+	 * @return The number of tracked objects.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Releases every native object created in this scope that has not been released or kept.
+	 *
+	 * @throws IllegalStateException if called on another thread, or while a nested scope or arena is still open.
+	 */
+	public void close() {
+		if (!detach()) {
+			return;
+		}
+		NativeHandle[] handles = this.handles;
+		for (int i = this.size - 1; i >= 0; i--) {
+			NativeObjects.free(handles[i]);
+			handles[i] = null;
+		}
+	}
+}
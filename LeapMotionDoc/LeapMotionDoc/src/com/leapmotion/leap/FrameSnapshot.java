@@ -0,0 +1,1027 @@
+package com.leapmotion.leap;
+
+import java.util.Arrays;
+
+/**
+ * The {@code FrameSnapshot} class is a copy of the tracking data of a {@link Frame}
+ * held entirely in primitive Java arrays.<p>
+ *
+ * A snapshot is filled in one pass over the frame by {@link FrameSnapshot#capture(Frame)}.
+ * Every wrapper object used during the pass is released immediately, so after the call
+ * the snapshot holds no native memory and the {@link Frame} can be discarded.
+ * Snapshots can then be handed to other threads and read without locking:
+ *
+ * <blockquote><pre>
+ * public void onFrame(Controller controller) {
+ *     FrameSnapshot snapshot = FrameSnapshot.of(controller.frame());
+ *     queue.offer(snapshot); // read on a worker thread
+ * }
+ * </pre></blockquote>
+ *
+ * Data is laid out as a struct of arrays. Each entity kind (hands, fingers, bones, tools
+ * and gestures) has a count and one array per property, indexed from zero up to that count.
+ * Vector properties are packed as consecutive x, y, z values, so the vector of entity {@code i}
+ * starts at index {@code i * 3}. Bones are stored four per finger in {@link Bone.Type} order;
+ * the bone of type {@code t} of finger {@code f} has index {@code f * 4 + t}.<p>
+ *
+ * A {@code FrameSnapshot} can be captured into repeatedly. Its arrays only grow, so
+ * reusing one instance per thread reaches a steady state without allocation.
+ * A snapshot must not be captured into while another thread reads it.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public final class FrameSnapshot {
+	/** The number of bones stored for every finger. */
+	public static final int BONES_PER_FINGER = 4;
+
+	private static final Bone.Type[] BONE_TYPES = {
+		Bone.Type.TYPE_METACARPAL, Bone.Type.TYPE_PROXIMAL, Bone.Type.TYPE_INTERMEDIATE, Bone.Type.TYPE_DISTAL
+	};
+
+	private boolean valid;
+	private long id;
+	private long timestamp;
+	private float currentFramesPerSecond;
+
+	private int handCount;
+	private int[] handId = new int[2];
+	private boolean[] handIsLeft = new boolean[2];
+	private float[] handConfidence = new float[2];
+	private float[] handGrabStrength = new float[2];
+	private float[] handPinchStrength = new float[2];
+	private float[] handPalmWidth = new float[2];
+	private float[] handPalmPosition = new float[2 * 3];
+	private float[] handPalmVelocity = new float[2 * 3];
+	private float[] handPalmNormal = new float[2 * 3];
+	private float[] handDirection = new float[2 * 3];
+	private float[] armWidth = new float[2];
+	private float[] armElbowPosition = new float[2 * 3];
+	private float[] armWristPosition = new float[2 * 3];
+	private float[] armDirection = new float[2 * 3];
+
+	private int fingerCount;
+	private int[] fingerId = new int[10];
+	private int[] fingerHandIndex = new int[10];
+	private int[] fingerType = new int[10];
+	private boolean[] fingerIsExtended = new boolean[10];
+	private float[] fingerWidth = new float[10];
+	private float[] fingerLength = new float[10];
+	private float[] fingerTipPosition = new float[10 * 3];
+	private float[] fingerTipVelocity = new float[10 * 3];
+	private float[] fingerDirection = new float[10 * 3];
+	private float[] bonePrevJoint = new float[10 * BONES_PER_FINGER * 3];
+	private float[] boneNextJoint = new float[10 * BONES_PER_FINGER * 3];
+	private float[] boneWidth = new float[10 * BONES_PER_FINGER];
+
+	private int toolCount;
+	private int[] toolId = new int[0];
+	private int[] toolHandId = new int[0];
+	private float[] toolWidth = new float[0];
+	private float[] toolLength = new float[0];
+	private float[] toolTipPosition = new float[0];
+	private float[] toolTipVelocity = new float[0];
+	private float[] toolDirection = new float[0];
+
+	private int gestureCount;
+	private int[] gestureId = new int[0];
+	private int[] gestureType = new int[0];
+	private int[] gestureState = new int[0];
+	private long[] gestureDuration = new long[0];
+
+	/**
+	 * Constructs an empty, invalid snapshot.
+	 */
+	public FrameSnapshot() {
+	}
+
+	/**
+	 * Creates a new snapshot of the specified {@link Frame}.
+	 *
+	 * @param frame - The frame to copy.
+	 *
+	 * @return A new {@link FrameSnapshot}.
+	 */
+	public static FrameSnapshot of(Frame frame) {
+		return new FrameSnapshot().capture(frame);
+	}
+
+	/**
+	 * Replaces the contents of this snapshot with the tracking data of {@code frame}.
+	 *
+	 * @param frame - The frame to copy.
+	 *
+	 * @return This {@link FrameSnapshot}.
+	 */
+	public FrameSnapshot capture(Frame frame) {
+		clear();
+		this.valid = frame.isValid();
+		if (!this.valid) {
+			return this;
+		}
+		this.id = frame.id();
+		this.timestamp = frame.timestamp();
+		this.currentFramesPerSecond = frame.currentFramesPerSecond();
+
+		HandList hands = frame.hands();
+		int hc = hands.count();
+		ensureHandCapacity(hc);
+		for (int h = 0; h < hc; h++) {
+			Hand hand = hands.get(h);
+			captureHand(hand, h);
+			FingerList fingers = hand.fingers();
+			int fc = fingers.count();
+			ensureFingerCapacity(this.fingerCount + fc);
+			for (int f = 0; f < fc; f++) {
+				Finger finger = fingers.get(f);
+				captureFinger(finger, this.fingerCount++, h);
+				finger.delete();
+			}
+			fingers.delete();
+			hand.delete();
+		}
+		this.handCount = hc;
+		hands.delete();
+
+		ToolList tools = frame.tools();
+		int tc = tools.count();
+		ensureToolCapacity(tc);
+		for (int t = 0; t < tc; t++) {
+			Tool tool = tools.get(t);
+			captureTool(tool, t);
+			tool.delete();
+		}
+		this.toolCount = tc;
+		tools.delete();
+
+		GestureList gestures = frame.gestures();
+		int gc = gestures.count();
+		ensureGestureCapacity(gc);
+		for (int g = 0; g < gc; g++) {
+			Gesture gesture = gestures.get(g);
+			this.gestureId[g] = gesture.id();
+			this.gestureType[g] = gesture.type().swigValue();
+			this.gestureState[g] = gesture.state().swigValue();
+			this.gestureDuration[g] = gesture.duration();
+			gesture.delete();
+		}
+		this.gestureCount = gc;
+		gestures.delete();
+		return this;
+	}
+
+	private void captureHand(Hand hand, int h) {
+		this.handId[h] = hand.id();
+		this.handIsLeft[h] = hand.isLeft();
+		this.handConfidence[h] = hand.confidence();
+		this.handGrabStrength[h] = hand.grabStrength();
+		this.handPinchStrength[h] = hand.pinchStrength();
+		this.handPalmWidth[h] = hand.palmWidth();
+		read(hand.palmPosition(), this.handPalmPosition, h * 3);
+		read(hand.palmVelocity(), this.handPalmVelocity, h * 3);
+		read(hand.palmNormal(), this.handPalmNormal, h * 3);
+		read(hand.direction(), this.handDirection, h * 3);
+		Arm arm = hand.arm();
+		this.armWidth[h] = arm.width();
+		read(arm.elbowPosition(), this.armElbowPosition, h * 3);
+		read(arm.wristPosition(), this.armWristPosition, h * 3);
+		read(arm.direction(), this.armDirection, h * 3);
+		arm.delete();
+	}
+
+	private void captureFinger(Finger finger, int f, int handIndex) {
+		this.fingerId[f] = finger.id();
+		this.fingerHandIndex[f] = handIndex;
+		this.fingerType[f] = finger.type().swigValue();
+		this.fingerIsExtended[f] = finger.isExtended();
+		this.fingerWidth[f] = finger.width();
+		this.fingerLength[f] = finger.length();
+		read(finger.tipPosition(), this.fingerTipPosition, f * 3);
+		read(finger.tipVelocity(), this.fingerTipVelocity, f * 3);
+		read(finger.direction(), this.fingerDirection, f * 3);
+		for (int b = 0; b < BONES_PER_FINGER; b++) {
+			Bone bone = finger.bone(BONE_TYPES[b]);
+			int index = f * BONES_PER_FINGER + b;
+			read(bone.prevJoint(), this.bonePrevJoint, index * 3);
+			read(bone.nextJoint(), this.boneNextJoint, index * 3);
+			this.boneWidth[index] = bone.width();
+			bone.delete();
+		}
+	}
+
+	private void captureTool(Tool tool, int t) {
+		this.toolId[t] = tool.id();
+		Hand hand = tool.hand();
+		this.toolHandId[t] = hand.id();
+		hand.delete();
+		this.toolWidth[t] = tool.width();
+		this.toolLength[t] = tool.length();
+		read(tool.tipPosition(), this.toolTipPosition, t * 3);
+		read(tool.tipVelocity(), this.toolTipVelocity, t * 3);
+		read(tool.direction(), this.toolDirection, t * 3);
+	}
+
+	private static void read(Vector vector, float[] dst, int offset) {
+		dst[offset] = vector.getX();
+		dst[offset + 1] = vector.getY();
+		dst[offset + 2] = vector.getZ();
+		vector.delete();
+	}
+
+	/**
+	 * Replaces the contents of this snapshot with a copy of another snapshot.
+	 *
+	 * @param other - The snapshot to copy.
+	 *
+	 * @return This {@link FrameSnapshot}.
+	 */
+	public FrameSnapshot set(FrameSnapshot other) {
+		clear();
+		this.valid = other.valid;
+		this.id = other.id;
+		this.timestamp = other.timestamp;
+		this.currentFramesPerSecond = other.currentFramesPerSecond;
+
+		int hc = other.handCount;
+		ensureHandCapacity(hc);
+		System.arraycopy(other.handId, 0, this.handId, 0, hc);
+		System.arraycopy(other.handIsLeft, 0, this.handIsLeft, 0, hc);
+		System.arraycopy(other.handConfidence, 0, this.handConfidence, 0, hc);
+		System.arraycopy(other.handGrabStrength, 0, this.handGrabStrength, 0, hc);
+		System.arraycopy(other.handPinchStrength, 0, this.handPinchStrength, 0, hc);
+		System.arraycopy(other.handPalmWidth, 0, this.handPalmWidth, 0, hc);
+		System.arraycopy(other.handPalmPosition, 0, this.handPalmPosition, 0, hc * 3);
+		System.arraycopy(other.handPalmVelocity, 0, this.handPalmVelocity, 0, hc * 3);
+		System.arraycopy(other.handPalmNormal, 0, this.handPalmNormal, 0, hc * 3);
+		System.arraycopy(other.handDirection, 0, this.handDirection, 0, hc * 3);
+		System.arraycopy(other.armWidth, 0, this.armWidth, 0, hc);
+		System.arraycopy(other.armElbowPosition, 0, this.armElbowPosition, 0, hc * 3);
+		System.arraycopy(other.armWristPosition, 0, this.armWristPosition, 0, hc * 3);
+		System.arraycopy(other.armDirection, 0, this.armDirection, 0, hc * 3);
+		this.handCount = hc;
+
+		int fc = other.fingerCount;
+		ensureFingerCapacity(fc);
+		System.arraycopy(other.fingerId, 0, this.fingerId, 0, fc);
+		System.arraycopy(other.fingerHandIndex, 0, this.fingerHandIndex, 0, fc);
+		System.arraycopy(other.fingerType, 0, this.fingerType, 0, fc);
+		System.arraycopy(other.fingerIsExtended, 0, this.fingerIsExtended, 0, fc);
+		System.arraycopy(other.fingerWidth, 0, this.fingerWidth, 0, fc);
+		System.arraycopy(other.fingerLength, 0, this.fingerLength, 0, fc);
+		System.arraycopy(other.fingerTipPosition, 0, this.fingerTipPosition, 0, fc * 3);
+		System.arraycopy(other.fingerTipVelocity, 0, this.fingerTipVelocity, 0, fc * 3);
+		System.arraycopy(other.fingerDirection, 0, this.fingerDirection, 0, fc * 3);
+		System.arraycopy(other.bonePrevJoint, 0, this.bonePrevJoint, 0, fc * BONES_PER_FINGER * 3);
+		System.arraycopy(other.boneNextJoint, 0, this.boneNextJoint, 0, fc * BONES_PER_FINGER * 3);
+		System.arraycopy(other.boneWidth, 0, this.boneWidth, 0, fc * BONES_PER_FINGER);
+		this.fingerCount = fc;
+
+		int tc = other.toolCount;
+		ensureToolCapacity(tc);
+		System.arraycopy(other.toolId, 0, this.toolId, 0, tc);
+		System.arraycopy(other.toolHandId, 0, this.toolHandId, 0, tc);
+		System.arraycopy(other.toolWidth, 0, this.toolWidth, 0, tc);
+		System.arraycopy(other.toolLength, 0, this.toolLength, 0, tc);
+		System.arraycopy(other.toolTipPosition, 0, this.toolTipPosition, 0, tc * 3);
+		System.arraycopy(other.toolTipVelocity, 0, this.toolTipVelocity, 0, tc * 3);
+		System.arraycopy(other.toolDirection, 0, this.toolDirection, 0, tc * 3);
+		this.toolCount = tc;
+
+		int gc = other.gestureCount;
+		ensureGestureCapacity(gc);
+		System.arraycopy(other.gestureId, 0, this.gestureId, 0, gc);
+		System.arraycopy(other.gestureType, 0, this.gestureType, 0, gc);
+		System.arraycopy(other.gestureState, 0, this.gestureState, 0, gc);
+		System.arraycopy(other.gestureDuration, 0, this.gestureDuration, 0, gc);
+		this.gestureCount = gc;
+		return this;
+	}
+
+	/**
+	 * Empties this snapshot and marks it invalid. The backing arrays are kept for reuse.
+	 *
+	 * @return This {@link FrameSnapshot}.
+	 */
+	public FrameSnapshot clear() {
+		this.valid = false;
+		this.id = 0L;
+		this.timestamp = 0L;
+		this.currentFramesPerSecond = 0.0F;
+		this.handCount = 0;
+		this.fingerCount = 0;
+		this.toolCount = 0;
+		this.gestureCount = 0;
+		return this;
+	}
+
+	/*
+	 * Package-private mutators used by pure Java producers such as SimulatedFrameSource.
+	 * Call beginFrame first, then add entities; fingers must be added hand by hand.
+	 */
+
+	void beginFrame(long id, long timestamp, float currentFramesPerSecond) {
+		clear();
+		this.valid = true;
+		this.id = id;
+		this.timestamp = timestamp;
+		this.currentFramesPerSecond = currentFramesPerSecond;
+	}
+
+	int addHand(int id, boolean isLeft, float confidence, float grabStrength, float pinchStrength, float palmWidth,
+			MutableVector3f palmPosition, MutableVector3f palmVelocity, MutableVector3f palmNormal, MutableVector3f direction) {
+		int h = this.handCount;
+		ensureHandCapacity(h + 1);
+		this.handId[h] = id;
+		this.handIsLeft[h] = isLeft;
+		this.handConfidence[h] = confidence;
+		this.handGrabStrength[h] = grabStrength;
+		this.handPinchStrength[h] = pinchStrength;
+		this.handPalmWidth[h] = palmWidth;
+		palmPosition.get(this.handPalmPosition, h * 3);
+		palmVelocity.get(this.handPalmVelocity, h * 3);
+		palmNormal.get(this.handPalmNormal, h * 3);
+		direction.get(this.handDirection, h * 3);
+		this.armWidth[h] = 0.0F;
+		this.handCount = h + 1;
+		return h;
+	}
+
+	void setArm(int hand, float width, MutableVector3f elbowPosition, MutableVector3f wristPosition, MutableVector3f direction) {
+		this.armWidth[hand] = width;
+		elbowPosition.get(this.armElbowPosition, hand * 3);
+		wristPosition.get(this.armWristPosition, hand * 3);
+		direction.get(this.armDirection, hand * 3);
+	}
+
+	int addFinger(int id, int handIndex, Finger.Type type, boolean isExtended, float width, float length,
+			MutableVector3f tipPosition, MutableVector3f tipVelocity, MutableVector3f direction) {
+		int f = this.fingerCount;
+		ensureFingerCapacity(f + 1);
+		this.fingerId[f] = id;
+		this.fingerHandIndex[f] = handIndex;
+		this.fingerType[f] = type.swigValue();
+		this.fingerIsExtended[f] = isExtended;
+		this.fingerWidth[f] = width;
+		this.fingerLength[f] = length;
+		tipPosition.get(this.fingerTipPosition, f * 3);
+		tipVelocity.get(this.fingerTipVelocity, f * 3);
+		direction.get(this.fingerDirection, f * 3);
+		this.fingerCount = f + 1;
+		return f;
+	}
+
+	void setFingerTip(int finger, MutableVector3f tipPosition, MutableVector3f direction) {
+		tipPosition.get(this.fingerTipPosition, finger * 3);
+		direction.get(this.fingerDirection, finger * 3);
+	}
+
+	void setBone(int finger, int bone, MutableVector3f prevJoint, MutableVector3f nextJoint, float width) {
+		int index = finger * BONES_PER_FINGER + bone;
+		prevJoint.get(this.bonePrevJoint, index * 3);
+		nextJoint.get(this.boneNextJoint, index * 3);
+		this.boneWidth[index] = width;
+	}
+
+	int addGesture(int id, Gesture.Type type, Gesture.State state, long duration) {
+		int g = this.gestureCount;
+		ensureGestureCapacity(g + 1);
+		this.gestureId[g] = id;
+		this.gestureType[g] = type.swigValue();
+		this.gestureState[g] = state.swigValue();
+		this.gestureDuration[g] = duration;
+		this.gestureCount = g + 1;
+		return g;
+	}
+
+	void ensureHandCapacity(int count) {
+		if (this.handId.length >= count) {
+			return;
+		}
+		int n = Math.max(count, this.handId.length * 2);
+		this.handId = Arrays.copyOf(this.handId, n);
+		this.handIsLeft = Arrays.copyOf(this.handIsLeft, n);
+		this.handConfidence = Arrays.copyOf(this.handConfidence, n);
+		this.handGrabStrength = Arrays.copyOf(this.handGrabStrength, n);
+		this.handPinchStrength = Arrays.copyOf(this.handPinchStrength, n);
+		this.handPalmWidth = Arrays.copyOf(this.handPalmWidth, n);
+		this.handPalmPosition = Arrays.copyOf(this.handPalmPosition, n * 3);
+		this.handPalmVelocity = Arrays.copyOf(this.handPalmVelocity, n * 3);
+		this.handPalmNormal = Arrays.copyOf(this.handPalmNormal, n * 3);
+		this.handDirection = Arrays.copyOf(this.handDirection, n * 3);
+		this.armWidth = Arrays.copyOf(this.armWidth, n);
+		this.armElbowPosition = Arrays.copyOf(this.armElbowPosition, n * 3);
+		this.armWristPosition = Arrays.copyOf(this.armWristPosition, n * 3);
+		this.armDirection = Arrays.copyOf(this.armDirection, n * 3);
+	}
+
+	void ensureFingerCapacity(int count) {
+		if (this.fingerId.length >= count) {
+			return;
+		}
+		int n = Math.max(count, this.fingerId.length * 2);
+		this.fingerId = Arrays.copyOf(this.fingerId, n);
+		this.fingerHandIndex = Arrays.copyOf(this.fingerHandIndex, n);
+		this.fingerType = Arrays.copyOf(this.fingerType, n);
+		this.fingerIsExtended = Arrays.copyOf(this.fingerIsExtended, n);
+		this.fingerWidth = Arrays.copyOf(this.fingerWidth, n);
+		this.fingerLength = Arrays.copyOf(this.fingerLength, n);
+		this.fingerTipPosition = Arrays.copyOf(this.fingerTipPosition, n * 3);
+		this.fingerTipVelocity = Arrays.copyOf(this.fingerTipVelocity, n * 3);
+		this.fingerDirection = Arrays.copyOf(this.fingerDirection, n * 3);
+		this.bonePrevJoint = Arrays.copyOf(this.bonePrevJoint, n * BONES_PER_FINGER * 3);
+		this.boneNextJoint = Arrays.copyOf(this.boneNextJoint, n * BONES_PER_FINGER * 3);
+		this.boneWidth = Arrays.copyOf(this.boneWidth, n * BONES_PER_FINGER);
+	}
+
+	void ensureToolCapacity(int count) {
+		if (this.toolId.length >= count) {
+			return;
+		}
+		int n = Math.max(count, this.toolId.length * 2);
+		this.toolId = Arrays.copyOf(this.toolId, n);
+		this.toolHandId = Arrays.copyOf(this.toolHandId, n);
+		this.toolWidth = Arrays.copyOf(this.toolWidth, n);
+		this.toolLength = Arrays.copyOf(this.toolLength, n);
+		this.toolTipPosition = Arrays.copyOf(this.toolTipPosition, n * 3);
+		this.toolTipVelocity = Arrays.copyOf(this.toolTipVelocity, n * 3);
+		this.toolDirection = Arrays.copyOf(this.toolDirection, n * 3);
+	}
+
+	void ensureGestureCapacity(int count) {
+		if (this.gestureId.length >= count) {
+			return;
+		}
+		int n = Math.max(count, this.gestureId.length * 2);
+		this.gestureId = Arrays.copyOf(this.gestureId, n);
+		this.gestureType = Arrays.copyOf(this.gestureType, n);
+		this.gestureState = Arrays.copyOf(this.gestureState, n);
+		this.gestureDuration = Arrays.copyOf(this.gestureDuration, n);
+	}
+
+	/**
+	 * Reports whether the captured {@link Frame} was valid.
+	 *
+	 * @return True, if this snapshot holds the data of a valid frame.
+	 */
+	public boolean isValid() {
+		return this.valid;
+	}
+
+	/**
+	 * The {@link Frame#id()} of the captured frame.
+	 *
+	 * @return The frame ID.
+	 */
+	public long id() {
+		return this.id;
+	}
+
+	/**
+	 * The {@link Frame#timestamp()} of the captured frame.
+	 *
+	 * @return The timestamp in microseconds.
+	 */
+	public long timestamp() {
+		return this.timestamp;
+	}
+
+	/**
+	 * The {@link Frame#currentFramesPerSecond()} of the captured frame.
+	 *
+	 * @return The instantaneous framerate.
+	 */
+	public float currentFramesPerSecond() {
+		return this.currentFramesPerSecond;
+	}
+
+	/**
+	 * The number of hands in this snapshot.
+	 *
+	 * @return The number of hands.
+	 */
+	public int handCount() {
+		return this.handCount;
+	}
+
+	/**
+	 * Finds the index of the hand with the specified {@link Hand#id()}.
+	 *
+	 * @param id - The hand ID.
+	 *
+	 * @return The hand index, or -1 if no hand has that ID.
+	 */
+	public int handIndex(int id) {
+		for (int h = 0; h < this.handCount; h++) {
+			if (this.handId[h] == id) {
+				return h;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * The {@link Hand#id()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 *
+	 * @return The hand ID.
+	 */
+	public int handId(int hand) {
+		return this.handId[hand];
+	}
+
+	/**
+	 * The {@link Hand#isLeft()} value of a hand.
+	 *
+	 * @param hand - The hand index.
+	 *
+	 * @return True, if the hand is identified as a left hand.
+	 */
+	public boolean handIsLeft(int hand) {
+		return this.handIsLeft[hand];
+	}
+
+	/**
+	 * The {@link Hand#confidence()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 *
+	 * @return The confidence rating, from 0 to 1.
+	 */
+	public float handConfidence(int hand) {
+		return this.handConfidence[hand];
+	}
+
+	/**
+	 * The {@link Hand#grabStrength()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 *
+	 * @return The grab strength, from 0 to 1.
+	 */
+	public float handGrabStrength(int hand) {
+		return this.handGrabStrength[hand];
+	}
+
+	/**
+	 * The {@link Hand#pinchStrength()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 *
+	 * @return The pinch strength, from 0 to 1.
+	 */
+	public float handPinchStrength(int hand) {
+		return this.handPinchStrength[hand];
+	}
+
+	/**
+	 * The {@link Hand#palmWidth()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 *
+	 * @return The palm width in millimeters.
+	 */
+	public float handPalmWidth(int hand) {
+		return this.handPalmWidth[hand];
+	}
+
+	/**
+	 * The {@link Hand#palmPosition()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f handPalmPosition(int hand, MutableVector3f dst) {
+		return dst.set(this.handPalmPosition, hand * 3);
+	}
+
+	/**
+	 * The {@link Hand#palmVelocity()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f handPalmVelocity(int hand, MutableVector3f dst) {
+		return dst.set(this.handPalmVelocity, hand * 3);
+	}
+
+	/**
+	 * The {@link Hand#palmNormal()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f handPalmNormal(int hand, MutableVector3f dst) {
+		return dst.set(this.handPalmNormal, hand * 3);
+	}
+
+	/**
+	 * The {@link Hand#direction()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f handDirection(int hand, MutableVector3f dst) {
+		return dst.set(this.handDirection, hand * 3);
+	}
+
+	/**
+	 * The {@link Arm#width()} of the arm of a hand.
+	 *
+	 * @param hand - The hand index.
+	 *
+	 * @return The arm width in millimeters.
+	 */
+	public float armWidth(int hand) {
+		return this.armWidth[hand];
+	}
+
+	/**
+	 * The {@link Arm#elbowPosition()} of the arm of a hand.
+	 *
+	 * @param hand - The hand index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f armElbowPosition(int hand, MutableVector3f dst) {
+		return dst.set(this.armElbowPosition, hand * 3);
+	}
+
+	/**
+	 * The {@link Arm#wristPosition()} of the arm of a hand.
+	 *
+	 * @param hand - The hand index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f armWristPosition(int hand, MutableVector3f dst) {
+		return dst.set(this.armWristPosition, hand * 3);
+	}
+
+	/**
+	 * The {@link Arm#direction()} of the arm of a hand.
+	 *
+	 * @param hand - The hand index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f armDirection(int hand, MutableVector3f dst) {
+		return dst.set(this.armDirection, hand * 3);
+	}
+
+	/**
+	 * The number of fingers in this snapshot, over all hands.
+	 *
+	 * @return The number of fingers.
+	 */
+	public int fingerCount() {
+		return this.fingerCount;
+	}
+
+	/**
+	 * The {@link Pointable#id()} of a finger.
+	 *
+	 * @param finger - The finger index.
+	 *
+	 * @return The finger ID.
+	 */
+	public int fingerId(int finger) {
+		return this.fingerId[finger];
+	}
+
+	/**
+	 * The index of the hand a finger belongs to.
+	 *
+	 * @param finger - The finger index.
+	 *
+	 * @return The index of the hand, for use with the hand accessors.
+	 */
+	public int fingerHandIndex(int finger) {
+		return this.fingerHandIndex[finger];
+	}
+
+	/**
+	 * The {@link Finger#type()} of a finger.
+	 *
+	 * @param finger - The finger index.
+	 *
+	 * @return The finger type.
+	 */
+	public Finger.Type fingerType(int finger) {
+		return Finger.Type.swigToEnum(this.fingerType[finger]);
+	}
+
+	/**
+	 * The {@link Pointable#isExtended()} value of a finger.
+	 *
+	 * @param finger - The finger index.
+	 *
+	 * @return True, if the finger is extended.
+	 */
+	public boolean fingerIsExtended(int finger) {
+		return this.fingerIsExtended[finger];
+	}
+
+	/**
+	 * The {@link Pointable#width()} of a finger.
+	 *
+	 * @param finger - The finger index.
+	 *
+	 * @return The width in millimeters.
+	 */
+	public float fingerWidth(int finger) {
+		return this.fingerWidth[finger];
+	}
+
+	/**
+	 * The {@link Pointable#length()} of a finger.
+	 *
+	 * @param finger - The finger index.
+	 *
+	 * @return The visible length in millimeters.
+	 */
+	public float fingerLength(int finger) {
+		return this.fingerLength[finger];
+	}
+
+	/**
+	 * The {@link Pointable#tipPosition()} of a finger.
+	 *
+	 * @param finger - The finger index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f fingerTipPosition(int finger, MutableVector3f dst) {
+		return dst.set(this.fingerTipPosition, finger * 3);
+	}
+
+	/**
+	 * The {@link Pointable#tipVelocity()} of a finger.
+	 *
+	 * @param finger - The finger index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f fingerTipVelocity(int finger, MutableVector3f dst) {
+		return dst.set(this.fingerTipVelocity, finger * 3);
+	}
+
+	/**
+	 * The {@link Pointable#direction()} of a finger.
+	 *
+	 * @param finger - The finger index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f fingerDirection(int finger, MutableVector3f dst) {
+		return dst.set(this.fingerDirection, finger * 3);
+	}
+
+	/**
+	 * The {@link Bone#prevJoint()} of a bone of a finger.
+	 *
+	 * @param finger - The finger index.
+	 * @param type - The bone type.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f bonePrevJoint(int finger, Bone.Type type, MutableVector3f dst) {
+		return dst.set(this.bonePrevJoint, (finger * BONES_PER_FINGER + type.swigValue()) * 3);
+	}
+
+	/**
+	 * The {@link Bone#nextJoint()} of a bone of a finger.
+	 *
+	 * @param finger - The finger index.
+	 * @param type - The bone type.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f boneNextJoint(int finger, Bone.Type type, MutableVector3f dst) {
+		return dst.set(this.boneNextJoint, (finger * BONES_PER_FINGER + type.swigValue()) * 3);
+	}
+
+	/**
+	 * The {@link Bone#width()} of a bone of a finger.
+	 *
+	 * @param finger - The finger index.
+	 * @param type - The bone type.
+	 *
+	 * @return The bone width in millimeters.
+	 */
+	public float boneWidth(int finger, Bone.Type type) {
+		return this.boneWidth[finger * BONES_PER_FINGER + type.swigValue()];
+	}
+
+	/**
+	 * The number of tools in this snapshot.
+	 *
+	 * @return The number of tools.
+	 */
+	public int toolCount() {
+		return this.toolCount;
+	}
+
+	/**
+	 * The {@link Pointable#id()} of a tool.
+	 *
+	 * @param tool - The tool index.
+	 *
+	 * @return The tool ID.
+	 */
+	public int toolId(int tool) {
+		return this.toolId[tool];
+	}
+
+	/**
+	 * The {@link Hand#id()} of the hand holding a tool.
+	 *
+	 * @param tool - The tool index.
+	 *
+	 * @return The hand ID, or -1 if the tool is not associated with a tracked hand.
+	 */
+	public int toolHandId(int tool) {
+		return this.toolHandId[tool];
+	}
+
+	/**
+	 * The {@link Pointable#width()} of a tool.
+	 *
+	 * @param tool - The tool index.
+	 *
+	 * @return The width in millimeters.
+	 */
+	public float toolWidth(int tool) {
+		return this.toolWidth[tool];
+	}
+
+	/**
+	 * The {@link Pointable#length()} of a tool.
+	 *
+	 * @param tool - The tool index.
+	 *
+	 * @return The visible length in millimeters.
+	 */
+	public float toolLength(int tool) {
+		return this.toolLength[tool];
+	}
+
+	/**
+	 * The {@link Pointable#tipPosition()} of a tool.
+	 *
+	 * @param tool - The tool index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f toolTipPosition(int tool, MutableVector3f dst) {
+		return dst.set(this.toolTipPosition, tool * 3);
+	}
+
+	/**
+	 * The {@link Pointable#tipVelocity()} of a tool.
+	 *
+	 * @param tool - The tool index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f toolTipVelocity(int tool, MutableVector3f dst) {
+		return dst.set(this.toolTipVelocity, tool * 3);
+	}
+
+	/**
+	 * The {@link Pointable#direction()} of a tool.
+	 *
+	 * @param tool - The tool index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f toolDirection(int tool, MutableVector3f dst) {
+		return dst.set(this.toolDirection, tool * 3);
+	}
+
+	/**
+	 * The number of gestures in this snapshot.
+	 *
+	 * @return The number of gestures.
+	 */
+	public int gestureCount() {
+		return this.gestureCount;
+	}
+
+	/**
+	 * The {@link Gesture#id()} of a gesture.
+	 *
+	 * @param gesture - The gesture index.
+	 *
+	 * @return The gesture ID.
+	 */
+	public int gestureId(int gesture) {
+		return this.gestureId[gesture];
+	}
+
+	/**
+	 * The {@link Gesture#type()} of a gesture.
+	 *
+	 * @param gesture - The gesture index.
+	 *
+	 * @return The gesture type.
+	 */
+	public Gesture.Type gestureType(int gesture) {
+		return Gesture.Type.swigToEnum(this.gestureType[gesture]);
+	}
+
+	/**
+	 * The {@link Gesture#state()} of a gesture.
+	 *
+	 * @param gesture - The gesture index.
+	 *
+	 * @return The gesture state.
+	 */
+	public Gesture.State gestureState(int gesture) {
+		return Gesture.State.swigToEnum(this.gestureState[gesture]);
+	}
+
+	/**
+	 * The {@link Gesture#duration()} of a gesture.
+	 *
+	 * @param gesture - The gesture index.
+	 *
+	 * @return The elapsed duration in microseconds.
+	 */
+	public long gestureDuration(int gesture) {
+		return this.gestureDuration[gesture];
+	}
+
+	/**
+	 * The packed palm positions of all hands. Only the first {@code handCount() * 3} values are meaningful.<p>
+	 *
+	 * The returned array is the backing store of this snapshot and must not be modified.
+	 *
+	 * @return The packed palm positions.
+	 */
+	public float[] handPalmPositions() {
+		return this.handPalmPosition;
+	}
+
+	/**
+	 * The packed tip positions of all fingers. Only the first {@code fingerCount() * 3} values are meaningful.<p>
+	 *
+	 * The returned array is the backing store of this snapshot and must not be modified.
+	 *
+	 * @return The packed finger tip positions.
+	 */
+	public float[] fingerTipPositions() {
+		return this.fingerTipPosition;
+	}
+
+	/**
+	 * The packed previous joints of all bones. Only the first {@code fingerCount() * 4 * 3} values are meaningful.<p>
+	 *
+	 * The returned array is the backing store of this snapshot and must not be modified.
+	 *
+	 * @return The packed previous joint positions.
+	 */
+	public float[] bonePrevJoints() {
+		return this.bonePrevJoint;
+	}
+
+	/**
+	 * The packed next joints of all bones. Only the first {@code fingerCount() * 4 * 3} values are meaningful.<p>
+	 *
+	 * The returned array is the backing store of this snapshot and must not be modified.
+	 *
+	 * @return The packed next joint positions.
+	 */
+	public float[] boneNextJoints() {
+		return this.boneNextJoint;
+	}
+
+	/**
+	 * A string containing a brief, human readable description of the snapshot.
+	 *
+	 * @return A description of the {@link FrameSnapshot} as a string.
+	 */
+	public String toString() {
+		return "FrameSnapshot Id:" + this.id + " Timestamp:" + this.timestamp + " Hands:" + this.handCount
+				+ " Fingers:" + this.fingerCount + " Tools:" + this.toolCount + " Gestures:" + this.gestureCount;
+	}
+}
@@ -0,0 +1,19 @@
+package com.leapmotion.leap;
+
+/**
+ * The {@code FrameSnapshotHandler} interface receives the frames produced by a {@link FrameSource}.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public interface FrameSnapshotHandler {
+	/**
+	 * Called with each new frame, on the thread of the {@link FrameSource}.<p>
+	 *
+	 * The snapshot is reused for the next frame once this call returns.
+	 * Use {@link FrameSnapshot#set(FrameSnapshot)} to keep a copy.
+	 *
+	 * @param snapshot - The frame data.
+	 */
+	void onFrame(FrameSnapshot snapshot);
+}
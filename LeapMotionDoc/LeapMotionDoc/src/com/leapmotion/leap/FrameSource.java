@@ -0,0 +1,73 @@
+package com.leapmotion.leap;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The {@code FrameSource} class is the service provider interface for anything that produces
+ * tracking frames as {@link FrameSnapshot} objects.<p>
+ *
+ * Code written against a {@code FrameSource} does not depend on where frames come from.
+ * {@link ControllerFrameSource} delivers live frames from a connected device through the native library;
+ * {@link SimulatedFrameSource} generates synthetic hands in pure Java, so pipelines can be load tested
+ * and benchmarked on machines without a device or the native library:
+ *
+ * <blockquote><pre>
+ * FrameSource source = Leap.isNativeLibraryLoaded()
+ *     ? new ControllerFrameSource(new Controller())
+ *     : new SimulatedFrameSource(1000);
+ * source.addHandler(pipeline);
+ * source.start();
+ * </pre></blockquote>
+ *
+ * Subclasses call {@link FrameSource#dispatch(FrameSnapshot)} for every frame they produce.
+ * Handlers may be added and removed at any time from any thread.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public abstract class FrameSource {
+	private final CopyOnWriteArrayList<FrameSnapshotHandler> handlers = new CopyOnWriteArrayList<FrameSnapshotHandler>();
+
+	/**
+	 * Adds a handler that receives every subsequent frame.
+	 *
+	 * @param handler - The handler to add.
+	 *
+	 * @return True, if the handler was added; false if it was already registered.
+	 */
+	public boolean addHandler(FrameSnapshotHandler handler) {
+		return this.handlers.addIfAbsent(handler);
+	}
+
+	/**
+	 * Removes a handler.
+	 *
+	 * @param handler - The handler to remove.
+	 *
+	 * @return True, if the handler was registered.
+	 */
+	public boolean removeHandler(FrameSnapshotHandler handler) {
+		return this.handlers.remove(handler);
+	}
+
+	/**
+	 * Passes a frame to every registered handler, in registration order.
+	 *
+	 * @param snapshot - The frame to deliver.
+	 */
+	protected void dispatch(FrameSnapshot snapshot) {
+		for (FrameSnapshotHandler handler : this.handlers) {
+			handler.onFrame(snapshot);
+		}
+	}
+
+	/**
+	 * Starts producing frames.
+	 */
+	public abstract void start();
+
+	/**
+	 * Stops producing frames. A stopped source may be started again.
+	 */
+	public abstract void stop();
+}
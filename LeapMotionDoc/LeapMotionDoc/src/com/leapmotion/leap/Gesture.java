@@ -133,6 +133,9 @@ public class Gesture extends Interface {
 	{
 		super(LeapJNI.Gesture_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.GESTURE);
+		}
 	}
 
 	/**
@@ -373,15 +376,13 @@ public class Gesture extends Interface {
 		return paramGesture == null ? 0L : paramGesture.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_Gesture(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_Gesture(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -25,6 +25,9 @@ public class GestureList extends Interface implements Iterable<Gesture> {
 	{
 		super(LeapJNI.GestureList_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.GESTURE_LIST);
+		}
 	}
 
 	public Iterator<Gesture> iterator() { 
@@ -91,19 +94,38 @@ public class GestureList extends Interface implements Iterable<Gesture> {
 		return new GestureList(LeapJNI.GestureList_append(this.swigCPtr, this, getCPtr(other), other), false);
 	}
 
-	public static long getCPtr(GestureList paramGestureList) {
-		return paramGestureList == null ? 0L : paramGestureList.swigCPtr;
+	/**
+	 * Copies the members of this list into a new array.<p>
+	 * 
+	 * The list size is read once, so this makes one fewer native call per member
+	 * than calling {@link GestureList#count()} and {@link GestureList#get(int)} in a loop.
+	 * 
+	 * <blockquote><pre>
+	 * Gesture[] all = list.toArray();
+	 * </pre></blockquote>
+	 * 
+	 * @return An array of the {@link Gesture} objects in this list, in list order.
+	 */
+	public Gesture[] toArray() {
+		int count = count();
+		Gesture[] result = new Gesture[count];
+		for (int index = 0; index < count; index++) {
+			result[index] = get(index);
+		}
+		return result;
 	}
 
-	protected void finalize() {
-		delete();
+	public static long getCPtr(GestureList paramGestureList) {
+		return paramGestureList == null ? 0L : paramGestureList.swigCPtr;
 	}
 
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_GestureList(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_GestureList(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -114,9 +136,10 @@ public class GestureList extends Interface implements Iterable<Gesture> {
 		public GestureListIterator() {}
 
 		int index = 0;
+		final int count = GestureList.this.count();
 
 		public boolean hasNext() { 
-			return this.index < GestureList.this.count(); 
+			return this.index < this.count; 
 		}
 
 		public Gesture next() {
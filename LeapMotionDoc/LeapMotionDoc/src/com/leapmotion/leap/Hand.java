@@ -45,6 +45,9 @@ public class Hand extends Interface {
 	{
 		super(LeapJNI.Hand_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.HAND);
+		}
 	}
 
 	/**
@@ -725,15 +728,13 @@ public class Hand extends Interface {
 		return paramHand == null ? 0L : paramHand.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_Hand(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_Hand(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -29,6 +29,9 @@ public class HandList extends Interface implements Iterable<Hand> {
 	{
 		super(LeapJNI.HandList_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.HAND_LIST);
+		}
 	}
 
 	public Iterator<Hand> iterator() { 
@@ -141,19 +144,38 @@ public class HandList extends Interface implements Iterable<Hand> {
 		return new Hand(LeapJNI.HandList_frontmost(this.swigCPtr, this), true);
 	}
 
-	public static long getCPtr(HandList paramHandList) {
-		return paramHandList == null ? 0L : paramHandList.swigCPtr;
+	/**
+	 * Copies the members of this list into a new array.<p>
+	 * 
+	 * The list size is read once, so this makes one fewer native call per member
+	 * than calling {@link HandList#count()} and {@link HandList#get(int)} in a loop.
+	 * 
+	 * <blockquote><pre>
+	 * Hand[] all = list.toArray();
+	 * </pre></blockquote>
+	 * 
+	 * @return An array of the {@link Hand} objects in this list, in list order.
+	 */
+	public Hand[] toArray() {
+		int count = count();
+		Hand[] result = new Hand[count];
+		for (int index = 0; index < count; index++) {
+			result[index] = get(index);
+		}
+		return result;
 	}
 
-	protected void finalize() {
-		delete();
+	public static long getCPtr(HandList paramHandList) {
+		return paramHandList == null ? 0L : paramHandList.swigCPtr;
 	}
 
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_HandList(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_HandList(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -165,9 +187,10 @@ public class HandList extends Interface implements Iterable<Hand> {
 		public HandListIterator() {}
 
 		int index = 0;
+		final int count = HandList.this.count();
 
 		public boolean hasNext() { 
-			return this.index < HandList.this.count(); 
+			return this.index < this.count; 
 		}
 
 		public Hand next() {
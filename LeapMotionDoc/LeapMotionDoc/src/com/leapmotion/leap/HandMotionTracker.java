@@ -0,0 +1,624 @@
+package com.leapmotion.leap;
+
+/**
+ * The {@code HandMotionTracker} class follows the motion of each hand over a sliding window
+ * of frames and answers the same questions as {@link Hand#translation(Frame)},
+ * {@link Hand#rotationAngle(Frame)}, {@link Hand#rotationAxis(Frame)} and {@link Hand#scaleFactor(Frame)}
+ * without calling the native library.<p>
+ *
+ * The native functions need both frames to be alive in the Leap Motion service, and recompute
+ * the motion on every call. A tracker is fed {@link FrameSnapshot} objects, for example by a
+ * {@link FrameSource}, and stores a few numbers per hand and frame: the palm position, the palm
+ * orientation and the spread of the fingertips. Any query then compares the newest frame with the
+ * frame at or before a past time, so the cost does not depend on how far back it reaches:
+ *
+ * <blockquote><pre>
+ * HandMotionTracker motion = new HandMotionTracker(2.0, 120);
+ * source.addHandler(motion);
+ * // ...
+ * long now = motion.newestTimestamp();
+ * MutableVector3f moved = motion.translation(handId, now - 500000, new MutableVector3f());
+ * float turned = motion.rotationAngle(handId, now - 500000);
+ * </pre></blockquote>
+ *
+ * The frame for a past time is found from the average frame interval and corrected by stepping to
+ * its neighbors, which takes constant time while the frame rate is steady. If the hand was first
+ * seen after the requested time, motion is measured from the first frame it was seen in.
+ * Translation and rotation follow the palm; the scale factor follows the average distance of the
+ * fingertips from the palm, so results are close to, but not identical with, the native values.<p>
+ *
+ * The {@code frame} methods answer the questions of {@link Frame#translation(Frame)},
+ * {@link Frame#rotationAngle(Frame)}, {@link Frame#rotationAxis(Frame)}, {@link Frame#rotationMatrix(Frame)}
+ * and {@link Frame#scaleFactor(Frame)} for the motion of all tracked hands together: the average
+ * translation and rotation of the hands, and the change in the distance between them. With one hand
+ * in view they equal the motion of that hand. Tools are not followed.<p>
+ *
+ * A {@code HandMotionTracker} is not thread safe. Add frames to and query it on one thread.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class HandMotionTracker implements FrameSnapshotHandler {
+	private static final int MAX_HANDS = 4;
+
+	private final Track[] tracks = new Track[MAX_HANDS];
+	private final long windowMicros;
+	private final MutableVector3f position = new MutableVector3f();
+	private final MutableVector3f normal = new MutableVector3f();
+	private final MutableVector3f direction = new MutableVector3f();
+	private final MutableVector3f tip = new MutableVector3f();
+	private final float[] delta = new float[4];
+	private final float[] handDelta = new float[4];
+	private long newestTimestamp;
+
+	/**
+	 * Constructs a tracker that remembers the motion of the last {@code seconds}.
+	 *
+	 * @param seconds - The length of the window.
+	 * @param maxFramesPerSecond - The highest expected frame rate, used to size the buffers.
+	 * At higher rates the window covers less time.
+	 */
+	public HandMotionTracker(double seconds, float maxFramesPerSecond) {
+		int capacity = (int)Math.ceil(seconds * maxFramesPerSecond) + 1;
+		if (capacity <= 1) {
+			throw new IllegalArgumentException("Window too short: " + seconds + " s at " + maxFramesPerSecond + " fps");
+		}
+		for (int i = 0; i < MAX_HANDS; i++) {
+			this.tracks[i] = new Track(capacity);
+		}
+		this.windowMicros = (long)(seconds * 1e6);
+	}
+
+	public void onFrame(FrameSnapshot snapshot) {
+		add(snapshot);
+	}
+
+	/**
+	 * Adds the hands of the newest frame.
+	 *
+	 * @param snapshot - The newest frame. Invalid snapshots are ignored.
+	 */
+	public void add(FrameSnapshot snapshot) {
+		if (!snapshot.isValid()) {
+			return;
+		}
+		long timestamp = snapshot.timestamp();
+		if (timestamp < this.newestTimestamp) {
+			clear();
+		}
+		this.newestTimestamp = timestamp;
+		for (int i = 0; i < MAX_HANDS; i++) {
+			Track track = this.tracks[i];
+			if (track.handId != -1 && snapshot.handIndex(track.handId) < 0) {
+				track.reset();
+			}
+		}
+		for (int h = 0; h < snapshot.handCount(); h++) {
+			Track track = track(snapshot.handId(h));
+			if (track == null) {
+				track = track(-1);
+				if (track == null) {
+					continue;
+				}
+				track.handId = snapshot.handId(h);
+			}
+			snapshot.handPalmPosition(h, this.position);
+			snapshot.handPalmNormal(h, this.normal);
+			snapshot.handDirection(h, this.direction);
+			track.append(timestamp, this.position, this.normal, this.direction, spread(snapshot, h), this.windowMicros);
+		}
+	}
+
+	private float spread(FrameSnapshot snapshot, int hand) {
+		float sum = 0.0F;
+		int count = 0;
+		for (int f = 0; f < snapshot.fingerCount(); f++) {
+			if (snapshot.fingerHandIndex(f) == hand) {
+				sum += snapshot.fingerTipPosition(f, this.tip).distanceTo(this.position);
+				count++;
+			}
+		}
+		return count == 0 ? snapshot.handPalmWidth(hand) : sum / count;
+	}
+
+	private Track track(int handId) {
+		for (int i = 0; i < MAX_HANDS; i++) {
+			if (this.tracks[i].handId == handId) {
+				return this.tracks[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Forgets all hands.
+	 */
+	public void clear() {
+		for (int i = 0; i < MAX_HANDS; i++) {
+			this.tracks[i].reset();
+		}
+		this.newestTimestamp = 0L;
+	}
+
+	/**
+	 * The {@link Frame#timestamp()} of the newest frame added.
+	 *
+	 * @return The timestamp in microseconds, or zero if no frame has been added.
+	 */
+	public long newestTimestamp() {
+		return this.newestTimestamp;
+	}
+
+	/**
+	 * Whether the hand with the specified ID is in the newest frame.
+	 *
+	 * @param handId - A {@link Hand#id()} value.
+	 *
+	 * @return True, if the hand is being tracked.
+	 */
+	public boolean isTracking(int handId) {
+		return tracked(handId) != null;
+	}
+
+	private Track tracked(int handId) {
+		return handId == -1 ? null : track(handId);
+	}
+
+	/**
+	 * The time for which the motion of a hand is known.
+	 *
+	 * @param handId - A {@link Hand#id()} value.
+	 *
+	 * @return The time since the oldest frame remembered for the hand, in microseconds.
+	 */
+	public long trackedMicros(int handId) {
+		Track track = tracked(handId);
+		return track == null ? 0L : track.timestamp(0) - track.timestamp(track.size - 1);
+	}
+
+	/**
+	 * The change of position of a hand between the specified time and the newest frame.
+	 *
+	 * @param handId - A {@link Hand#id()} value.
+	 * @param sinceTimestamp - A past {@link Frame#timestamp()} value in microseconds.
+	 * @param dst - Receives the translation in millimeters; set to zero if the hand is not tracked.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f translation(int handId, long sinceTimestamp, MutableVector3f dst) {
+		Track track = tracked(handId);
+		if (track == null) {
+			return dst.set(0.0F, 0.0F, 0.0F);
+		}
+		int now = track.slot(0);
+		int then = track.slot(track.ageAt(sinceTimestamp));
+		float[] p = track.positions;
+		return dst.set(p[now * 3] - p[then * 3], p[now * 3 + 1] - p[then * 3 + 1], p[now * 3 + 2] - p[then * 3 + 2]);
+	}
+
+	/**
+	 * The angle a hand has rotated by between the specified time and the newest frame.
+	 *
+	 * @param handId - A {@link Hand#id()} value.
+	 * @param sinceTimestamp - A past {@link Frame#timestamp()} value in microseconds.
+	 *
+	 * @return A positive angle in radians, or zero if the hand is not tracked.
+	 */
+	public float rotationAngle(int handId, long sinceTimestamp) {
+		return rotation(handId, sinceTimestamp) ? angle() : 0.0F;
+	}
+
+	/**
+	 * The angle a hand has rotated by around the specified axis between the specified time
+	 * and the newest frame.
+	 *
+	 * @param handId - A {@link Hand#id()} value.
+	 * @param sinceTimestamp - A past {@link Frame#timestamp()} value in microseconds.
+	 * @param axis - A unit vector.
+	 *
+	 * @return The signed angle in radians, or zero if the hand is not tracked.
+	 */
+	public float rotationAngle(int handId, long sinceTimestamp, MutableVector3f axis) {
+		return rotation(handId, sinceTimestamp) ? angle(axis) : 0.0F;
+	}
+
+	/**
+	 * The axis a hand has rotated around between the specified time and the newest frame.
+	 *
+	 * @param handId - A {@link Hand#id()} value.
+	 * @param sinceTimestamp - A past {@link Frame#timestamp()} value in microseconds.
+	 * @param dst - Receives the unit axis; set to zero if the hand is not tracked or has not rotated.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f rotationAxis(int handId, long sinceTimestamp, MutableVector3f dst) {
+		return axis(rotation(handId, sinceTimestamp), dst);
+	}
+
+	/**
+	 * The rotation of a hand between the specified time and the newest frame, as a matrix.
+	 *
+	 * @param handId - A {@link Hand#id()} value.
+	 * @param sinceTimestamp - A past {@link Frame#timestamp()} value in microseconds.
+	 * @param dst - Receives the nine elements of the 3x3 rotation matrix, row by row;
+	 * set to the identity if the hand is not tracked.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public float[] rotationMatrix(int handId, long sinceTimestamp, float[] dst) {
+		return matrix(rotation(handId, sinceTimestamp), dst);
+	}
+
+	/**
+	 * The factor by which a hand has opened or closed between the specified time and the newest frame.
+	 *
+	 * @param handId - A {@link Hand#id()} value.
+	 * @param sinceTimestamp - A past {@link Frame#timestamp()} value in microseconds.
+	 *
+	 * @return A factor above 1 if the fingers spread out, below 1 if they closed in,
+	 * or 1 if the hand is not tracked.
+	 */
+	public float scaleFactor(int handId, long sinceTimestamp) {
+		Track track = tracked(handId);
+		return track == null ? 1.0F : scaleFactor(track, sinceTimestamp);
+	}
+
+	private static float scaleFactor(Track track, long sinceTimestamp) {
+		float then = track.spreads[track.slot(track.ageAt(sinceTimestamp))];
+		return then > 0.0F ? track.spreads[track.slot(0)] / then : 1.0F;
+	}
+
+	/**
+	 * The average change of position of all tracked hands between the specified time and the newest frame.
+	 *
+	 * @param sinceTimestamp - A past {@link Frame#timestamp()} value in microseconds.
+	 * @param dst - Receives the translation in millimeters; set to zero if no hand is tracked.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f frameTranslation(long sinceTimestamp, MutableVector3f dst) {
+		float x = 0.0F, y = 0.0F, z = 0.0F;
+		int count = 0;
+		for (int i = 0; i < MAX_HANDS; i++) {
+			Track track = this.tracks[i];
+			if (track.handId != -1) {
+				int now = track.slot(0) * 3;
+				int then = track.slot(track.ageAt(sinceTimestamp)) * 3;
+				float[] p = track.positions;
+				x += p[now] - p[then];
+				y += p[now + 1] - p[then + 1];
+				z += p[now + 2] - p[then + 2];
+				count++;
+			}
+		}
+		return count == 0 ? dst.set(0.0F, 0.0F, 0.0F) : dst.set(x / count, y / count, z / count);
+	}
+
+	/**
+	 * The angle all tracked hands have rotated by, on average, between the specified time and the newest frame.
+	 *
+	 * @param sinceTimestamp - A past {@link Frame#timestamp()} value in microseconds.
+	 *
+	 * @return A positive angle in radians, or zero if no hand is tracked.
+	 */
+	public float frameRotationAngle(long sinceTimestamp) {
+		return frameRotation(sinceTimestamp) ? angle() : 0.0F;
+	}
+
+	/**
+	 * The angle all tracked hands have rotated by, on average, around the specified axis between the
+	 * specified time and the newest frame.
+	 *
+	 * @param sinceTimestamp - A past {@link Frame#timestamp()} value in microseconds.
+	 * @param axis - A unit vector.
+	 *
+	 * @return The signed angle in radians, or zero if no hand is tracked.
+	 */
+	public float frameRotationAngle(long sinceTimestamp, MutableVector3f axis) {
+		return frameRotation(sinceTimestamp) ? angle(axis) : 0.0F;
+	}
+
+	/**
+	 * The axis of the average rotation of all tracked hands between the specified time and the newest frame.
+	 *
+	 * @param sinceTimestamp - A past {@link Frame#timestamp()} value in microseconds.
+	 * @param dst - Receives the unit axis; set to zero if no hand is tracked or the hands have not rotated.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f frameRotationAxis(long sinceTimestamp, MutableVector3f dst) {
+		return axis(frameRotation(sinceTimestamp), dst);
+	}
+
+	/**
+	 * The average rotation of all tracked hands between the specified time and the newest frame, as a matrix.
+	 *
+	 * @param sinceTimestamp - A past {@link Frame#timestamp()} value in microseconds.
+	 * @param dst - Receives the nine elements of the 3x3 rotation matrix, row by row;
+	 * set to the identity if no hand is tracked.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public float[] frameRotationMatrix(long sinceTimestamp, float[] dst) {
+		return matrix(frameRotation(sinceTimestamp), dst);
+	}
+
+	/**
+	 * The factor by which the tracked hands have moved apart or together between the specified time and
+	 * the newest frame. With a single hand, this is the {@link HandMotionTracker#scaleFactor(int, long)} of that hand.
+	 *
+	 * @param sinceTimestamp - A past {@link Frame#timestamp()} value in microseconds.
+	 *
+	 * @return A factor above 1 if the hands moved apart, below 1 if they moved together,
+	 * or 1 if no hand is tracked.
+	 */
+	public float frameScaleFactor(long sinceTimestamp) {
+		float cx = 0.0F, cy = 0.0F, cz = 0.0F, px = 0.0F, py = 0.0F, pz = 0.0F;
+		int count = 0;
+		Track single = null;
+		for (int i = 0; i < MAX_HANDS; i++) {
+			Track track = this.tracks[i];
+			if (track.handId != -1) {
+				int now = track.slot(0) * 3;
+				int then = track.slot(track.ageAt(sinceTimestamp)) * 3;
+				float[] p = track.positions;
+				cx += p[now]; cy += p[now + 1]; cz += p[now + 2];
+				px += p[then]; py += p[then + 1]; pz += p[then + 2];
+				single = track;
+				count++;
+			}
+		}
+		if (count < 2) {
+			return single == null ? 1.0F : scaleFactor(single, sinceTimestamp);
+		}
+		cx /= count; cy /= count; cz /= count;
+		px /= count; py /= count; pz /= count;
+		// Compare the mean distance of the palms from their centroid now and then.
+		float spreadNow = 0.0F;
+		float spreadThen = 0.0F;
+		for (int i = 0; i < MAX_HANDS; i++) {
+			Track track = this.tracks[i];
+			if (track.handId != -1) {
+				int now = track.slot(0) * 3;
+				int then = track.slot(track.ageAt(sinceTimestamp)) * 3;
+				float[] p = track.positions;
+				spreadNow += distance(p, now, cx, cy, cz);
+				spreadThen += distance(p, then, px, py, pz);
+			}
+		}
+		return spreadThen > 0.0F ? spreadNow / spreadThen : 1.0F;
+	}
+
+	private static float distance(float[] p, int offset, float x, float y, float z) {
+		float dx = p[offset] - x, dy = p[offset + 1] - y, dz = p[offset + 2] - z;
+		return (float)Math.sqrt(dx * dx + dy * dy + dz * dz);
+	}
+
+	private boolean rotation(int handId, long sinceTimestamp) {
+		Track track = tracked(handId);
+		if (track == null) {
+			return false;
+		}
+		rotation(track, sinceTimestamp, this.delta);
+		return true;
+	}
+
+	// Averages the rotations of the tracked hands into delta; quaternions on the far hemisphere
+	// of the first one are negated first, since q and -q are the same rotation.
+	private boolean frameRotation(long sinceTimestamp) {
+		float x = 0.0F, y = 0.0F, z = 0.0F, w = 0.0F;
+		boolean any = false;
+		float[] q = this.handDelta;
+		for (int i = 0; i < MAX_HANDS; i++) {
+			Track track = this.tracks[i];
+			if (track.handId != -1) {
+				rotation(track, sinceTimestamp, q);
+				float sign = any && x * q[0] + y * q[1] + z * q[2] + w * q[3] < 0.0F ? -1.0F : 1.0F;
+				x += q[0] * sign;
+				y += q[1] * sign;
+				z += q[2] * sign;
+				w += q[3] * sign;
+				any = true;
+			}
+		}
+		if (!any) {
+			return false;
+		}
+		float length = (float)Math.sqrt(x * x + y * y + z * z + w * w);
+		this.delta[0] = x / length;
+		this.delta[1] = y / length;
+		this.delta[2] = z / length;
+		this.delta[3] = w / length;
+		return true;
+	}
+
+	private float angle() {
+		float sin = (float)Math.sqrt(this.delta[0] * this.delta[0] + this.delta[1] * this.delta[1] + this.delta[2] * this.delta[2]);
+		return 2.0F * (float)Math.atan2(sin, this.delta[3]);
+	}
+
+	private float angle(MutableVector3f axis) {
+		float sin = this.delta[0] * axis.x + this.delta[1] * axis.y + this.delta[2] * axis.z;
+		return 2.0F * (float)Math.atan2(sin, this.delta[3]);
+	}
+
+	private MutableVector3f axis(boolean rotated, MutableVector3f dst) {
+		dst.set(0.0F, 0.0F, 0.0F);
+		if (rotated) {
+			dst.set(this.delta[0], this.delta[1], this.delta[2]);
+			if (dst.magnitudeSquared() > 1e-12F) {
+				dst.normalizeInPlace();
+			}
+		}
+		return dst;
+	}
+
+	private float[] matrix(boolean rotated, float[] dst) {
+		if (!rotated) {
+			this.delta[0] = this.delta[1] = this.delta[2] = 0.0F;
+			this.delta[3] = 1.0F;
+		}
+		float x = this.delta[0];
+		float y = this.delta[1];
+		float z = this.delta[2];
+		float w = this.delta[3];
+		dst[0] = 1.0F - 2.0F * (y * y + z * z);
+		dst[1] = 2.0F * (x * y - z * w);
+		dst[2] = 2.0F * (x * z + y * w);
+		dst[3] = 2.0F * (x * y + z * w);
+		dst[4] = 1.0F - 2.0F * (x * x + z * z);
+		dst[5] = 2.0F * (y * z - x * w);
+		dst[6] = 2.0F * (x * z - y * w);
+		dst[7] = 2.0F * (y * z + x * w);
+		dst[8] = 1.0F - 2.0F * (x * x + y * y);
+		return dst;
+	}
+
+	// Stores the quaternion taking the orientation at sinceTimestamp to the newest one in dst,
+	// with a non-negative scalar part so the angle is the shortest one.
+	private static void rotation(Track track, long sinceTimestamp, float[] dst) {
+		float[] q = track.orientations;
+		int a = track.slot(0) * 4;
+		int b = track.slot(track.ageAt(sinceTimestamp)) * 4;
+		// now * conjugate(then)
+		float ax = q[a], ay = q[a + 1], az = q[a + 2], aw = q[a + 3];
+		float bx = -q[b], by = -q[b + 1], bz = -q[b + 2], bw = q[b + 3];
+		float x = aw * bx + ax * bw + ay * bz - az * by;
+		float y = aw * by - ax * bz + ay * bw + az * bx;
+		float z = aw * bz + ax * by - ay * bx + az * bw;
+		float w = aw * bw - ax * bx - ay * by - az * bz;
+		float sign = w < 0.0F ? -1.0F : 1.0F;
+		dst[0] = x * sign;
+		dst[1] = y * sign;
+		dst[2] = z * sign;
+		dst[3] = w * sign;
+	}
+
+	/**
+	 * The frames of one hand, newest last, in parallel arrays used as a ring.
+	 */
+	private static final class Track {
+		final long[] timestamps;
+		final float[] positions;
+		final float[] orientations;
+		final float[] spreads;
+		int handId = -1;
+		long added;
+		int size;
+
+		Track(int capacity) {
+			this.timestamps = new long[capacity];
+			this.positions = new float[capacity * 3];
+			this.orientations = new float[capacity * 4];
+			this.spreads = new float[capacity];
+		}
+
+		void reset() {
+			this.handId = -1;
+			this.added = 0L;
+			this.size = 0;
+		}
+
+		int slot(int age) {
+			return (int)((this.added - 1 - age) % this.timestamps.length);
+		}
+
+		long timestamp(int age) {
+			return this.timestamps[slot(age)];
+		}
+
+		void append(long timestamp, MutableVector3f position, MutableVector3f normal, MutableVector3f direction, float spread, long windowMicros) {
+			int slot = (int)(this.added % this.timestamps.length);
+			this.timestamps[slot] = timestamp;
+			position.get(this.positions, slot * 3);
+			orientation(normal, direction, this.orientations, slot * 4);
+			this.spreads[slot] = spread;
+			this.added++;
+			this.size = Math.min(this.size + 1, this.timestamps.length);
+			long oldest = timestamp - windowMicros;
+			while (this.size > 1 && timestamp(this.size - 1) < oldest) {
+				this.size--;
+			}
+		}
+
+		/**
+		 * The age of the newest frame at or before the specified time, or of the oldest frame.
+		 */
+		int ageAt(long timestamp) {
+			int last = this.size - 1;
+			long newest = timestamp(0);
+			if (last == 0 || timestamp >= newest) {
+				return 0;
+			}
+			long interval = Math.max((newest - timestamp(last)) / last, 1L);
+			int age = (int)Math.min((newest - timestamp) / interval, last);
+			while (age < last && timestamp(age) > timestamp) {
+				age++;
+			}
+			while (age > 0 && timestamp(age - 1) <= timestamp) {
+				age--;
+			}
+			return age;
+		}
+
+		/**
+		 * Writes the unit quaternion (x, y, z, w) of the palm basis, the one {@link Hand#basis()}
+		 * uses up to handedness: y opposite the palm normal and z opposite the hand direction.
+		 */
+		static void orientation(MutableVector3f normal, MutableVector3f direction, float[] dst, int offset) {
+			float zx = -direction.x, zy = -direction.y, zz = -direction.z;
+			float zl = (float)Math.sqrt(zx * zx + zy * zy + zz * zz);
+			if (zl < 1e-6F) {
+				dst[offset] = dst[offset + 1] = dst[offset + 2] = 0.0F;
+				dst[offset + 3] = 1.0F;
+				return;
+			}
+			zx /= zl; zy /= zl; zz /= zl;
+			// Remove the part of the normal along z so the basis stays orthonormal.
+			float d = -(normal.x * zx + normal.y * zy + normal.z * zz);
+			float yx = -normal.x - d * zx, yy = -normal.y - d * zy, yz = -normal.z - d * zz;
+			float yl = (float)Math.sqrt(yx * yx + yy * yy + yz * yz);
+			if (yl < 1e-6F) {
+				yx = 0.0F; yy = zz; yz = -zy;
+				yl = (float)Math.sqrt(yy * yy + yz * yz);
+				if (yl < 1e-6F) {
+					yx = 1.0F; yy = 0.0F; yz = 0.0F; yl = 1.0F;
+				}
+			}
+			yx /= yl; yy /= yl; yz /= yl;
+			float xx = yy * zz - yz * zy, xy = yz * zx - yx * zz, xz = yx * zy - yy * zx;
+			// Columns x, y, z form the rotation matrix m.
+			float trace = xx + yy + zz;
+			float qx, qy, qz, qw;
+			if (trace > 0.0F) {
+				float s = (float)Math.sqrt(trace + 1.0F) * 2.0F;
+				qw = 0.25F * s;
+				qx = (yz - zy) / s;
+				qy = (zx - xz) / s;
+				qz = (xy - yx) / s;
+			} else if (xx > yy && xx > zz) {
+				float s = (float)Math.sqrt(1.0F + xx - yy - zz) * 2.0F;
+				qw = (yz - zy) / s;
+				qx = 0.25F * s;
+				qy = (yx + xy) / s;
+				qz = (zx + xz) / s;
+			} else if (yy > zz) {
+				float s = (float)Math.sqrt(1.0F + yy - xx - zz) * 2.0F;
+				qw = (zx - xz) / s;
+				qx = (yx + xy) / s;
+				qy = 0.25F * s;
+				qz = (zy + yz) / s;
+			} else {
+				float s = (float)Math.sqrt(1.0F + zz - xx - yy) * 2.0F;
+				qw = (xy - yx) / s;
+				qx = (zx + xz) / s;
+				qy = (zy + yz) / s;
+				qz = 0.25F * s;
+			}
+			dst[offset] = qx;
+			dst[offset + 1] = qy;
+			dst[offset + 2] = qz;
+			dst[offset + 3] = qw;
+		}
+	}
+}
@@ -1,5 +1,9 @@
 package com.leapmotion.leap;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
 /**
  * The Image class represents a single image from one of the Leap Motion cameras.<p>
  * 
@@ -40,6 +44,9 @@ package com.leapmotion.leap;
  * @author Leap Motion Inc
  */
 public class Image extends Interface {
+	private static final ThreadLocal<byte[]> DATA_SCRATCH = new ThreadLocal<byte[]>();
+	private static final ThreadLocal<float[]> DISTORTION_SCRATCH = new ThreadLocal<float[]>();
+
 	private long swigCPtr;
 
 	/**
@@ -56,6 +63,9 @@ public class Image extends Interface {
 	{
 		super(LeapJNI.Image_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.IMAGE);
+		}
 	}
 
 	/**
@@ -144,6 +154,79 @@ public class Image extends Interface {
 		LeapJNI.Image_distortion(this.swigCPtr, this, paramArrayOfFloat);
 	}
 
+	/**
+	 * Copies the image data into the remaining space of a {@link ByteBuffer}.<p>
+	 * 
+	 * The {@link Image#width()} * {@link Image#height()} * {@link Image#bytesPerPixel()} bytes are written 
+	 * at the buffer's position, which is then advanced past them. Heap buffers whose content starts at index 0 
+	 * of their backing array are written directly; other buffers, including direct buffers, are filled from a 
+	 * scratch array that is reused by the calling thread, so repeated calls do not allocate. 
+	 * Together with an {@link ImageBufferPool}, images can be streamed at full rate without creating garbage.
+	 * 
+	 * <blockquote><pre>
+	 * ByteBuffer pixels = pool.data(image);
+	 * texture.upload(pixels);
+	 * pool.release(pixels);
+	 * </pre></blockquote>
+	 * 
+	 * @param dst - The buffer to write to.
+	 * 
+	 * @throws BufferOverflowException if {@code dst} has less room than the image data.
+	 */
+	public void data(ByteBuffer dst) {
+		int size = width() * height() * bytesPerPixel();
+		if (dst.remaining() < size) {
+			throw new BufferOverflowException();
+		}
+		if (dst.hasArray() && dst.arrayOffset() + dst.position() == 0 && dst.array().length == size) {
+			LeapJNI.Image_data(this.swigCPtr, this, dst.array());
+			dst.position(size);
+		} else {
+			byte[] scratch = DATA_SCRATCH.get();
+			if (scratch == null || scratch.length != size) {
+				scratch = new byte[size];
+				DATA_SCRATCH.set(scratch);
+			}
+			LeapJNI.Image_data(this.swigCPtr, this, scratch);
+			dst.put(scratch);
+		}
+	}
+
+	/**
+	 * Copies the distortion calibration map into the remaining space of a {@link FloatBuffer}.<p>
+	 * 
+	 * The {@link Image#distortionWidth()} * {@link Image#distortionHeight()} values are written 
+	 * at the buffer's position, which is then advanced past them. As with {@link Image#data(ByteBuffer)}, 
+	 * repeated calls do not allocate. The map only changes when the device is recalibrated, so it is 
+	 * usually enough to copy it once per camera.
+	 * 
+	 * <blockquote><pre>
+	 * FloatBuffer map = pool.distortion(image);
+	 * </pre></blockquote>
+	 * 
+	 * @param dst - The buffer to write to.
+	 * 
+	 * @throws BufferOverflowException if {@code dst} has less room than the map.
+	 */
+	public void distortion(FloatBuffer dst) {
+		int size = distortionWidth() * distortionHeight();
+		if (dst.remaining() < size) {
+			throw new BufferOverflowException();
+		}
+		if (dst.hasArray() && dst.arrayOffset() + dst.position() == 0 && dst.array().length == size) {
+			LeapJNI.Image_distortion(this.swigCPtr, this, dst.array());
+			dst.position(size);
+		} else {
+			float[] scratch = DISTORTION_SCRATCH.get();
+			if (scratch == null || scratch.length != size) {
+				scratch = new float[size];
+				DISTORTION_SCRATCH.set(scratch);
+			}
+			LeapJNI.Image_distortion(this.swigCPtr, this, scratch);
+			dst.put(scratch);
+		}
+	}
+
 	/**
 	 * The image width.
 	 * 
@@ -410,15 +493,13 @@ public class Image extends Interface {
 		return paramImage == null ? 0L : paramImage.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_Image(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_Image(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -0,0 +1,193 @@
+package com.leapmotion.leap;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code ImageBufferPool} class recycles direct buffers used to hold camera images
+ * and distortion maps.<p>
+ *
+ * {@link Image#data()} and {@link Image#distortion()} allocate a new array on every call;
+ * with {@link Controller.PolicyFlag#POLICY_IMAGES} set, two cameras deliver several megabytes
+ * of images per second. With a pool, images are copied into reusable direct buffers with
+ * {@link ImageBufferPool#data(Image)}, handed to the code that displays or processes them,
+ * and returned with {@link ImageBufferPool#release(ByteBuffer)}:
+ *
+ * <blockquote><pre>
+ * ImageBufferPool pool = new ImageBufferPool(8);
+ *
+ * public void onImages(Controller controller) {
+ *     for (Image image : controller.images()) {
+ *         ByteBuffer pixels = pool.data(image);
+ *         renderQueue.offer(pixels); // the renderer calls pool.release(pixels) when done
+ *     }
+ * }
+ * </pre></blockquote>
+ *
+ * Direct buffers can be passed to OpenGL and other native code without a further copy.
+ * Once enough buffers are in circulation, no further buffers are allocated.
+ * An {@code ImageBufferPool} may be used from several threads at once.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class ImageBufferPool {
+	private final Lane<ByteBuffer> bytes;
+	private final Lane<FloatBuffer> floats;
+
+	/**
+	 * Constructs an empty pool.
+	 *
+	 * @param maxPooled - The maximum number of idle buffers of each kind kept for reuse.
+	 */
+	public ImageBufferPool(int maxPooled) {
+		this.bytes = new Lane<ByteBuffer>(maxPooled) {
+			ByteBuffer allocate(int capacity) {
+				return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+			}
+		};
+		this.floats = new Lane<FloatBuffer>(maxPooled) {
+			FloatBuffer allocate(int capacity) {
+				return ByteBuffer.allocateDirect(capacity * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+			}
+		};
+	}
+
+	/**
+	 * Takes a cleared byte buffer with at least the specified capacity from the pool,
+	 * allocating a new direct buffer if none is available.
+	 *
+	 * @param minCapacity - The required capacity in bytes.
+	 *
+	 * @return A buffer in native byte order, with position zero and limit equal to its capacity.
+	 */
+	public ByteBuffer acquire(int minCapacity) {
+		return this.bytes.acquire(minCapacity);
+	}
+
+	/**
+	 * Takes a cleared float buffer with at least the specified capacity from the pool,
+	 * allocating a new direct buffer if none is available.
+	 *
+	 * @param minCapacity - The required capacity in floats.
+	 *
+	 * @return A buffer in native byte order, with position zero and limit equal to its capacity.
+	 */
+	public FloatBuffer acquireFloats(int minCapacity) {
+		return this.floats.acquire(minCapacity);
+	}
+
+	/**
+	 * Copies the data of an image into a pooled buffer.
+	 *
+	 * @param image - The image to copy.
+	 *
+	 * @return A buffer whose position is zero and whose limit is the length of the image data.
+	 */
+	public ByteBuffer data(Image image) {
+		ByteBuffer buffer = acquire(image.width() * image.height() * image.bytesPerPixel());
+		image.data(buffer);
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Copies the distortion calibration map of an image into a pooled buffer.
+	 *
+	 * @param image - The image whose map to copy.
+	 *
+	 * @return A buffer whose position is zero and whose limit is the number of values in the map.
+	 */
+	public FloatBuffer distortion(Image image) {
+		FloatBuffer buffer = acquireFloats(image.distortionWidth() * image.distortionHeight());
+		image.distortion(buffer);
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Returns a byte buffer to the pool. The buffer must not be used after it has been released.
+	 *
+	 * @param buffer - A buffer obtained from this pool.
+	 */
+	public void release(ByteBuffer buffer) {
+		this.bytes.release(buffer);
+	}
+
+	/**
+	 * Returns a float buffer to the pool. The buffer must not be used after it has been released.
+	 *
+	 * @param buffer - A buffer obtained from this pool.
+	 */
+	public void release(FloatBuffer buffer) {
+		this.floats.release(buffer);
+	}
+
+	/**
+	 * The number of idle buffers currently held by the pool.
+	 *
+	 * @return The number of idle byte and float buffers.
+	 */
+	public int freeCount() {
+		return this.bytes.freeCount.get() + this.floats.freeCount.get();
+	}
+
+	/**
+	 * The total number of buffers this pool has allocated since it was created.
+	 * A value that stops increasing shows that the pool has reached a steady state.
+	 *
+	 * @return The number of byte and float buffers allocated.
+	 */
+	public int allocatedCount() {
+		return this.bytes.allocatedCount.get() + this.floats.allocatedCount.get();
+	}
+
+	/**
+	 * The idle buffers of one type. Buffers smaller than the largest size requested so far are
+	 * dropped on release, so a change of image size does not leave the pool full of useless buffers.
+	 */
+	private static abstract class Lane<B extends Buffer> {
+		final ConcurrentLinkedQueue<B> free = new ConcurrentLinkedQueue<B>();
+		final AtomicInteger freeCount = new AtomicInteger();
+		final AtomicInteger allocatedCount = new AtomicInteger();
+		final int maxPooled;
+		volatile int bufferCapacity;
+
+		Lane(int maxPooled) {
+			this.maxPooled = maxPooled;
+		}
+
+		abstract B allocate(int capacity);
+
+		B acquire(int minCapacity) {
+			B buffer = this.free.poll();
+			if (buffer != null) {
+				this.freeCount.decrementAndGet();
+				if (buffer.capacity() >= minCapacity) {
+					buffer.clear();
+					return buffer;
+				}
+			}
+			if (minCapacity > this.bufferCapacity) {
+				this.bufferCapacity = minCapacity;
+			}
+			this.allocatedCount.incrementAndGet();
+			return allocate(minCapacity);
+		}
+
+		void release(B buffer) {
+			if (buffer.capacity() < this.bufferCapacity) {
+				return;
+			}
+			if (this.freeCount.incrementAndGet() > this.maxPooled) {
+				this.freeCount.decrementAndGet();
+				return;
+			}
+			this.free.offer(buffer);
+		}
+	}
+}
@@ -0,0 +1,233 @@
+package com.leapmotion.leap;
+
+import java.util.Arrays;
+
+/**
+ * The {@code ImageCodec} class compresses camera images for recording, in pure Java.<p>
+ *
+ * Consecutive images of a camera differ little where the scene is still. {@link ImageCodec#delta(byte[], byte[], byte[], int)}
+ * replaces each pixel by its difference from the previous image, which turns still areas into runs of zeros,
+ * and {@link ImageCodec#compress(byte[], int, int, byte[], int)} packs the result with a fast LZ77 coder.
+ * The compressed blocks use the LZ4 block format, so other tools can read them.<p>
+ *
+ * {@link ImageRecorder} and {@link ImagePlayer} use this class to store and read images; it can also be
+ * used on its own. All functions are thread safe; working memory is kept per thread.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public final class ImageCodec {
+	private static final int MIN_MATCH = 4;
+	private static final int LAST_LITERALS = 5;
+	private static final int MATCH_FIND_LIMIT = 12;
+	private static final int MAX_OFFSET = 65535;
+	private static final int HASH_LOG = 14;
+
+	private static final ThreadLocal<int[]> HASH_TABLE = new ThreadLocal<int[]>() {
+		protected int[] initialValue() {
+			return new int[1 << HASH_LOG];
+		}
+	};
+
+	private ImageCodec() {
+	}
+
+	/**
+	 * The largest number of bytes {@link ImageCodec#compress(byte[], int, int, byte[], int)} may produce.
+	 *
+	 * @param length - The number of bytes to compress.
+	 *
+	 * @return The size of destination buffer to provide.
+	 */
+	public static int maxCompressedLength(int length) {
+		return length + length / 255 + 16;
+	}
+
+	/**
+	 * Replaces each byte by its difference from the corresponding byte of a reference image.
+	 *
+	 * @param image - The image to encode.
+	 * @param reference - The previous image of the same camera.
+	 * @param dst - Receives the differences; may be {@code image}.
+	 * @param length - The number of bytes.
+	 */
+	public static void delta(byte[] image, byte[] reference, byte[] dst, int length) {
+		for (int i = 0; i < length; i++) {
+			dst[i] = (byte)(image[i] - reference[i]);
+		}
+	}
+
+	/**
+	 * Reverses {@link ImageCodec#delta(byte[], byte[], byte[], int)}.
+	 *
+	 * @param differences - The encoded differences.
+	 * @param reference - The same reference image used for encoding.
+	 * @param dst - Receives the image; may be {@code differences} or {@code reference}.
+	 * @param length - The number of bytes.
+	 */
+	public static void undelta(byte[] differences, byte[] reference, byte[] dst, int length) {
+		for (int i = 0; i < length; i++) {
+			dst[i] = (byte)(differences[i] + reference[i]);
+		}
+	}
+
+	/**
+	 * Compresses bytes into an LZ4 block.
+	 *
+	 * @param src - The bytes to compress.
+	 * @param srcOffset - The index of the first byte.
+	 * @param length - The number of bytes.
+	 * @param dst - Receives the block; must have room for {@link ImageCodec#maxCompressedLength(int)} bytes.
+	 * @param dstOffset - The index at which to write the block.
+	 *
+	 * @return The length of the block.
+	 */
+	public static int compress(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset) {
+		int end = srcOffset + length;
+		int op = dstOffset;
+		int anchor = srcOffset;
+		if (length >= MATCH_FIND_LIMIT + 1) {
+			int[] table = HASH_TABLE.get();
+			Arrays.fill(table, -1);
+			int matchFindLimit = end - MATCH_FIND_LIMIT;
+			int matchLimit = end - LAST_LITERALS;
+			int ip = srcOffset;
+			while (ip < matchFindLimit) {
+				int sequence = readInt(src, ip);
+				int h = hash(sequence);
+				int ref = table[h];
+				table[h] = ip;
+				if (ref < 0 || ip - ref > MAX_OFFSET || readInt(src, ref) != sequence) {
+					// Skip faster through data that does not compress.
+					ip += 1 + ((ip - anchor) >>> 6);
+					continue;
+				}
+				while (ip > anchor && ref > srcOffset && src[ip - 1] == src[ref - 1]) {
+					ip--;
+					ref--;
+				}
+				int matchLength = MIN_MATCH;
+				while (ip + matchLength < matchLimit && src[ip + matchLength] == src[ref + matchLength]) {
+					matchLength++;
+				}
+				op = writeSequence(src, anchor, ip - anchor, ip - ref, matchLength - MIN_MATCH, dst, op);
+				ip += matchLength;
+				anchor = ip;
+				if (ip - 2 >= srcOffset && ip < matchFindLimit) {
+					table[hash(readInt(src, ip - 2))] = ip - 2;
+				}
+			}
+		}
+		// The block ends with literals only.
+		int literals = end - anchor;
+		int token = op++;
+		op = writeLength(literals, dst, token, 4, op);
+		System.arraycopy(src, anchor, dst, op, literals);
+		return op + literals - dstOffset;
+	}
+
+	private static int writeSequence(byte[] src, int anchor, int literals, int offset, int matchLength, byte[] dst, int op) {
+		int token = op++;
+		op = writeLength(literals, dst, token, 4, op);
+		System.arraycopy(src, anchor, dst, op, literals);
+		op += literals;
+		dst[op++] = (byte)offset;
+		dst[op++] = (byte)(offset >>> 8);
+		return writeLength(matchLength, dst, token, 0, op);
+	}
+
+	/**
+	 * Stores a length in one nibble of the token, continued by extra bytes when it reaches 15.
+	 */
+	private static int writeLength(int length, byte[] dst, int token, int shift, int op) {
+		int nibble = Math.min(length, 15);
+		dst[token] = (byte)((shift == 4 ? 0 : dst[token]) | (nibble << shift));
+		if (nibble == 15) {
+			int rest = length - 15;
+			while (rest >= 255) {
+				dst[op++] = (byte)255;
+				rest -= 255;
+			}
+			dst[op++] = (byte)rest;
+		}
+		return op;
+	}
+
+	/**
+	 * Decompresses an LZ4 block.
+	 *
+	 * @param src - The block.
+	 * @param srcOffset - The index of the first byte of the block.
+	 * @param length - The length of the block.
+	 * @param dst - Receives the decompressed bytes.
+	 * @param dstOffset - The index at which to write.
+	 * @param expectedLength - The number of bytes the block decompresses to.
+	 *
+	 * @throws IllegalArgumentException if the block is corrupt or does not decompress to {@code expectedLength} bytes.
+	 */
+	public static void decompress(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset, int expectedLength) {
+		int ip = srcOffset;
+		int end = srcOffset + length;
+		int op = dstOffset;
+		int outEnd = dstOffset + expectedLength;
+		try {
+			while (ip < end) {
+				int token = src[ip++] & 0xFF;
+				int literals = token >>> 4;
+				if (literals == 15) {
+					int b;
+					do {
+						b = src[ip++] & 0xFF;
+						literals += b;
+					} while (b == 255);
+				}
+				if (op + literals > outEnd || ip + literals > end) {
+					throw new IllegalArgumentException("Corrupt image block: literals overrun");
+				}
+				System.arraycopy(src, ip, dst, op, literals);
+				ip += literals;
+				op += literals;
+				if (ip == end) {
+					break;
+				}
+				int offset = (src[ip] & 0xFF) | (src[ip + 1] & 0xFF) << 8;
+				ip += 2;
+				int matchLength = token & 15;
+				if (matchLength == 15) {
+					int b;
+					do {
+						b = src[ip++] & 0xFF;
+						matchLength += b;
+					} while (b == 255);
+				}
+				matchLength += MIN_MATCH;
+				int ref = op - offset;
+				if (offset == 0 || ref < dstOffset || op + matchLength > outEnd) {
+					throw new IllegalArgumentException("Corrupt image block: bad match");
+				}
+				if (offset >= matchLength) {
+					System.arraycopy(dst, ref, dst, op, matchLength);
+					op += matchLength;
+				} else {
+					// Overlapping copy, as for runs of one repeated value.
+					for (int i = 0; i < matchLength; i++) {
+						dst[op++] = dst[ref++];
+					}
+				}
+			}
+		} catch (ArrayIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Corrupt image block: truncated");
+		}
+		if (op != outEnd) {
+			throw new IllegalArgumentException("Corrupt image block: " + (op - dstOffset) + " of " + expectedLength + " bytes");
+		}
+	}
+
+	private static int readInt(byte[] b, int i) {
+		return (b[i] & 0xFF) | (b[i + 1] & 0xFF) << 8 | (b[i + 2] & 0xFF) << 16 | b[i + 3] << 24;
+	}
+
+	private static int hash(int sequence) {
+		return (sequence * -1640531535) >>> (32 - HASH_LOG);
+	}
+}
@@ -27,6 +27,9 @@ public class ImageList extends Interface implements Iterable<Image> {
 	{
 		super(LeapJNI.ImageList_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.IMAGE_LIST);
+		}
 	}
 
 	public Iterator<Image> iterator() { 
@@ -74,19 +77,38 @@ public class ImageList extends Interface implements Iterable<Image> {
 		return new ImageList(LeapJNI.ImageList_append(this.swigCPtr, this, getCPtr(other), other), false);
 	}
 	
-	public static long getCPtr(ImageList paramImageList) {
-		return paramImageList == null ? 0L : paramImageList.swigCPtr;
+	/**
+	 * Copies the members of this list into a new array.<p>
+	 * 
+	 * The list size is read once, so this makes one fewer native call per member
+	 * than calling {@link ImageList#count()} and {@link ImageList#get(int)} in a loop.
+	 * 
+	 * <blockquote><pre>
+	 * Image[] all = list.toArray();
+	 * </pre></blockquote>
+	 * 
+	 * @return An array of the {@link Image} objects in this list, in list order.
+	 */
+	public Image[] toArray() {
+		int count = count();
+		Image[] result = new Image[count];
+		for (int index = 0; index < count; index++) {
+			result[index] = get(index);
+		}
+		return result;
 	}
 
-	protected void finalize() {
-		delete();
+	public static long getCPtr(ImageList paramImageList) {
+		return paramImageList == null ? 0L : paramImageList.swigCPtr;
 	}
 
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_ImageList(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_ImageList(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -98,9 +120,10 @@ public class ImageList extends Interface implements Iterable<Image> {
 		public ImageListIterator() {}
 
 		int index = 0;
+		final int count = ImageList.this.count();
 
 		public boolean hasNext() { 
-			return this.index < ImageList.this.count(); 
+			return this.index < this.count; 
 		}
 
 		public Image next() {
@@ -0,0 +1,140 @@
+package com.leapmotion.leap;
+
+/**
+ * The {@code ImagePlane} class holds one 8-bit camera image as a reusable Java array.<p>
+ *
+ * A {@link StereoPipeline} copies each {@link Image} into a plane and passes planes from one
+ * {@link ImageStage} to the next. Every stage writes into its own planes, which are kept and
+ * reused for the following images, so a running pipeline does not allocate.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public final class ImagePlane {
+	private byte[] pixels = new byte[0];
+	private int width;
+	private int height;
+	private int camera;
+	private long sequenceId;
+	private RectificationMap rectificationMap;
+
+	/**
+	 * Constructs an empty plane.
+	 */
+	public ImagePlane() {
+	}
+
+	/**
+	 * Copies an image into this plane.
+	 *
+	 * @param image - An image with one byte per pixel.
+	 * @param map - The rectification map of the image's camera, or null.
+	 *
+	 * @return This plane.
+	 */
+	ImagePlane capture(Image image, RectificationMap map) {
+		int size = image.width() * image.height();
+		if (this.pixels.length != size) {
+			this.pixels = new byte[size];
+		}
+		image.data(this.pixels);
+		this.width = image.width();
+		this.height = image.height();
+		this.camera = image.id();
+		this.sequenceId = image.sequenceId();
+		this.rectificationMap = map;
+		return this;
+	}
+
+	/**
+	 * Prepares this plane to receive a decoded image and returns its pixel array.
+	 */
+	byte[] load(int width, int height, int camera, long sequenceId) {
+		if (this.pixels.length < width * height) {
+			this.pixels = new byte[width * height];
+		}
+		this.width = width;
+		this.height = height;
+		this.camera = camera;
+		this.sequenceId = sequenceId;
+		this.rectificationMap = null;
+		return this.pixels;
+	}
+
+	/**
+	 * Sets the size of this plane and the properties carried from one stage to the next.
+	 * Stages call this on their destination plane before writing to it.
+	 *
+	 * @param width - The new width.
+	 * @param height - The new height.
+	 * @param source - The plane the new content is derived from.
+	 *
+	 * @return This plane.
+	 */
+	public ImagePlane reshape(int width, int height, ImagePlane source) {
+		if (this.pixels.length < width * height) {
+			this.pixels = new byte[width * height];
+		}
+		this.width = width;
+		this.height = height;
+		this.camera = source.camera;
+		this.sequenceId = source.sequenceId;
+		this.rectificationMap = source.rectificationMap;
+		return this;
+	}
+
+	/**
+	 * The pixel values, row by row. The array may be longer than {@link ImagePlane#width()} * {@link ImagePlane#height()}.
+	 *
+	 * @return The backing array of this plane.
+	 */
+	public byte[] pixels() {
+		return this.pixels;
+	}
+
+	/**
+	 * The width of the image.
+	 *
+	 * @return The number of pixels in a row.
+	 */
+	public int width() {
+		return this.width;
+	}
+
+	/**
+	 * The height of the image.
+	 *
+	 * @return The number of rows.
+	 */
+	public int height() {
+		return this.height;
+	}
+
+	/**
+	 * The camera the image came from, as {@link Image#id()}: 0 for the left camera and 1 for the right one.
+	 *
+	 * @return The camera ID.
+	 */
+	public int camera() {
+		return this.camera;
+	}
+
+	/**
+	 * The {@link Image#sequenceId()} of the image.
+	 *
+	 * @return The image sequence ID.
+	 */
+	public long sequenceId() {
+		return this.sequenceId;
+	}
+
+	/**
+	 * The rectification map of the camera, if the pipeline was configured with
+	 * {@link StereoPipeline#setRectification(int, int)}.
+	 *
+	 * @return The map, or null.
+	 */
+	public RectificationMap rectificationMap() {
+		return this.rectificationMap;
+	}
+}
@@ -0,0 +1,396 @@
+package com.leapmotion.leap;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The {@code ImagePlayer} class reads recordings made with an {@link ImageRecorder}.<p>
+ *
+ * Images are addressed per camera, by position or by {@link Image#sequenceId()}. Reading an image
+ * decodes the nearest keyframe at or before it and the differences that follow; reading the images
+ * of a camera in order decodes one record per image, because the last decoded image of each camera is kept:
+ *
+ * <blockquote><pre>
+ * ImagePlayer player = new ImagePlayer(new File("session"));
+ * ImagePlane plane = new ImagePlane();
+ * for (int n = 0; n &lt; player.imageCount(0); n++) {
+ *     player.image(0, n, plane);
+ *     // ... Use plane.pixels()
+ * }
+ * </pre></blockquote>
+ *
+ * {@link ImagePlayer#play(StereoImageHandler, ForkJoinPool)} decodes the two cameras at the same time
+ * on a {@link ForkJoinPool} and delivers the images in pairs. Images of different cameras may be read
+ * from different threads at once; reads of the same camera are serialized.<p>
+ *
+ * A log that was appended to across several sessions of the Leap Motion service holds several runs of
+ * images, and sequence IDs start again at the beginning of each run. A new run begins where the sequence
+ * ID of either camera goes backwards. Images are only paired within a run, and lookups by sequence ID
+ * search the runs in recording order.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class ImagePlayer implements Closeable {
+	private static final int CAMERAS = 2;
+
+	private final FramePlayer records;
+	private final int[][] indices = new int[CAMERAS][];
+	private final long[][] sequences = new long[CAMERAS][];
+	private final int[][] runs = new int[CAMERAS][];
+	private final int[][] runStarts = new int[CAMERAS][];
+	private final Decoder[] decoders = new Decoder[CAMERAS];
+	private volatile boolean stopRequested;
+
+	/**
+	 * Opens a recording and loads its index.
+	 *
+	 * @param directory - The directory of the {@link FrameLog} written by an {@link ImageRecorder}.
+	 *
+	 * @throws IOException if an index file cannot be read.
+	 */
+	public ImagePlayer(File directory) throws IOException {
+		this.records = new FramePlayer(directory);
+		int[] counts = new int[CAMERAS];
+		int total = this.records.frameCount();
+		for (int i = 0; i < total; i++) {
+			counts[(int)(this.records.id(i) & 1)]++;
+		}
+		for (int camera = 0; camera < CAMERAS; camera++) {
+			this.indices[camera] = new int[counts[camera]];
+			this.sequences[camera] = new long[counts[camera]];
+			this.runs[camera] = new int[counts[camera]];
+			this.decoders[camera] = new Decoder(camera);
+			counts[camera] = 0;
+		}
+		int run = 0;
+		int[] cameraRuns = new int[CAMERAS];
+		for (int i = 0; i < total; i++) {
+			long id = this.records.id(i);
+			int camera = (int)(id & 1);
+			int n = counts[camera]++;
+			long sequence = id >>> 1;
+			if (n > 0 && sequence < this.sequences[camera][n - 1]) {
+				// The first camera to restart opens the run; the other one joins it.
+				if (cameraRuns[camera] == run) {
+					run++;
+				}
+				cameraRuns[camera] = run;
+			}
+			this.indices[camera][n] = i;
+			this.sequences[camera][n] = sequence;
+			this.runs[camera][n] = cameraRuns[camera];
+		}
+		for (int camera = 0; camera < CAMERAS; camera++) {
+			this.runStarts[camera] = runStarts(this.runs[camera]);
+		}
+	}
+
+	/**
+	 * The positions at which a new run begins, starting with zero.
+	 */
+	private static int[] runStarts(int[] runs) {
+		int count = 1;
+		for (int n = 1; n < runs.length; n++) {
+			if (runs[n] != runs[n - 1]) {
+				count++;
+			}
+		}
+		int[] starts = new int[count];
+		for (int n = 1, r = 1; n < runs.length; n++) {
+			if (runs[n] != runs[n - 1]) {
+				starts[r++] = n;
+			}
+		}
+		return starts;
+	}
+
+	/**
+	 * The number of images recorded from a camera.
+	 *
+	 * @param camera - 0 for the left camera, 1 for the right one.
+	 *
+	 * @return The number of images.
+	 */
+	public int imageCount(int camera) {
+		return this.indices[camera].length;
+	}
+
+	/**
+	 * The {@link Image#sequenceId()} of a recorded image.
+	 *
+	 * @param camera - 0 for the left camera, 1 for the right one.
+	 * @param n - The position of the image among those of its camera.
+	 *
+	 * @return The sequence ID.
+	 */
+	public long sequenceId(int camera, int n) {
+		return this.sequences[camera][n];
+	}
+
+	/**
+	 * The timestamp recorded with an image.
+	 *
+	 * @param camera - 0 for the left camera, 1 for the right one.
+	 * @param n - The position of the image among those of its camera.
+	 *
+	 * @return The timestamp in microseconds.
+	 */
+	public long timestamp(int camera, int n) {
+		return this.records.timestamp(this.indices[camera][n]);
+	}
+
+	/**
+	 * Whether an image was stored as a keyframe, from which decoding can start.
+	 *
+	 * @param camera - 0 for the left camera, 1 for the right one.
+	 * @param n - The position of the image among those of its camera.
+	 *
+	 * @return True, if the image does not depend on the previous one.
+	 *
+	 * @throws IOException if the segment file cannot be mapped.
+	 */
+	public boolean isKeyframe(int camera, int n) throws IOException {
+		ByteBuffer payload = this.records.payload(this.indices[camera][n]);
+		return payload.get(payload.position() + ImageRecorder.HEADER_TYPE) == ImageRecorder.KEYFRAME;
+	}
+
+	/**
+	 * Finds an image by sequence ID, in the first run of the recording that has it.
+	 *
+	 * @param camera - 0 for the left camera, 1 for the right one.
+	 * @param sequenceId - An {@link Image#sequenceId()} value.
+	 *
+	 * @return The position of the image among those of its camera, or -1 if it was not recorded.
+	 */
+	public int indexOfSequence(int camera, long sequenceId) {
+		long[] sequences = this.sequences[camera];
+		int[] starts = this.runStarts[camera];
+		for (int r = 0; r < starts.length; r++) {
+			int start = starts[r];
+			int end = r + 1 < starts.length ? starts[r + 1] : sequences.length;
+			if (end > start && sequences[start] <= sequenceId && sequenceId <= sequences[end - 1]) {
+				int index = Arrays.binarySearch(sequences, start, end, sequenceId);
+				if (index >= 0) {
+					return index;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Decodes a recorded image.
+	 *
+	 * @param camera - 0 for the left camera, 1 for the right one.
+	 * @param n - The position of the image among those of its camera.
+	 * @param dst - Receives the image.
+	 *
+	 * @return The {@code dst} parameter.
+	 *
+	 * @throws IOException if the segment file cannot be mapped or the recording is corrupt.
+	 */
+	public ImagePlane image(int camera, int n, ImagePlane dst) throws IOException {
+		if (n < 0 || n >= imageCount(camera)) {
+			throw new IndexOutOfBoundsException("Image index " + n + " of " + imageCount(camera));
+		}
+		Decoder decoder = this.decoders[camera];
+		synchronized (decoder) {
+			decoder.seek(n);
+			byte[] pixels = dst.load(decoder.width, decoder.height, camera, this.sequences[camera][n]);
+			System.arraycopy(decoder.pixels, 0, pixels, 0, decoder.width * decoder.height);
+		}
+		return dst;
+	}
+
+	/**
+	 * Decodes every image pair of the recording, both cameras at the same time, and passes the pairs
+	 * to a handler on a thread of {@code pool}. Images whose partner from the other camera was not
+	 * recorded are skipped.
+	 *
+	 * @param handler - Receives each pair. The planes are reused for the next pair.
+	 * @param pool - The pool that decodes the images.
+	 *
+	 * @return The number of pairs delivered; fewer than recorded if {@link ImagePlayer#stop()} was called.
+	 *
+	 * @throws IOException if the recording cannot be read.
+	 */
+	public int play(StereoImageHandler handler, ForkJoinPool pool) throws IOException {
+		this.stopRequested = false;
+		ImagePlane left = new ImagePlane();
+		ImagePlane right = new ImagePlane();
+		long[] leftSequences = this.sequences[0];
+		long[] rightSequences = this.sequences[1];
+		int[] leftRuns = this.runs[0];
+		int[] rightRuns = this.runs[1];
+		int delivered = 0;
+		int l = 0;
+		int r = 0;
+		while (l < leftSequences.length && r < rightSequences.length && !this.stopRequested) {
+			// Order by run first; sequence IDs are only comparable within a run.
+			if (leftRuns[l] < rightRuns[r] || leftRuns[l] == rightRuns[r] && leftSequences[l] < rightSequences[r]) {
+				l++;
+			} else if (leftRuns[l] > rightRuns[r] || leftSequences[l] > rightSequences[r]) {
+				r++;
+			} else {
+				PairTask task = new PairTask(handler, left, l, right, r);
+				pool.invoke(task);
+				if (task.failure != null) {
+					throw task.failure;
+				}
+				delivered++;
+				l++;
+				r++;
+			}
+		}
+		return delivered;
+	}
+
+	/**
+	 * Asks a running {@link ImagePlayer#play(StereoImageHandler, ForkJoinPool)} to return after the
+	 * pair it is currently delivering. Safe to call from any thread.
+	 */
+	public void stop() {
+		this.stopRequested = true;
+	}
+
+	/**
+	 * Releases this player's references to the mapped segments.
+	 */
+	public void close() {
+		this.records.close();
+	}
+
+	/**
+	 * The last decoded image of one camera and the buffers to decode the next.
+	 */
+	private final class Decoder {
+		final int camera;
+		byte[] pixels = new byte[0];
+		byte[] differences = new byte[0];
+		byte[] block = new byte[0];
+		int width;
+		int height;
+		int position = -1;
+
+		Decoder(int camera) {
+			this.camera = camera;
+		}
+
+		void seek(int n) throws IOException {
+			if (n == this.position) {
+				return;
+			}
+			// Continue from the last decoded image if it comes before n, otherwise from a keyframe.
+			int floor = this.position < n ? this.position : -1;
+			int start = n;
+			while (start > 0 && start > floor && !isKeyframe(this.camera, start)) {
+				start--;
+			}
+			if (start == floor) {
+				start++;
+			}
+			for (int i = start; i <= n; i++) {
+				decode(i);
+			}
+		}
+
+		private void decode(int n) throws IOException {
+			ByteBuffer payload = ImagePlayer.this.records.payload(ImagePlayer.this.indices[this.camera][n]);
+			int base = payload.position();
+			int length = payload.remaining() - ImageRecorder.HEADER_SIZE;
+			if (length < 0 || payload.get(base + ImageRecorder.HEADER_VERSION) != ImageRecorder.VERSION) {
+				throw new IOException("Unsupported image record " + n + " of camera " + this.camera);
+			}
+			boolean keyframe = payload.get(base + ImageRecorder.HEADER_TYPE) == ImageRecorder.KEYFRAME;
+			int width = payload.getInt(base + ImageRecorder.HEADER_WIDTH);
+			int height = payload.getInt(base + ImageRecorder.HEADER_HEIGHT);
+			long reference = payload.getLong(base + ImageRecorder.HEADER_REFERENCE);
+			if (!keyframe && (this.position != n - 1 || reference != ImagePlayer.this.sequences[this.camera][n - 1]
+					|| width != this.width || height != this.height)) {
+				throw new IOException("Image record " + n + " of camera " + this.camera + " does not follow its reference");
+			}
+			if (this.block.length < length) {
+				this.block = new byte[length];
+			}
+			payload.position(base + ImageRecorder.HEADER_SIZE);
+			payload.get(this.block, 0, length);
+			int size = width * height;
+			if (this.pixels.length < size) {
+				this.pixels = Arrays.copyOf(this.pixels, size);
+				this.differences = new byte[size];
+			}
+			this.position = -1;
+			try {
+				if (keyframe) {
+					ImageCodec.decompress(this.block, 0, length, this.pixels, 0, size);
+				} else {
+					ImageCodec.decompress(this.block, 0, length, this.differences, 0, size);
+					ImageCodec.undelta(this.differences, this.pixels, this.pixels, size);
+				}
+			} catch (IllegalArgumentException e) {
+				throw new IOException("Image record " + n + " of camera " + this.camera + ": " + e.getMessage());
+			}
+			this.width = width;
+			this.height = height;
+			this.position = n;
+		}
+	}
+
+	private class PairTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final StereoImageHandler handler;
+		private final ImagePlane left;
+		private final int leftIndex;
+		private final ImagePlane right;
+		private final int rightIndex;
+		IOException failure;
+
+		PairTask(StereoImageHandler handler, ImagePlane left, int leftIndex, ImagePlane right, int rightIndex) {
+			this.handler = handler;
+			this.left = left;
+			this.leftIndex = leftIndex;
+			this.right = right;
+			this.rightIndex = rightIndex;
+		}
+
+		protected void compute() {
+			DecodeTask l = new DecodeTask(0, this.leftIndex, this.left);
+			DecodeTask r = new DecodeTask(1, this.rightIndex, this.right);
+			invokeAll(l, r);
+			this.failure = l.failure != null ? l.failure : r.failure;
+			if (this.failure == null) {
+				this.handler.onImages(this.left, this.right);
+			}
+		}
+	}
+
+	private class DecodeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int camera;
+		private final int n;
+		private final ImagePlane dst;
+		IOException failure;
+
+		DecodeTask(int camera, int n, ImagePlane dst) {
+			this.camera = camera;
+			this.n = n;
+			this.dst = dst;
+		}
+
+		protected void compute() {
+			try {
+				image(this.camera, this.n, this.dst);
+			} catch (IOException e) {
+				this.failure = e;
+			}
+		}
+	}
+}
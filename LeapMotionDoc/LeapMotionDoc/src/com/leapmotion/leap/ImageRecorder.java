@@ -0,0 +1,332 @@
+package com.leapmotion.leap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code ImageRecorder} class records compressed camera images to a {@link FrameLog} on background threads.<p>
+ *
+ * {@link ImageRecorder#record(Image, long)} only copies the image data into a reused array and queues it;
+ * one encoder thread per camera compresses the image and appends it to the log. Most images are stored as
+ * the difference from the previous image of the same camera, compressed with {@link ImageCodec}. Every
+ * {@code keyframeInterval}-th image of a camera is stored on its own, so an {@link ImagePlayer} can start
+ * decoding at any keyframe. If an encoder falls so far behind that its queue is full, the image is dropped
+ * and counted instead of stalling the {@link Listener} thread:
+ *
+ * <blockquote><pre>
+ * final ImageRecorder recorder = new ImageRecorder(FrameLog.open(dir, 256 * 1024 * 1024), 256, 100);
+ * controller.setPolicy(Controller.PolicyFlag.POLICY_IMAGES);
+ * controller.addListener(new Listener() {
+ *     public void onFrame(Controller controller) {
+ *         recorder.record(controller.frame());
+ *     }
+ * });
+ * // ...
+ * recorder.close();
+ * </pre></blockquote>
+ *
+ * Each record of the log holds one image. Its ID is {@code 2 * sequenceId + camera} and its timestamp is
+ * the one passed to {@code record}, normally the {@link Frame#timestamp()} of the frame the image belongs to.
+ * The payload starts with a header of {@link ImageRecorder#HEADER_SIZE} bytes: format version, record
+ * type ({@link ImageRecorder#KEYFRAME} or {@link ImageRecorder#DELTA}), camera, a reserved byte, width,
+ * height, sequence ID and the sequence ID of the reference image (-1 for keyframes), followed by the
+ * compressed block. Images must have one byte per pixel.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class ImageRecorder implements Closeable {
+	/** Payload format version. */
+	public static final int VERSION = 1;
+	/** Record type of an image stored on its own. */
+	public static final int KEYFRAME = 0;
+	/** Record type of an image stored as the difference from the previous image of its camera. */
+	public static final int DELTA = 1;
+	/** Payload header size. */
+	public static final int HEADER_SIZE = 28;
+
+	static final int HEADER_VERSION = 0;
+	static final int HEADER_TYPE = 1;
+	static final int HEADER_CAMERA = 2;
+	static final int HEADER_WIDTH = 4;
+	static final int HEADER_HEIGHT = 8;
+	static final int HEADER_SEQUENCE = 12;
+	static final int HEADER_REFERENCE = 20;
+
+	private static final int CAMERAS = 2;
+	private static final Entry STOP = new Entry();
+
+	private final FrameLog log;
+	private final int keyframeInterval;
+	private final ConcurrentLinkedQueue<Entry> free = new ConcurrentLinkedQueue<Entry>();
+	private final ArrayBlockingQueue<Entry>[] queues;
+	private final Thread[] encoders = new Thread[CAMERAS];
+	private final AtomicLong recorded = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong rawBytes = new AtomicLong();
+	private final AtomicLong encodedBytes = new AtomicLong();
+	private volatile IOException failure;
+	private volatile boolean closed;
+
+	/**
+	 * Constructs a recorder and starts its encoder threads.
+	 *
+	 * @param log - The log to append to. It is closed when this recorder is closed.
+	 * @param queueCapacity - The number of images per camera that may wait for encoding.
+	 * @param keyframeInterval - One in how many images of a camera is stored as a keyframe; 1 stores only keyframes.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public ImageRecorder(FrameLog log, int queueCapacity, int keyframeInterval) {
+		if (keyframeInterval < 1) {
+			throw new IllegalArgumentException("Keyframe interval must be positive: " + keyframeInterval);
+		}
+		this.log = log;
+		this.keyframeInterval = keyframeInterval;
+		this.queues = new ArrayBlockingQueue[CAMERAS];
+		for (int camera = 0; camera < CAMERAS; camera++) {
+			this.queues[camera] = new ArrayBlockingQueue<Entry>(queueCapacity);
+			final Encoder encoder = new Encoder(camera);
+			this.encoders[camera] = new Thread(new Runnable() {
+				public void run() {
+					encoder.run();
+				}
+			}, "ImageRecorder " + log.directory().getName() + " camera " + camera);
+			this.encoders[camera].setDaemon(true);
+			this.encoders[camera].start();
+		}
+	}
+
+	/**
+	 * Queues the images of a frame for recording, with the frame's timestamp.
+	 *
+	 * @param frame - A frame from a controller with {@link Controller.PolicyFlag#POLICY_IMAGES} set.
+	 *
+	 * @return The number of images queued.
+	 */
+	public int record(Frame frame) {
+		return record(frame.images(), frame.timestamp());
+	}
+
+	/**
+	 * Queues images for recording.
+	 *
+	 * @param images - The images to record.
+	 * @param timestamp - The timestamp to store with them, in microseconds.
+	 *
+	 * @return The number of images queued.
+	 */
+	public int record(ImageList images, long timestamp) {
+		int queued = 0;
+		for (Image image : images) {
+			if (record(image, timestamp)) {
+				queued++;
+			}
+		}
+		return queued;
+	}
+
+	/**
+	 * Queues an image for recording. Safe to call from any thread; the image data is copied before returning.
+	 *
+	 * @param image - The image to record.
+	 * @param timestamp - The timestamp to store with it, in microseconds.
+	 *
+	 * @return True, if the image was queued; false if it was dropped because the queue of its camera was full,
+	 * the recorder is closed, or an encoder has failed.
+	 */
+	public boolean record(Image image, long timestamp) {
+		int camera = image.id();
+		if (this.closed || this.failure != null || camera < 0 || camera >= CAMERAS || !image.isValid()) {
+			this.dropped.incrementAndGet();
+			return false;
+		}
+		Entry entry = this.free.poll();
+		if (entry == null) {
+			entry = new Entry();
+		}
+		int size = image.width() * image.height();
+		if (entry.pixels.length != size) {
+			entry.pixels = new byte[size];
+		}
+		image.data(entry.pixels);
+		entry.width = image.width();
+		entry.height = image.height();
+		entry.sequenceId = image.sequenceId();
+		entry.timestamp = timestamp;
+		if (!this.queues[camera].offer(entry)) {
+			this.free.offer(entry);
+			this.dropped.incrementAndGet();
+			return false;
+		}
+		if (this.closed && this.queues[camera].remove(entry)) {
+			// Queued behind the stop marker of a concurrent close; the encoder will never take it.
+			this.free.offer(entry);
+			this.dropped.incrementAndGet();
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * The number of images written to the log so far.
+	 *
+	 * @return The number of recorded images.
+	 */
+	public long recordedCount() {
+		return this.recorded.get();
+	}
+
+	/**
+	 * The number of images passed to {@code record} that were not recorded.
+	 *
+	 * @return The number of dropped images.
+	 */
+	public long droppedCount() {
+		return this.dropped.get();
+	}
+
+	/**
+	 * The number of images waiting for an encoder thread.
+	 *
+	 * @return The current queue depth of both cameras.
+	 */
+	public int queueDepth() {
+		return this.queues[0].size() + this.queues[1].size();
+	}
+
+	/**
+	 * The size of the recorded images relative to their raw size.
+	 *
+	 * @return The compressed size divided by the raw size, or 1 if nothing has been recorded.
+	 */
+	public double compressionRatio() {
+		long raw = this.rawBytes.get();
+		return raw == 0 ? 1.0 : (double)this.encodedBytes.get() / raw;
+	}
+
+	/**
+	 * Writes all queued images, stops the encoder threads and closes the log.
+	 *
+	 * @throws IOException if an encoder failed or the log cannot be closed.
+	 */
+	public void close() throws IOException {
+		if (this.closed) {
+			return;
+		}
+		this.closed = true;
+		try {
+			for (int camera = 0; camera < CAMERAS; camera++) {
+				while (this.encoders[camera].isAlive() && !this.queues[camera].offer(STOP, 100, TimeUnit.MILLISECONDS)) {
+					// The encoder is still draining a full queue.
+				}
+			}
+			for (int camera = 0; camera < CAMERAS; camera++) {
+				this.encoders[camera].join();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.log.close();
+		if (this.failure != null) {
+			throw this.failure;
+		}
+	}
+
+	/**
+	 * A queued image.
+	 */
+	private static final class Entry {
+		byte[] pixels = new byte[0];
+		int width;
+		int height;
+		long sequenceId;
+		long timestamp;
+	}
+
+	/**
+	 * Encodes the images of one camera; owns the reference image and the output buffers.
+	 */
+	private final class Encoder {
+		private final int camera;
+		private byte[] reference = new byte[0];
+		private byte[] differences = new byte[0];
+		private byte[] block = new byte[0];
+		private ByteBuffer payload = ByteBuffer.wrap(this.block);
+		private int referenceWidth;
+		private int referenceHeight;
+		private long referenceSequence = -1L;
+		private int sinceKeyframe;
+
+		Encoder(int camera) {
+			this.camera = camera;
+		}
+
+		void run() {
+			ArrayBlockingQueue<Entry> queue = ImageRecorder.this.queues[this.camera];
+			try {
+				while (true) {
+					Entry entry = queue.take();
+					if (entry == STOP) {
+						break;
+					}
+					try {
+						encode(entry);
+					} finally {
+						ImageRecorder.this.free.offer(entry);
+					}
+				}
+			} catch (IOException e) {
+				ImageRecorder.this.failure = e;
+			} catch (RuntimeException e) {
+				ImageRecorder.this.failure = new IOException("Image encoder for camera " + this.camera + " failed", e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private void encode(Entry entry) throws IOException {
+			int size = entry.width * entry.height;
+			if (this.block.length < HEADER_SIZE + ImageCodec.maxCompressedLength(size)) {
+				this.block = new byte[HEADER_SIZE + ImageCodec.maxCompressedLength(size)];
+				this.payload = ByteBuffer.wrap(this.block);
+				this.differences = new byte[size];
+			}
+			boolean keyframe = this.referenceSequence < 0 || this.sinceKeyframe >= ImageRecorder.this.keyframeInterval
+					|| entry.width != this.referenceWidth || entry.height != this.referenceHeight;
+			byte[] source = entry.pixels;
+			if (!keyframe) {
+				ImageCodec.delta(entry.pixels, this.reference, this.differences, size);
+				source = this.differences;
+			}
+			int length = ImageCodec.compress(source, 0, size, this.block, HEADER_SIZE);
+			ByteBuffer p = this.payload;
+			p.clear();
+			p.put(HEADER_VERSION, (byte)VERSION);
+			p.put(HEADER_TYPE, (byte)(keyframe ? KEYFRAME : DELTA));
+			p.put(HEADER_CAMERA, (byte)this.camera);
+			p.put(HEADER_CAMERA + 1, (byte)0);
+			p.putInt(HEADER_WIDTH, entry.width);
+			p.putInt(HEADER_HEIGHT, entry.height);
+			p.putLong(HEADER_SEQUENCE, entry.sequenceId);
+			p.putLong(HEADER_REFERENCE, keyframe ? -1L : this.referenceSequence);
+			p.limit(HEADER_SIZE + length);
+			ImageRecorder.this.log.append(entry.sequenceId * CAMERAS + this.camera, entry.timestamp, p);
+			// The recorded image becomes the reference; swap arrays instead of copying.
+			byte[] previous = this.reference;
+			this.reference = entry.pixels;
+			entry.pixels = previous;
+			this.referenceWidth = entry.width;
+			this.referenceHeight = entry.height;
+			this.referenceSequence = entry.sequenceId;
+			this.sinceKeyframe = keyframe ? 1 : this.sinceKeyframe + 1;
+			ImageRecorder.this.recorded.incrementAndGet();
+			ImageRecorder.this.rawBytes.addAndGet(size);
+			ImageRecorder.this.encodedBytes.addAndGet(HEADER_SIZE + length);
+		}
+	}
+}
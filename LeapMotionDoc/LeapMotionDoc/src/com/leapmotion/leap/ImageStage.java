@@ -0,0 +1,35 @@
+package com.leapmotion.leap;
+
+/**
+ * The {@code ImageStage} interface is one processing step of a {@link StereoPipeline}.<p>
+ *
+ * {@link ImageStages} provides common stages. Your own stages transform the source plane into
+ * the destination plane, calling {@link ImagePlane#reshape(int, int, ImagePlane)} first:
+ *
+ * <blockquote><pre>
+ * public void process(ImagePlane src, ImagePlane dst) {
+ *     dst.reshape(src.width(), src.height(), src);
+ *     byte[] in = src.pixels();
+ *     byte[] out = dst.pixels();
+ *     for (int i = 0; i < src.width() * src.height(); i++) {
+ *         out[i] = (byte)(255 - (in[i] &amp; 0xFF));
+ *     }
+ * }
+ * </pre></blockquote>
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public interface ImageStage {
+	/**
+	 * Processes the image of one camera.<p>
+	 *
+	 * The pipeline calls this function for the left and right images at the same time, on
+	 * different threads and with different planes. State kept between calls must therefore be
+	 * kept per {@link ImagePlane#camera()}.
+	 *
+	 * @param src - The output of the previous stage; must not be modified.
+	 * @param dst - The plane to write to. The same plane is passed for every image of a camera.
+	 */
+	void process(ImagePlane src, ImagePlane dst);
+}
@@ -0,0 +1,104 @@
+package com.leapmotion.leap;
+
+/**
+ * The {@code ImageStages} class provides common {@link ImageStage} implementations for a {@link StereoPipeline}.
+ *
+ * <blockquote><pre>
+ * pipeline.setRectification(320, 320);
+ * pipeline.addStage("undistort", ImageStages.undistort());
+ * pipeline.addStage("downsample", ImageStages.downsample(2));
+ * pipeline.addStage("threshold", ImageStages.threshold(96));
+ * pipeline.addStage("blobs", new BlobDetector(20));
+ * </pre></blockquote>
+ *
+ * All stages returned here are stateless and may be shared between pipelines.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public final class ImageStages {
+	private static final ImageStage UNDISTORT = new ImageStage() {
+		public void process(ImagePlane src, ImagePlane dst) {
+			RectificationMap map = src.rectificationMap();
+			if (map == null) {
+				throw new IllegalStateException("Rectification is not enabled for this pipeline");
+			}
+			dst.reshape(map.width(), map.height(), src);
+			map.undistort(src.pixels(), dst.pixels());
+		}
+	};
+
+	private ImageStages() {
+	}
+
+	/**
+	 * A stage that removes lens distortion with the {@link RectificationMap} of each camera.
+	 * The pipeline must be configured with {@link StereoPipeline#setRectification(int, int)}.
+	 *
+	 * @return The stage.
+	 */
+	public static ImageStage undistort() {
+		return UNDISTORT;
+	}
+
+	/**
+	 * A stage that sets pixels at or above a brightness level to 255 and all others to 0.
+	 *
+	 * @param level - The threshold, from 0 to 255.
+	 *
+	 * @return The stage.
+	 */
+	public static ImageStage threshold(final int level) {
+		if (level < 0 || level > 255) {
+			throw new IllegalArgumentException("Threshold out of range: " + level);
+		}
+		return new ImageStage() {
+			public void process(ImagePlane src, ImagePlane dst) {
+				dst.reshape(src.width(), src.height(), src);
+				byte[] in = src.pixels();
+				byte[] out = dst.pixels();
+				int size = src.width() * src.height();
+				for (int i = 0; i < size; i++) {
+					out[i] = (in[i] & 0xFF) >= level ? (byte)255 : 0;
+				}
+			}
+		};
+	}
+
+	/**
+	 * A stage that shrinks images by an integer factor, averaging each block of pixels.
+	 *
+	 * @param factor - The number of source pixels per output pixel in each direction.
+	 *
+	 * @return The stage.
+	 */
+	public static ImageStage downsample(final int factor) {
+		if (factor < 1) {
+			throw new IllegalArgumentException("Factor must be positive: " + factor);
+		}
+		return new ImageStage() {
+			public void process(ImagePlane src, ImagePlane dst) {
+				int width = src.width() / factor;
+				int height = src.height() / factor;
+				dst.reshape(width, height, src);
+				byte[] in = src.pixels();
+				byte[] out = dst.pixels();
+				int stride = src.width();
+				int area = factor * factor;
+				for (int y = 0; y < height; y++) {
+					for (int x = 0; x < width; x++) {
+						int sum = 0;
+						int row = y * factor * stride + x * factor;
+						for (int dy = 0; dy < factor; dy++) {
+							for (int dx = 0; dx < factor; dx++) {
+								sum += in[row + dx] & 0xFF;
+							}
+							row += stride;
+						}
+						out[y * width + x] = (byte)((sum + area / 2) / area);
+					}
+				}
+			}
+		};
+	}
+}
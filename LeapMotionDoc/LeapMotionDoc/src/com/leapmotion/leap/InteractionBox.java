@@ -27,6 +27,9 @@ public class InteractionBox extends Interface {
 	public InteractionBox(long paramLong, boolean paramBoolean)	{
 		super(LeapJNI.InteractionBox_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.INTERACTION_BOX);
+		}
 	}
 
 	/**
@@ -194,15 +197,13 @@ public class InteractionBox extends Interface {
 		return paramInteractionBox == null ? 0L : paramInteractionBox.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_InteractionBox(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_InteractionBox(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -3,11 +3,15 @@ package com.leapmotion.leap;
 public class Interface {
 	private long swigCPtr;
 	protected boolean swigCMemOwn;
+	NativeHandle swigHandle;
 
 	public Interface(long paramLong, boolean paramBoolean)
 	{
 		this.swigCMemOwn = paramBoolean;
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.INTERFACE);
+		}
 	}
 
 	public static long getCPtr(Interface paramInterface) {
@@ -27,25 +31,27 @@ public class Interface {
 	public static class Implementation {
 		private long swigCPtr;
 		protected boolean swigCMemOwn;
+		NativeHandle swigHandle;
 
 		public Implementation(long paramLong, boolean paramBoolean) {
 			this.swigCMemOwn = paramBoolean;
 			this.swigCPtr = paramLong;
+			if (paramBoolean) {
+				this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.INTERFACE_IMPLEMENTATION);
+			}
 		}
 
 		public static long getCPtr(Implementation paramImplementation) {
 			return paramImplementation == null ? 0L : paramImplementation.swigCPtr;
 		}
 
-		protected void finalize() {
-			delete();
-		}
-
 		public synchronized void delete() {
 			if (this.swigCPtr != 0L) {
 				if (this.swigCMemOwn) {
 					this.swigCMemOwn = false;
-					LeapJNI.delete_Interface_Implementation(this.swigCPtr);
+					if (NativeObjects.release(this.swigHandle)) {
+						LeapJNI.delete_Interface_Implementation(this.swigCPtr);
+					}
 				}
 				this.swigCPtr = 0L;
 			}
@@ -93,6 +93,9 @@ public class KeyTapGesture extends Gesture {
 	{
 		super(LeapJNI.KeyTapGesture_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.KEY_TAP_GESTURE);
+		}
 	}
 
 	/**
@@ -162,15 +165,13 @@ public class KeyTapGesture extends Gesture {
 		return paramKeyTapGesture == null ? 0L : paramKeyTapGesture.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_KeyTapGesture(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_KeyTapGesture(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
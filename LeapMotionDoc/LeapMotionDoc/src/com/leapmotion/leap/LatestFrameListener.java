@@ -0,0 +1,122 @@
+package com.leapmotion.leap;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@code LatestFrameListener} class is a {@link Listener} that keeps only the most
+ * recent frame for a consumer that runs slower than the tracking rate.<p>
+ *
+ * Each {@link Listener#onFrame(Controller)} callback replaces the frame held in a single atomic
+ * slot. A render or UI thread takes the newest frame with {@link LatestFrameListener#poll()} or
+ * {@link LatestFrameListener#take(long, TimeUnit)}; frames replaced before they were taken are
+ * skipped and counted. Unlike calling {@link Controller#frame()} in a loop, a frame is never
+ * returned twice, and the consumer never works on a frame older than the newest available:
+ *
+ * <blockquote><pre>
+ * LatestFrameListener latest = new LatestFrameListener();
+ * controller.addListener(latest);
+ * while (rendering) {
+ *     Frame frame = latest.take(100, TimeUnit.MILLISECONDS);
+ *     if (frame != null) {
+ *         render(frame);
+ *         frame.delete();
+ *     }
+ * }
+ * </pre></blockquote>
+ *
+ * A taken frame belongs to the caller, which should call {@link Frame#delete()} when done with it.
+ * The listener deletes frames that were skipped. Use one consumer thread per listener.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class LatestFrameListener extends Listener {
+	private final AtomicReference<Frame> slot = new AtomicReference<Frame>();
+	private final AtomicLong published = new AtomicLong();
+	private final AtomicLong skipped = new AtomicLong();
+	private volatile long lastId = -1;
+	private volatile Thread waiter;
+
+	public void onFrame(Controller controller) {
+		Frame frame = controller.frame();
+		long id = frame.id();
+		if (id == this.lastId) {
+			frame.delete();
+			return;
+		}
+		this.lastId = id;
+		this.published.incrementAndGet();
+		Frame stale = this.slot.getAndSet(frame);
+		if (stale != null) {
+			this.skipped.incrementAndGet();
+			stale.delete();
+		}
+		Thread waiter = this.waiter;
+		if (waiter != null) {
+			LockSupport.unpark(waiter);
+		}
+	}
+
+	/**
+	 * Takes the newest frame that has not been taken yet, without waiting.
+	 *
+	 * @return The frame, or null if no new frame has arrived since the last call.
+	 */
+	public Frame poll() {
+		return this.slot.getAndSet(null);
+	}
+
+	/**
+	 * Takes the newest frame that has not been taken yet, waiting for one to arrive if necessary.
+	 *
+	 * @param timeout - The longest time to wait.
+	 * @param unit - The unit of {@code timeout}.
+	 *
+	 * @return The frame, or null if none arrived in time or the thread was interrupted.
+	 */
+	public Frame take(long timeout, TimeUnit unit) {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		Frame frame;
+		while ((frame = this.slot.getAndSet(null)) == null) {
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0 || Thread.currentThread().isInterrupted()) {
+				return null;
+			}
+			this.waiter = Thread.currentThread();
+			// Check again after announcing the wait, or a frame published in between would be missed.
+			if (this.slot.get() == null) {
+				LockSupport.parkNanos(this, remaining);
+			}
+			this.waiter = null;
+		}
+		return frame;
+	}
+
+	/**
+	 * The number of distinct frames received from the {@link Controller}.
+	 *
+	 * @return The number of frames.
+	 */
+	public long publishedCount() {
+		return this.published.get();
+	}
+
+	/**
+	 * The number of frames replaced by a newer one before the consumer took them.
+	 *
+	 * @return The number of skipped frames.
+	 */
+	public long skippedCount() {
+		return this.skipped.get();
+	}
+
+	public void onExit(Controller controller) {
+		Frame frame = this.slot.getAndSet(null);
+		if (frame != null) {
+			frame.delete();
+		}
+	}
+}
@@ -1,6 +1,24 @@
 package com.leapmotion.leap;
 
 public class Leap {
+	/**
+	 * Reports whether the {@code LeapJava} native library was loaded.<p>
+	 * 
+	 * When it was not, the native-backed classes such as {@link Controller} and {@link Frame} cannot be used, 
+	 * but pure Java classes such as {@link FrameSnapshot} and {@link SimulatedFrameSource} still work.
+	 * 
+	 * <blockquote><pre>
+	 * FrameSource source = Leap.isNativeLibraryLoaded() 
+	 *     ? new ControllerFrameSource(new Controller()) 
+	 *     : new SimulatedFrameSource(120);
+	 * </pre></blockquote>
+	 * 
+	 * @return True, if native calls are available.
+	 */
+	public static boolean isNativeLibraryLoaded() {
+		return LeapJNI.loadError == null;
+	}
+
 	public static float getEPSILON()
 	{
 		return LeapJNI.EPSILON_get();
@@ -1,6 +1,7 @@
 package com.leapmotion.leap;
 
 import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class LeapJNI {
 
@@ -547,61 +548,86 @@ public class LeapJNI {
 	public static final native long Controller_SWIGUpcast(long paramLong);
 	
 	public static void SwigDirector_Listener_onInit(Listener paramListener, long paramLong) {
-		paramListener.onInit(new Controller(paramLong, false)); 
+		paramListener.onInit(directorController(paramLong)); 
 	}
 
 	public static void SwigDirector_Listener_onConnect(Listener paramListener, long paramLong) {
-		paramListener.onConnect(new Controller(paramLong, false));
+		paramListener.onConnect(directorController(paramLong));
 	}
 
 	public static void SwigDirector_Listener_onDisconnect(Listener paramListener, long paramLong) { 
-		paramListener.onDisconnect(new Controller(paramLong, false)); 
+		paramListener.onDisconnect(directorController(paramLong)); 
 	}
 
 	public static void SwigDirector_Listener_onExit(Listener paramListener, long paramLong) {
-		paramListener.onExit(new Controller(paramLong, false));
+		paramListener.onExit(directorController(paramLong));
 	}
 
 	public static void SwigDirector_Listener_onFrame(Listener paramListener, long paramLong) { 
-		paramListener.onFrame(new Controller(paramLong, false)); 
+		paramListener.onFrame(directorController(paramLong)); 
 	}
 
 	public static void SwigDirector_Listener_onFocusGained(Listener paramListener, long paramLong) {
-		paramListener.onFocusGained(new Controller(paramLong, false));
+		paramListener.onFocusGained(directorController(paramLong));
 	}
 
 	public static void SwigDirector_Listener_onFocusLost(Listener paramListener, long paramLong) { 
-		paramListener.onFocusLost(new Controller(paramLong, false)); 
+		paramListener.onFocusLost(directorController(paramLong)); 
 	}
 
 	public static void SwigDirector_Listener_onServiceConnect(Listener paramListener, long paramLong) {
-		paramListener.onServiceConnect(new Controller(paramLong, false));
+		paramListener.onServiceConnect(directorController(paramLong));
 	}
 
 	public static void SwigDirector_Listener_onServiceDisconnect(Listener paramListener, long paramLong) {
-		paramListener.onServiceDisconnect(new Controller(paramLong, false)); 
+		paramListener.onServiceDisconnect(directorController(paramLong)); 
 	}
 
 	public static void SwigDirector_Listener_onDeviceChange(Listener paramListener, long paramLong) {
-		paramListener.onDeviceChange(new Controller(paramLong, false));
+		paramListener.onDeviceChange(directorController(paramLong));
 	}
 
 	public static void SwigDirector_Listener_onImages(Listener paramListener, long paramLong) {
-		paramListener.onImages(new Controller(paramLong, false)); 
+		paramListener.onImages(directorController(paramLong)); 
+	}
+
+	private static final int DIRECTOR_CONTROLLER_SLOTS = 8;
+	private static final AtomicReferenceArray<Controller> directorControllers = new AtomicReferenceArray<Controller>(DIRECTOR_CONTROLLER_SLOTS);
+
+	// Listener callbacks receive a non-owning Controller wrapper. Wrappers are cached per native
+	// pointer so the callback path does not allocate (and register a finalizer) on every frame.
+	// A non-owning wrapper is only a pointer, so a cached wrapper is valid for any controller
+	// at that address; one whose pointer was cleared by delete() is simply replaced.
+	static Controller directorController(long cPtr) {
+		int slot = (int)(cPtr ^ (cPtr >>> 7) ^ (cPtr >>> 17)) & (DIRECTOR_CONTROLLER_SLOTS - 1);
+		Controller controller = directorControllers.get(slot);
+		if (controller == null || Controller.getCPtr(controller) != cPtr) {
+			controller = new Controller(cPtr, false);
+			directorControllers.set(slot, controller);
+		}
+		return controller;
 	}
 
 	private static final native void swig_module_init();
 
+	static final UnsatisfiedLinkError loadError;
+
 	static
 	{
+		UnsatisfiedLinkError error = null;
 		try
 		{
 			System.loadLibrary("LeapJava");
 		} catch (UnsatisfiedLinkError localUnsatisfiedLinkError) {
+			// Leave the JVM running so pure Java code (snapshots, simulation, playback) still works;
+			// each native call will fail on its own instead.
 			System.err.println("Native code library failed to load. \n" + localUnsatisfiedLinkError);
-			System.exit(1);
+			error = localUnsatisfiedLinkError;
 		}
+		loadError = error;
 
-		swig_module_init();
+		if (loadError == null) {
+			swig_module_init();
+		}
 	}
 }
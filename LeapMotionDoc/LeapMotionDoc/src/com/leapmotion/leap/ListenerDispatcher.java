@@ -0,0 +1,212 @@
+package com.leapmotion.leap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code ListenerDispatcher} class runs the callbacks of many {@link Listener} objects on a
+ * shared thread pool instead of the native callback thread.<p>
+ *
+ * Each listener added through a dispatcher gets its own {@link ListenerMailbox}: a bounded queue
+ * whose callbacks run in order, one at a time, on the dispatcher's threads. The native thread only
+ * posts to the mailboxes, so a slow listener no longer delays the others, and many lightweight
+ * listeners do not each need a thread of their own:
+ *
+ * <blockquote><pre>
+ * ListenerDispatcher dispatcher = new ListenerDispatcher(4);
+ * ListenerMailbox mailbox = dispatcher.addListener(controller, analytics, 16,
+ *     ListenerMailbox.OverflowPolicy.DROP_OLDEST);
+ * // ...
+ * System.out.println(mailbox.queueDepth() + " waiting, " + mailbox.droppedCount() + " dropped");
+ * </pre></blockquote>
+ *
+ * The dispatcher keeps the listeners it adds reachable until they are removed.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class ListenerDispatcher {
+	private final Executor executor;
+	private final ExecutorService ownedExecutor;
+	private final Map<Listener, Registration> registrations = new IdentityHashMap<Listener, Registration>();
+
+	private static final class Registration {
+		final Controller controller;
+		final MailboxListener listener;
+
+		Registration(Controller controller, MailboxListener listener) {
+			this.controller = controller;
+			this.listener = listener;
+		}
+	}
+
+	private static final class MailboxListener extends Listener {
+		final ListenerMailbox mailbox;
+
+		MailboxListener(ListenerMailbox mailbox) {
+			this.mailbox = mailbox;
+		}
+
+		public void onInit(Controller controller) {
+			this.mailbox.post(ListenerMailbox.ON_INIT, controller);
+		}
+
+		public void onConnect(Controller controller) {
+			this.mailbox.post(ListenerMailbox.ON_CONNECT, controller);
+		}
+
+		public void onDisconnect(Controller controller) {
+			this.mailbox.post(ListenerMailbox.ON_DISCONNECT, controller);
+		}
+
+		public void onExit(Controller controller) {
+			this.mailbox.post(ListenerMailbox.ON_EXIT, controller);
+		}
+
+		public void onFrame(Controller controller) {
+			this.mailbox.post(ListenerMailbox.ON_FRAME, controller);
+		}
+
+		public void onFocusGained(Controller controller) {
+			this.mailbox.post(ListenerMailbox.ON_FOCUS_GAINED, controller);
+		}
+
+		public void onFocusLost(Controller controller) {
+			this.mailbox.post(ListenerMailbox.ON_FOCUS_LOST, controller);
+		}
+
+		public void onServiceConnect(Controller controller) {
+			this.mailbox.post(ListenerMailbox.ON_SERVICE_CONNECT, controller);
+		}
+
+		public void onServiceDisconnect(Controller controller) {
+			this.mailbox.post(ListenerMailbox.ON_SERVICE_DISCONNECT, controller);
+		}
+
+		public void onDeviceChange(Controller controller) {
+			this.mailbox.post(ListenerMailbox.ON_DEVICE_CHANGE, controller);
+		}
+
+		public void onImages(Controller controller) {
+			this.mailbox.post(ListenerMailbox.ON_IMAGES, controller);
+		}
+	}
+
+	/**
+	 * Constructs a dispatcher with its own pool of daemon threads.
+	 *
+	 * @param threads - The number of threads shared by all mailboxes.
+	 */
+	public ListenerDispatcher(int threads) {
+		final AtomicInteger number = new AtomicInteger();
+		this.ownedExecutor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "ListenerDispatcher " + number.getAndIncrement());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		this.executor = this.ownedExecutor;
+	}
+
+	/**
+	 * Constructs a dispatcher running mailboxes on the specified executor.
+	 * The executor is not shut down by {@link ListenerDispatcher#shutdown()}.
+	 *
+	 * @param executor - The executor that runs the callbacks.
+	 */
+	public ListenerDispatcher(Executor executor) {
+		this.executor = executor;
+		this.ownedExecutor = null;
+	}
+
+	/**
+	 * Adds a listener to a {@link Controller} so that its callbacks run through a mailbox.
+	 *
+	 * @param controller - The controller to listen to.
+	 * @param listener - The listener to call. It must not also be added to the controller directly.
+	 * @param capacity - The number of frame and image callbacks the mailbox holds.
+	 * @param policy - What happens to frame and image callbacks when the mailbox is full.
+	 *
+	 * @return The mailbox of the listener, or null if the listener was already added.
+	 */
+	public synchronized ListenerMailbox addListener(Controller controller, Listener listener, int capacity,
+			ListenerMailbox.OverflowPolicy policy) {
+		if (this.registrations.containsKey(listener)) {
+			return null;
+		}
+		ListenerMailbox mailbox = new ListenerMailbox(listener, this.executor, capacity, policy);
+		MailboxListener forwarder = new MailboxListener(mailbox);
+		if (!controller.addListener(forwarder)) {
+			forwarder.delete();
+			return null;
+		}
+		this.registrations.put(listener, new Registration(controller, forwarder));
+		return mailbox;
+	}
+
+	/**
+	 * Removes a listener added with this dispatcher. Its {@link Listener#onExit(Controller)}
+	 * callback still runs through the mailbox.
+	 *
+	 * @param listener - The listener to remove.
+	 *
+	 * @return True, if the listener was added with this dispatcher.
+	 */
+	public synchronized boolean removeListener(Listener listener) {
+		Registration registration = this.registrations.remove(listener);
+		if (registration == null) {
+			return false;
+		}
+		registration.controller.removeListener(registration.listener);
+		registration.listener.mailbox.close();
+		return true;
+	}
+
+	/**
+	 * The mailbox of a listener added with this dispatcher.
+	 *
+	 * @param listener - A listener.
+	 *
+	 * @return The mailbox, or null if the listener was not added with this dispatcher.
+	 */
+	public synchronized ListenerMailbox mailbox(Listener listener) {
+		Registration registration = this.registrations.get(listener);
+		return registration == null ? null : registration.listener.mailbox;
+	}
+
+	/**
+	 * The mailboxes of all listeners currently added with this dispatcher.
+	 *
+	 * @return A snapshot of the mailboxes.
+	 */
+	public synchronized Collection<ListenerMailbox> mailboxes() {
+		ListenerMailbox[] mailboxes = new ListenerMailbox[this.registrations.size()];
+		int i = 0;
+		for (Registration registration : this.registrations.values()) {
+			mailboxes[i++] = registration.listener.mailbox;
+		}
+		return Collections.unmodifiableList(Arrays.asList(mailboxes));
+	}
+
+	/**
+	 * Removes all listeners and, if the dispatcher created its own threads, stops them
+	 * once the remaining callbacks have run.
+	 */
+	public synchronized void shutdown() {
+		for (Listener listener : this.registrations.keySet().toArray(new Listener[0])) {
+			removeListener(listener);
+		}
+		if (this.ownedExecutor != null) {
+			this.ownedExecutor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,347 @@
+package com.leapmotion.leap;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code ListenerMailbox} class queues the callbacks of one {@link Listener} and runs them
+ * on a shared {@link Executor}, one at a time and in order.<p>
+ *
+ * A mailbox only occupies an executor thread while it has callbacks to run, so dozens of
+ * listeners can share a small thread pool, and a slow listener delays only its own mailbox.
+ * Mailboxes are created by a {@link ListenerDispatcher}.<p>
+ *
+ * All callbacks wait in one queue and run in the order they were posted. At most {@code capacity}
+ * {@link Listener#onFrame(Controller)} and {@link Listener#onImages(Controller)} callbacks may wait;
+ * when that many are waiting, the {@link OverflowPolicy} decides what happens to the next one. All
+ * other callbacks are rare state changes; they are never dropped. Once {@link Listener#onExit(Controller)}
+ * has been posted, later frame and image callbacks are discarded, so none runs after it.<p>
+ *
+ * As with any {@link Listener}, {@link Controller#frame()} returns the most recent frame at the
+ * time the callback runs, which may be newer than the frame that triggered it.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class ListenerMailbox implements Runnable {
+	/**
+	 * What a full mailbox does with a new frame or image callback.
+	 */
+	public enum OverflowPolicy {
+		/** Discards the oldest waiting callback to make room. */
+		DROP_OLDEST,
+		/** Discards the new callback. */
+		DROP_NEWEST,
+		/** Blocks the native callback thread until there is room. Delays every other listener. */
+		BLOCK
+	}
+
+	static final int ON_INIT = 0;
+	static final int ON_CONNECT = 1;
+	static final int ON_DISCONNECT = 2;
+	static final int ON_EXIT = 3;
+	static final int ON_FRAME = 4;
+	static final int ON_FOCUS_GAINED = 5;
+	static final int ON_FOCUS_LOST = 6;
+	static final int ON_SERVICE_CONNECT = 7;
+	static final int ON_SERVICE_DISCONNECT = 8;
+	static final int ON_DEVICE_CHANGE = 9;
+	static final int ON_IMAGES = 10;
+
+	private static final int BATCH = 64;
+
+	private final Listener target;
+	private final Executor executor;
+	private final OverflowPolicy policy;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notFull = this.lock.newCondition();
+	private final int capacity;
+	private int[] callbacks;
+	private Controller[] controllers;
+	private int head;
+	private int size;
+	private int frames;
+	private int highWaterMark;
+	private boolean closed;
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+	private final AtomicLong delivered = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+
+	ListenerMailbox(Listener target, Executor executor, int capacity, OverflowPolicy policy) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Mailbox capacity must be positive: " + capacity);
+		}
+		this.target = target;
+		this.executor = executor;
+		this.policy = policy;
+		this.capacity = capacity;
+		this.callbacks = new int[capacity];
+		this.controllers = new Controller[capacity];
+	}
+
+	void post(int callback, Controller controller) {
+		if (offer(callback, controller)) {
+			schedule();
+		}
+	}
+
+	private static boolean isFrame(int callback) {
+		return callback == ON_FRAME || callback == ON_IMAGES;
+	}
+
+	private boolean offer(int callback, Controller controller) {
+		boolean frame = isFrame(callback);
+		this.lock.lock();
+		try {
+			if (frame) {
+				if (this.closed) {
+					return false;
+				}
+				if (this.frames == this.capacity) {
+					switch (this.policy) {
+					case DROP_NEWEST:
+						this.dropped.incrementAndGet();
+						return false;
+					case DROP_OLDEST:
+						removeOldestFrame();
+						this.dropped.incrementAndGet();
+						break;
+					default:
+						while (this.frames == this.capacity && !this.closed) {
+							this.notFull.awaitUninterruptibly();
+						}
+						if (this.closed) {
+							return false;
+						}
+					}
+				}
+			} else if (callback == ON_EXIT) {
+				// Nothing may follow onExit; release blocked posters and refuse further frames.
+				this.closed = true;
+				this.notFull.signalAll();
+			}
+			int length = this.callbacks.length;
+			if (this.size == length) {
+				// Only state changes can fill the arrays beyond the frame capacity.
+				int[] callbacks = new int[length * 2];
+				Controller[] controllers = new Controller[length * 2];
+				for (int i = 0; i < this.size; i++) {
+					callbacks[i] = this.callbacks[(this.head + i) % length];
+					controllers[i] = this.controllers[(this.head + i) % length];
+				}
+				this.callbacks = callbacks;
+				this.controllers = controllers;
+				this.head = 0;
+				length *= 2;
+			}
+			int tail = (this.head + this.size) % length;
+			this.callbacks[tail] = callback;
+			this.controllers[tail] = controller;
+			this.size++;
+			if (frame && ++this.frames > this.highWaterMark) {
+				this.highWaterMark = this.frames;
+			}
+			return true;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the oldest waiting frame or image callback, keeping the order of the others.
+	 */
+	private void removeOldestFrame() {
+		int length = this.callbacks.length;
+		int i = 0;
+		while (!isFrame(this.callbacks[(this.head + i) % length])) {
+			i++;
+		}
+		for (; i > 0; i--) {
+			int to = (this.head + i) % length;
+			int from = (this.head + i - 1) % length;
+			this.callbacks[to] = this.callbacks[from];
+			this.controllers[to] = this.controllers[from];
+		}
+		this.controllers[this.head] = null;
+		this.head = (this.head + 1) % length;
+		this.size--;
+		this.frames--;
+	}
+
+	private void schedule() {
+		if (this.scheduled.compareAndSet(false, true)) {
+			try {
+				this.executor.execute(this);
+			} catch (RejectedExecutionException e) {
+				// The executor has been shut down; nothing will run the callbacks.
+				this.scheduled.set(false);
+			}
+		}
+	}
+
+	/**
+	 * Runs waiting callbacks on the executor thread. Not for use by applications.
+	 */
+	public void run() {
+		try {
+			for (int n = 0; n < BATCH; n++) {
+				if (!runQueued()) {
+					break;
+				}
+			}
+		} finally {
+			this.scheduled.set(false);
+		}
+		// A callback posted while the flag was still set would otherwise wait for the next post.
+		if (hasWaiting()) {
+			schedule();
+		}
+	}
+
+	private boolean runQueued() {
+		int callback;
+		Controller controller;
+		this.lock.lock();
+		try {
+			if (this.size == 0) {
+				return false;
+			}
+			callback = this.callbacks[this.head];
+			controller = this.controllers[this.head];
+			this.controllers[this.head] = null;
+			this.head = (this.head + 1) % this.callbacks.length;
+			this.size--;
+			if (isFrame(callback)) {
+				this.frames--;
+				this.notFull.signal();
+			}
+		} finally {
+			this.lock.unlock();
+		}
+		invoke(callback, controller);
+		return true;
+	}
+
+	private boolean hasWaiting() {
+		this.lock.lock();
+		try {
+			return this.size > 0;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void invoke(int callback, Controller controller) {
+		Listener target = this.target;
+		try {
+			switch (callback) {
+			case ON_INIT: target.onInit(controller); break;
+			case ON_CONNECT: target.onConnect(controller); break;
+			case ON_DISCONNECT: target.onDisconnect(controller); break;
+			case ON_EXIT: target.onExit(controller); break;
+			case ON_FRAME: target.onFrame(controller); break;
+			case ON_FOCUS_GAINED: target.onFocusGained(controller); break;
+			case ON_FOCUS_LOST: target.onFocusLost(controller); break;
+			case ON_SERVICE_CONNECT: target.onServiceConnect(controller); break;
+			case ON_SERVICE_DISCONNECT: target.onServiceDisconnect(controller); break;
+			case ON_DEVICE_CHANGE: target.onDeviceChange(controller); break;
+			case ON_IMAGES: target.onImages(controller); break;
+			default: throw new IllegalArgumentException("Unknown callback " + callback);
+			}
+			this.delivered.incrementAndGet();
+		} catch (RuntimeException e) {
+			// Keep the mailbox running; report the failure the way an uncaught exception would be.
+			this.failed.incrementAndGet();
+			Thread thread = Thread.currentThread();
+			thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+		}
+	}
+
+	void close() {
+		this.lock.lock();
+		try {
+			this.closed = true;
+			this.notFull.signalAll();
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * The listener this mailbox calls.
+	 *
+	 * @return The target listener.
+	 */
+	public Listener target() {
+		return this.target;
+	}
+
+	/**
+	 * The overflow policy of this mailbox.
+	 *
+	 * @return The overflow policy.
+	 */
+	public OverflowPolicy overflowPolicy() {
+		return this.policy;
+	}
+
+	/**
+	 * The number of frame and image callbacks waiting to run.
+	 *
+	 * @return The current queue depth.
+	 */
+	public int queueDepth() {
+		this.lock.lock();
+		try {
+			return this.frames;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * The largest queue depth seen so far.
+	 *
+	 * @return The high-water mark of {@link ListenerMailbox#queueDepth()}.
+	 */
+	public int highWaterMark() {
+		this.lock.lock();
+		try {
+			return this.highWaterMark;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * The number of callbacks that have run.
+	 *
+	 * @return The number of delivered callbacks.
+	 */
+	public long deliveredCount() {
+		return this.delivered.get();
+	}
+
+	/**
+	 * The number of frame and image callbacks discarded by the overflow policy.
+	 *
+	 * @return The number of dropped callbacks.
+	 */
+	public long droppedCount() {
+		return this.dropped.get();
+	}
+
+	/**
+	 * The number of callbacks that threw an exception.
+	 *
+	 * @return The number of failed callbacks.
+	 */
+	public long failedCount() {
+		return this.failed.get();
+	}
+}
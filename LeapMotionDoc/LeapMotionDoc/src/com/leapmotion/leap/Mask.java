@@ -48,6 +48,9 @@ public class Mask extends Interface {
 	{
 		super(LeapJNI.Mask_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.MASK);
+		}
 	}
 
 	/**
@@ -203,15 +206,13 @@ public class Mask extends Interface {
 		return paramMask == null ? 0L : paramMask.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_Mask(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_Mask(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -26,6 +26,9 @@ public class MaskList extends Interface implements Iterable<Mask> {
 	{
 		super(LeapJNI.MaskList_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.MASK_LIST);
+		}
 	}
 
 	public Iterator<Mask> iterator() { 
@@ -73,19 +76,38 @@ public class MaskList extends Interface implements Iterable<Mask> {
 		return new MaskList(LeapJNI.MaskList_append(this.swigCPtr, this, getCPtr(other), other), false);
 	}
 
-	public static long getCPtr(MaskList paramMaskList) {
-		return paramMaskList == null ? 0L : paramMaskList.swigCPtr;
+	/**
+	 * Copies the members of this list into a new array.<p>
+	 * 
+	 * The list size is read once, so this makes one fewer native call per member
+	 * than calling {@link MaskList#count()} and {@link MaskList#get(int)} in a loop.
+	 * 
+	 * <blockquote><pre>
+	 * Mask[] all = list.toArray();
+	 * </pre></blockquote>
+	 * 
+	 * @return An array of the {@link Mask} objects in this list, in list order.
+	 */
+	public Mask[] toArray() {
+		int count = count();
+		Mask[] result = new Mask[count];
+		for (int index = 0; index < count; index++) {
+			result[index] = get(index);
+		}
+		return result;
 	}
 
-	protected void finalize() {
-		delete();
+	public static long getCPtr(MaskList paramMaskList) {
+		return paramMaskList == null ? 0L : paramMaskList.swigCPtr;
 	}
 
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_MaskList(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_MaskList(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -96,9 +118,10 @@ public class MaskList extends Interface implements Iterable<Mask> {
 		public MaskListIterator() {}
 		
 		int index = 0;
+		final int count = MaskList.this.count();
 		
 		public boolean hasNext() { 
-			return this.index < MaskList.this.count(); 
+			return this.index < this.count; 
 		}
 		
 		public Mask next() {
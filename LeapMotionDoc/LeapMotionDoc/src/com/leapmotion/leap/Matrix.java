@@ -15,6 +15,7 @@ package com.leapmotion.leap;
 public class Matrix {
 	private long swigCPtr;
 	protected boolean swigCMemOwn;
+	NativeHandle swigHandle;
 
 	/**
 	 * Constructs an identity transformation matrix.
@@ -117,6 +118,9 @@ public class Matrix {
 	public Matrix(long paramLong, boolean paramBoolean) {
 		this.swigCMemOwn = paramBoolean;
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.MATRIX);
+		}
 	}
 
 	public float[] toArray3x3(float[] paramArrayOfFloat) {
@@ -391,15 +395,13 @@ public class Matrix {
 		return paramMatrix == null ? 0L : paramMatrix.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_Matrix(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_Matrix(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -0,0 +1,367 @@
+package com.leapmotion.leap;
+
+/**
+ * The {@code Matrix3x4f} class is a pure Java counterpart of the {@link Matrix} struct.<p>
+ *
+ * The matrix is stored in a single flat float array of twelve values: the x basis,
+ * the y basis, the z basis and the origin, three components each.
+ * None of its functions call into the native library or allocate;
+ * results are written into a destination supplied by the caller.
+ *
+ * <blockquote><pre>
+ * Matrix3x4f handTransform = new Matrix3x4f(hand.basis());
+ * MutableVector3f joint = new MutableVector3f();
+ * handTransform.rigidInverse(handTransform);
+ * handTransform.transformPoint(joint.set(bone.nextJoint()), joint);
+ * </pre></blockquote>
+ *
+ * Whole sets of points can be transformed in one call with
+ * {@link Matrix3x4f#transformPoints(float[], int, float[], int, int)}, which reads and writes
+ * packed x, y, z triples.<p>
+ *
+ * A {@code Matrix3x4f} is not thread safe.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public final class Matrix3x4f {
+	/** Index of the x basis x component in {@link Matrix3x4f#array()}. */
+	public static final int X_BASIS = 0;
+	/** Index of the y basis x component in {@link Matrix3x4f#array()}. */
+	public static final int Y_BASIS = 3;
+	/** Index of the z basis x component in {@link Matrix3x4f#array()}. */
+	public static final int Z_BASIS = 6;
+	/** Index of the origin x component in {@link Matrix3x4f#array()}. */
+	public static final int ORIGIN = 9;
+
+	private final float[] m = new float[12];
+
+	/**
+	 * Constructs an identity transformation matrix.
+	 */
+	public Matrix3x4f() {
+		setIdentity();
+	}
+
+	/**
+	 * Constructs a copy of the specified {@link Matrix3x4f}.
+	 *
+	 * @param other - the matrix to copy.
+	 */
+	public Matrix3x4f(Matrix3x4f other) {
+		set(other);
+	}
+
+	/**
+	 * Constructs a copy of the specified native {@link Matrix}.
+	 *
+	 * @param other - the matrix to copy.
+	 */
+	public Matrix3x4f(Matrix other) {
+		set(other);
+	}
+
+	/**
+	 * The backing array of this matrix, in x basis, y basis, z basis, origin order.<p>
+	 *
+	 * Changes to the returned array change this matrix.
+	 *
+	 * @return The twelve-element backing array.
+	 */
+	public float[] array() {
+		return this.m;
+	}
+
+	/**
+	 * Resets this matrix to the identity transform.
+	 *
+	 * @return This {@link Matrix3x4f}.
+	 */
+	public Matrix3x4f setIdentity() {
+		float[] m = this.m;
+		m[0] = 1; m[1] = 0; m[2] = 0;
+		m[3] = 0; m[4] = 1; m[5] = 0;
+		m[6] = 0; m[7] = 0; m[8] = 1;
+		m[9] = 0; m[10] = 0; m[11] = 0;
+		return this;
+	}
+
+	/**
+	 * Copies another {@link Matrix3x4f}.
+	 *
+	 * @param other - the matrix to copy.
+	 *
+	 * @return This {@link Matrix3x4f}.
+	 */
+	public Matrix3x4f set(Matrix3x4f other) {
+		System.arraycopy(other.m, 0, this.m, 0, 12);
+		return this;
+	}
+
+	/**
+	 * Copies a native {@link Matrix}.
+	 *
+	 * @param other - the matrix to copy.
+	 *
+	 * @return This {@link Matrix3x4f}.
+	 */
+	public Matrix3x4f set(Matrix other) {
+		copy(other.getXBasis(), X_BASIS);
+		copy(other.getYBasis(), Y_BASIS);
+		copy(other.getZBasis(), Z_BASIS);
+		copy(other.getOrigin(), ORIGIN);
+		return this;
+	}
+
+	private void copy(Vector v, int offset) {
+		this.m[offset] = v.getX();
+		this.m[offset + 1] = v.getY();
+		this.m[offset + 2] = v.getZ();
+	}
+
+	/**
+	 * Sets the basis vectors and origin.
+	 *
+	 * @param xBasis - rotation and scale factors for the x-axis.
+	 * @param yBasis - rotation and scale factors for the y-axis.
+	 * @param zBasis - rotation and scale factors for the z-axis.
+	 * @param origin - translation factors on all three axes.
+	 *
+	 * @return This {@link Matrix3x4f}.
+	 */
+	public Matrix3x4f set(MutableVector3f xBasis, MutableVector3f yBasis, MutableVector3f zBasis, MutableVector3f origin) {
+		xBasis.get(this.m, X_BASIS);
+		yBasis.get(this.m, Y_BASIS);
+		zBasis.get(this.m, Z_BASIS);
+		origin.get(this.m, ORIGIN);
+		return this;
+	}
+
+	/**
+	 * Sets the rotation part of this matrix to the specified rotation around an axis.
+	 * The origin is left unchanged.
+	 *
+	 * @param axis - A vector specifying the axis of rotation.
+	 * @param angleRadians - The amount of rotation in radians.
+	 *
+	 * @return This {@link Matrix3x4f}.
+	 */
+	public Matrix3x4f setRotation(MutableVector3f axis, float angleRadians) {
+		float len2 = axis.magnitudeSquared();
+		float inv = len2 <= Vector3f.EPSILON ? 0.0F : 1.0F / (float)Math.sqrt(len2);
+		float ux = axis.x * inv;
+		float uy = axis.y * inv;
+		float uz = axis.z * inv;
+		float s = (float)Math.sin(angleRadians);
+		float c = (float)Math.cos(angleRadians);
+		float t = 1.0F - c;
+		float[] m = this.m;
+		m[0] = ux * ux * t + c;      m[1] = ux * uy * t + uz * s; m[2] = ux * uz * t - uy * s;
+		m[3] = uy * ux * t - uz * s; m[4] = uy * uy * t + c;      m[5] = uy * uz * t + ux * s;
+		m[6] = uz * ux * t + uy * s; m[7] = uz * uy * t - ux * s; m[8] = uz * uz * t + c;
+		return this;
+	}
+
+	/**
+	 * Creates a native {@link Matrix} with the same bases and origin as this matrix.
+	 *
+	 * @return A new {@link Matrix} object.
+	 */
+	public Matrix toMatrix() {
+		float[] m = this.m;
+		return new Matrix(new Vector(m[0], m[1], m[2]), new Vector(m[3], m[4], m[5]),
+				new Vector(m[6], m[7], m[8]), new Vector(m[9], m[10], m[11]));
+	}
+
+	/**
+	 * Writes this matrix in the same column-major 4x4 layout as {@link Matrix#toArray4x4(float[])}.
+	 *
+	 * @param dst - An array of at least 16 elements.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public float[] toArray4x4(float[] dst) {
+		float[] m = this.m;
+		dst[0] = m[0]; dst[1] = m[1]; dst[2] = m[2]; dst[3] = 0.0F;
+		dst[4] = m[3]; dst[5] = m[4]; dst[6] = m[5]; dst[7] = 0.0F;
+		dst[8] = m[6]; dst[9] = m[7]; dst[10] = m[8]; dst[11] = 0.0F;
+		dst[12] = m[9]; dst[13] = m[10]; dst[14] = m[11]; dst[15] = 1.0F;
+		return dst;
+	}
+
+	/**
+	 * Transforms a vector with this matrix by transforming its rotation, scale, and translation.
+	 *
+	 * @param in - The point to transform.
+	 * @param dst - The destination; may be {@code in}.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f transformPoint(MutableVector3f in, MutableVector3f dst) {
+		float[] m = this.m;
+		float x = in.x, y = in.y, z = in.z;
+		return dst.set(m[0] * x + m[3] * y + m[6] * z + m[9],
+				m[1] * x + m[4] * y + m[7] * z + m[10],
+				m[2] * x + m[5] * y + m[8] * z + m[11]);
+	}
+
+	/**
+	 * Transforms a vector with this matrix by transforming its rotation and scale only.
+	 *
+	 * @param in - The direction to transform.
+	 * @param dst - The destination; may be {@code in}.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f transformDirection(MutableVector3f in, MutableVector3f dst) {
+		float[] m = this.m;
+		float x = in.x, y = in.y, z = in.z;
+		return dst.set(m[0] * x + m[3] * y + m[6] * z,
+				m[1] * x + m[4] * y + m[7] * z,
+				m[2] * x + m[5] * y + m[8] * z);
+	}
+
+	/**
+	 * Transforms {@code count} packed x, y, z points.<p>
+	 *
+	 * {@code src} and {@code dst} may be the same array, as long as the ranges either
+	 * coincide exactly or do not overlap.
+	 *
+	 * <blockquote><pre>
+	 * float[] joints = new float[5 * 4 * 3];
+	 * // ... fill with packed joint positions
+	 * worldTransform.transformPoints(joints, 0, joints, 0, 20);
+	 * </pre></blockquote>
+	 *
+	 * @param src - The packed source points.
+	 * @param srcOffset - The index of the first source x component.
+	 * @param dst - The packed destination points.
+	 * @param dstOffset - The index of the first destination x component.
+	 * @param count - The number of points to transform.
+	 */
+	public void transformPoints(float[] src, int srcOffset, float[] dst, int dstOffset, int count) {
+		float[] m = this.m;
+		float m0 = m[0], m1 = m[1], m2 = m[2], m3 = m[3], m4 = m[4], m5 = m[5];
+		float m6 = m[6], m7 = m[7], m8 = m[8], m9 = m[9], m10 = m[10], m11 = m[11];
+		int end = srcOffset + count * 3;
+		for (int s = srcOffset, d = dstOffset; s < end; s += 3, d += 3) {
+			float x = src[s], y = src[s + 1], z = src[s + 2];
+			dst[d] = m0 * x + m3 * y + m6 * z + m9;
+			dst[d + 1] = m1 * x + m4 * y + m7 * z + m10;
+			dst[d + 2] = m2 * x + m5 * y + m8 * z + m11;
+		}
+	}
+
+	/**
+	 * Transforms {@code count} packed x, y, z directions, ignoring the origin.<p>
+	 *
+	 * {@code src} and {@code dst} may be the same array, as long as the ranges either
+	 * coincide exactly or do not overlap.
+	 *
+	 * @param src - The packed source directions.
+	 * @param srcOffset - The index of the first source x component.
+	 * @param dst - The packed destination directions.
+	 * @param dstOffset - The index of the first destination x component.
+	 * @param count - The number of directions to transform.
+	 */
+	public void transformDirections(float[] src, int srcOffset, float[] dst, int dstOffset, int count) {
+		float[] m = this.m;
+		float m0 = m[0], m1 = m[1], m2 = m[2], m3 = m[3], m4 = m[4], m5 = m[5];
+		float m6 = m[6], m7 = m[7], m8 = m[8];
+		int end = srcOffset + count * 3;
+		for (int s = srcOffset, d = dstOffset; s < end; s += 3, d += 3) {
+			float x = src[s], y = src[s + 1], z = src[s + 2];
+			dst[d] = m0 * x + m3 * y + m6 * z;
+			dst[d + 1] = m1 * x + m4 * y + m7 * z;
+			dst[d + 2] = m2 * x + m5 * y + m8 * z;
+		}
+	}
+
+	/**
+	 * Multiply transform matrices.<p>
+	 *
+	 * Combines two transformations into a single equivalent transformation:
+	 * the result applies {@code other} first and then this matrix.
+	 *
+	 * @param other - The matrix to multiply on the right.
+	 * @param dst - The destination; may be this matrix or {@code other}.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public Matrix3x4f times(Matrix3x4f other, Matrix3x4f dst) {
+		float[] a = this.m;
+		float[] b = other.m;
+		float a0 = a[0], a1 = a[1], a2 = a[2], a3 = a[3], a4 = a[4], a5 = a[5];
+		float a6 = a[6], a7 = a[7], a8 = a[8], a9 = a[9], a10 = a[10], a11 = a[11];
+		float b0 = b[0], b1 = b[1], b2 = b[2], b3 = b[3], b4 = b[4], b5 = b[5];
+		float b6 = b[6], b7 = b[7], b8 = b[8], b9 = b[9], b10 = b[10], b11 = b[11];
+		float[] d = dst.m;
+		d[0] = a0 * b0 + a3 * b1 + a6 * b2;
+		d[1] = a1 * b0 + a4 * b1 + a7 * b2;
+		d[2] = a2 * b0 + a5 * b1 + a8 * b2;
+		d[3] = a0 * b3 + a3 * b4 + a6 * b5;
+		d[4] = a1 * b3 + a4 * b4 + a7 * b5;
+		d[5] = a2 * b3 + a5 * b4 + a8 * b5;
+		d[6] = a0 * b6 + a3 * b7 + a6 * b8;
+		d[7] = a1 * b6 + a4 * b7 + a7 * b8;
+		d[8] = a2 * b6 + a5 * b7 + a8 * b8;
+		d[9] = a0 * b9 + a3 * b10 + a6 * b11 + a9;
+		d[10] = a1 * b9 + a4 * b10 + a7 * b11 + a10;
+		d[11] = a2 * b9 + a5 * b10 + a8 * b11 + a11;
+		return dst;
+	}
+
+	/**
+	 * Performs a matrix inverse if the matrix consists entirely of rigid transformations
+	 * (translations and rotations). If the matrix is not rigid, this operation will not represent an inverse.
+	 *
+	 * @param dst - The destination; may be this matrix.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public Matrix3x4f rigidInverse(Matrix3x4f dst) {
+		float[] m = this.m;
+		float r0 = m[0], r1 = m[3], r2 = m[6];
+		float r3 = m[1], r4 = m[4], r5 = m[7];
+		float r6 = m[2], r7 = m[5], r8 = m[8];
+		float ox = -m[9], oy = -m[10], oz = -m[11];
+		float[] d = dst.m;
+		d[0] = r0; d[1] = r1; d[2] = r2;
+		d[3] = r3; d[4] = r4; d[5] = r5;
+		d[6] = r6; d[7] = r7; d[8] = r8;
+		d[9] = r0 * ox + r3 * oy + r6 * oz;
+		d[10] = r1 * ox + r4 * oy + r7 * oz;
+		d[11] = r2 * ox + r5 * oy + r8 * oz;
+		return dst;
+	}
+
+	/**
+	 * Compare {@link Matrix3x4f} equality component-wise.
+	 *
+	 * @param other - The {@link Matrix3x4f} to compare.
+	 *
+	 * @return true if all twelve components are equal.
+	 */
+	public boolean equals(Matrix3x4f other) {
+		if (other == null) {
+			return false;
+		}
+		for (int i = 0; i < 12; i++) {
+			if (this.m[i] != other.m[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Write the matrix to a string in a human readable format.
+	 *
+	 * @return A description of the {@link Matrix3x4f} object as a string.
+	 */
+	public String toString() {
+		float[] m = this.m;
+		return "xBasis: (" + m[0] + ", " + m[1] + ", " + m[2] + ") yBasis: (" + m[3] + ", " + m[4] + ", " + m[5]
+				+ ") zBasis: (" + m[6] + ", " + m[7] + ", " + m[8] + ") origin: (" + m[9] + ", " + m[10] + ", " + m[11] + ")";
+	}
+}
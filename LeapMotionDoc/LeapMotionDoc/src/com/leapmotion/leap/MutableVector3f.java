@@ -0,0 +1,288 @@
+package com.leapmotion.leap;
+
+/**
+ * The {@code MutableVector3f} class is a reusable, pure Java three-component vector.<p>
+ *
+ * Where {@link Vector} and {@link Vector3f} return a new object from every operation,
+ * the functions of this class write their result into a destination supplied by the caller.
+ * Allocate the vectors you need once and reuse them for every frame:
+ *
+ * <blockquote><pre>
+ * MutableVector3f prev = new MutableVector3f();
+ * MutableVector3f next = new MutableVector3f();
+ * MutableVector3f dir = new MutableVector3f();
+ *
+ * public void onFrame(Controller controller) {
+ *     for (Bone bone : bones) {
+ *         prev.set(bone.prevJoint());
+ *         next.set(bone.nextJoint());
+ *         MutableVector3f.subtractInto(next, prev, dir).normalizeInPlace();
+ *         // ... Use dir
+ *     }
+ * }
+ * </pre></blockquote>
+ *
+ * The destination of every function may be the same object as one of its operands.
+ * A {@code MutableVector3f} is not thread safe.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public final class MutableVector3f {
+	public float x;
+	public float y;
+	public float z;
+
+	/**
+	 * Creates a new {@link MutableVector3f} with all components set to zero.
+	 */
+	public MutableVector3f() {
+	}
+
+	/**
+	 * Creates a new {@link MutableVector3f} with the specified component values.
+	 *
+	 * @param x - The horizontal component.
+	 * @param y - The vertical component.
+	 * @param z - The depth component.
+	 */
+	public MutableVector3f(float x, float y, float z) {
+		set(x, y, z);
+	}
+
+	/**
+	 * Sets all three components.
+	 *
+	 * @param x - The horizontal component.
+	 * @param y - The vertical component.
+	 * @param z - The depth component.
+	 *
+	 * @return This {@link MutableVector3f}.
+	 */
+	public MutableVector3f set(float x, float y, float z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		return this;
+	}
+
+	/**
+	 * Copies the components of another {@link MutableVector3f}.
+	 *
+	 * @param other - The vector to copy.
+	 *
+	 * @return This {@link MutableVector3f}.
+	 */
+	public MutableVector3f set(MutableVector3f other) {
+		return set(other.x, other.y, other.z);
+	}
+
+	/**
+	 * Copies the components of a {@link Vector3f}.
+	 *
+	 * @param other - The vector to copy.
+	 *
+	 * @return This {@link MutableVector3f}.
+	 */
+	public MutableVector3f set(Vector3f other) {
+		return set(other.getX(), other.getY(), other.getZ());
+	}
+
+	/**
+	 * Copies the components of a native {@link Vector}.
+	 *
+	 * @param other - The vector to copy.
+	 *
+	 * @return This {@link MutableVector3f}.
+	 */
+	public MutableVector3f set(Vector other) {
+		return set(other.getX(), other.getY(), other.getZ());
+	}
+
+	/**
+	 * Copies three consecutive values of a packed float array.
+	 *
+	 * @param array - An array of packed x, y, z values.
+	 * @param offset - The index of the x component.
+	 *
+	 * @return This {@link MutableVector3f}.
+	 */
+	public MutableVector3f set(float[] array, int offset) {
+		return set(array[offset], array[offset + 1], array[offset + 2]);
+	}
+
+	/**
+	 * Writes the components into three consecutive values of a packed float array.
+	 *
+	 * @param array - An array of packed x, y, z values.
+	 * @param offset - The index of the x component.
+	 */
+	public void get(float[] array, int offset) {
+		array[offset] = this.x;
+		array[offset + 1] = this.y;
+		array[offset + 2] = this.z;
+	}
+
+	/**
+	 * Returns an immutable copy of this vector.
+	 *
+	 * @return A new {@link Vector3f}.
+	 */
+	public Vector3f toVector3f() {
+		return new Vector3f(this.x, this.y, this.z);
+	}
+
+	/**
+	 * The magnitude, or length, of this vector.
+	 *
+	 * @return The length of this vector.
+	 */
+	public float magnitude() {
+		return (float)Math.sqrt(magnitudeSquared());
+	}
+
+	/**
+	 * The square of the magnitude, or length, of this vector.
+	 *
+	 * @return The square of the length of this vector.
+	 */
+	public float magnitudeSquared() {
+		return this.x * this.x + this.y * this.y + this.z * this.z;
+	}
+
+	/**
+	 * The distance between the points represented by this vector and the specified vector.
+	 *
+	 * @param other - A {@link MutableVector3f} object.
+	 *
+	 * @return The distance from this point to the specified point.
+	 */
+	public float distanceTo(MutableVector3f other) {
+		float dx = this.x - other.x;
+		float dy = this.y - other.y;
+		float dz = this.z - other.z;
+		return (float)Math.sqrt(dx * dx + dy * dy + dz * dz);
+	}
+
+	/**
+	 * The dot product of this vector with another vector.
+	 *
+	 * @param other - A {@link MutableVector3f} object.
+	 *
+	 * @return The dot product of this vector and the specified vector.
+	 */
+	public float dot(MutableVector3f other) {
+		return this.x * other.x + this.y * other.y + this.z * other.z;
+	}
+
+	/**
+	 * Scales this vector to unit length.<p>
+	 *
+	 * If this vector has zero length, it is set to the zero vector,
+	 * which matches {@link Vector#normalized()}.
+	 *
+	 * @return This {@link MutableVector3f}.
+	 */
+	public MutableVector3f normalizeInPlace() {
+		float denom = magnitudeSquared();
+		if (denom <= Vector3f.EPSILON) {
+			return set(0, 0, 0);
+		}
+		return scaleInPlace(1.0F / (float)Math.sqrt(denom));
+	}
+
+	/**
+	 * Multiplies every component of this vector by a scalar.
+	 *
+	 * @param scalar - a given scalar.
+	 *
+	 * @return This {@link MutableVector3f}.
+	 */
+	public MutableVector3f scaleInPlace(float scalar) {
+		return set(this.x * scalar, this.y * scalar, this.z * scalar);
+	}
+
+	/**
+	 * Negates every component of this vector.
+	 *
+	 * @return This {@link MutableVector3f}.
+	 */
+	public MutableVector3f negateInPlace() {
+		return set(-this.x, -this.y, -this.z);
+	}
+
+	/**
+	 * Stores {@code a + b} in {@code dst}.
+	 *
+	 * @param a - The first operand.
+	 * @param b - The second operand.
+	 * @param dst - The destination; may be {@code a} or {@code b}.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public static MutableVector3f addInto(MutableVector3f a, MutableVector3f b, MutableVector3f dst) {
+		return dst.set(a.x + b.x, a.y + b.y, a.z + b.z);
+	}
+
+	/**
+	 * Stores {@code a - b} in {@code dst}.
+	 *
+	 * @param a - The first operand.
+	 * @param b - The second operand.
+	 * @param dst - The destination; may be {@code a} or {@code b}.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public static MutableVector3f subtractInto(MutableVector3f a, MutableVector3f b, MutableVector3f dst) {
+		return dst.set(a.x - b.x, a.y - b.y, a.z - b.z);
+	}
+
+	/**
+	 * Stores {@code a * scalar} in {@code dst}.
+	 *
+	 * @param a - The vector operand.
+	 * @param scalar - a given scalar.
+	 * @param dst - The destination; may be {@code a}.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public static MutableVector3f scaleInto(MutableVector3f a, float scalar, MutableVector3f dst) {
+		return dst.set(a.x * scalar, a.y * scalar, a.z * scalar);
+	}
+
+	/**
+	 * Stores the cross product {@code a x b} in {@code dst}.
+	 *
+	 * @param a - The first operand.
+	 * @param b - The second operand.
+	 * @param dst - The destination; may be {@code a} or {@code b}.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public static MutableVector3f crossInto(MutableVector3f a, MutableVector3f b, MutableVector3f dst) {
+		return dst.set(a.y * b.z - a.z * b.y, a.z * b.x - a.x * b.z, a.x * b.y - a.y * b.x);
+	}
+
+	/**
+	 * Stores the linear interpolation {@code a + (b - a) * t} in {@code dst}.
+	 *
+	 * @param a - The value at {@code t == 0}.
+	 * @param b - The value at {@code t == 1}.
+	 * @param t - The interpolation parameter.
+	 * @param dst - The destination; may be {@code a} or {@code b}.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public static MutableVector3f lerpInto(MutableVector3f a, MutableVector3f b, float t, MutableVector3f dst) {
+		return dst.set(a.x + (b.x - a.x) * t, a.y + (b.y - a.y) * t, a.z + (b.z - a.z) * t);
+	}
+
+	/**
+	 * Returns a string containing this vector in a human readable format: (x, y, z).
+	 *
+	 * @return A description of the {@link MutableVector3f} object as a string.
+	 */
+	public String toString() {
+		return "(" + this.x + ", " + this.y + ", " + this.z + ")";
+	}
+}
@@ -0,0 +1,88 @@
+package com.leapmotion.leap;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Tracks the native object owned by one wrapper, so that it is deleted exactly once:
+ * by the wrapper's {@code delete()}, by the {@link FrameScope} it was created in,
+ * or by the cleaner thread after the wrapper has become unreachable.<p>
+ *
+ * Wrappers created in a {@link FrameArena} all share one handle of their arena, which never
+ * lets them release their native object themselves.
+ */
+final class NativeHandle extends PhantomReference<Object> {
+	static final int INTERFACE = 0;
+	static final int INTERFACE_IMPLEMENTATION = 1;
+	static final int ARM = 2;
+	static final int BONE = 3;
+	static final int BUG_REPORT = 4;
+	static final int CIRCLE_GESTURE = 5;
+	static final int CONFIG = 6;
+	static final int CONTROLLER = 7;
+	static final int DEVICE = 8;
+	static final int DEVICE_LIST = 9;
+	static final int FINGER = 10;
+	static final int FINGER_LIST = 11;
+	static final int FRAME = 12;
+	static final int GESTURE = 13;
+	static final int GESTURE_LIST = 14;
+	static final int HAND = 15;
+	static final int HAND_LIST = 16;
+	static final int IMAGE = 17;
+	static final int IMAGE_LIST = 18;
+	static final int INTERACTION_BOX = 19;
+	static final int KEY_TAP_GESTURE = 20;
+	static final int MASK = 21;
+	static final int MASK_LIST = 22;
+	static final int MATRIX = 23;
+	static final int POINTABLE = 24;
+	static final int POINTABLE_LIST = 25;
+	static final int SCREEN = 26;
+	static final int SCREEN_LIST = 27;
+	static final int SCREEN_TAP_GESTURE = 28;
+	static final int SWIPE_GESTURE = 29;
+	static final int TOOL = 30;
+	static final int TOOL_LIST = 31;
+	static final int TRACKED_QUAD = 32;
+	static final int VECTOR = 33;
+	static final int KIND_COUNT = 34;
+
+	static final int LIVE = 0;
+	static final int RELEASED = 1;
+
+	private static final AtomicIntegerFieldUpdater<NativeHandle> STATE =
+			AtomicIntegerFieldUpdater.newUpdater(NativeHandle.class, "state");
+
+	// Written only while the wrapper is being constructed, before the handle can be released.
+	int kind;
+	long cPtr;
+	final boolean scoped;
+	final FrameArena arena;
+	private volatile int state;
+
+	NativeHandle(Object wrapper, ReferenceQueue<Object> queue, int kind, long cPtr) {
+		super(wrapper, queue);
+		this.kind = kind;
+		this.cPtr = cPtr;
+		this.scoped = queue == null;
+		this.arena = null;
+	}
+
+	NativeHandle(FrameArena arena) {
+		super(null, null);
+		this.kind = -1;
+		this.scoped = true;
+		this.arena = arena;
+		this.state = RELEASED;
+	}
+
+	boolean markReleased() {
+		return STATE.compareAndSet(this, LIVE, RELEASED);
+	}
+
+	boolean isLive() {
+		return this.state == LIVE;
+	}
+}
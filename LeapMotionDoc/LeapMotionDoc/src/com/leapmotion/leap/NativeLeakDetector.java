@@ -0,0 +1,391 @@
+package com.leapmotion.leap;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The {@code NativeLeakDetector} class is an opt-in diagnostic that accounts for the native
+ * objects owned by wrapper objects.<p>
+ *
+ * Native memory does not show up in heap dumps, so wrappers that are neither deleted nor
+ * released by a {@link FrameScope} or {@link FrameArena} (for example frames kept from
+ * {@link Controller#frame(int)}) accumulate unnoticed until the garbage collector happens to
+ * find them. While enabled, the detector counts wrapper allocations by type, counts every native
+ * object the garbage collector had to release (a leak), and records the allocation stack of one
+ * in every {@code sampleInterval} wrappers:
+ *
+ * <blockquote><pre>
+ * NativeLeakDetector.enable(100, 60); // sample 1 in 100 wrappers, log a report every minute
+ * // ...
+ * System.out.println(NativeLeakDetector.report());
+ * </pre></blockquote>
+ *
+ * Reports list live counts, allocation rates and leak counts per wrapper class, the allocation
+ * sites of sampled leaks, and sampled wrappers that have stayed alive longer than
+ * {@link NativeLeakDetector#setLongLivedMillis(long)}. They are logged at {@code INFO} level to the
+ * {@code com.leapmotion.leap.NativeLeakDetector} logger and are available through the
+ * {@link NativeLeakDetectorMXBean} registered while the detector is enabled.<p>
+ *
+ * Sampling captures a stack trace, so keep the interval high in production. Objects created before
+ * the detector was enabled are counted as live but not as allocations.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public final class NativeLeakDetector {
+	private static final Logger LOG = Logger.getLogger(NativeLeakDetector.class.getName());
+	private static final String OBJECT_NAME = "com.leapmotion.leap:type=NativeLeakDetector";
+	private static final int MAX_LEAK_SITES = 64;
+	private static final int MAX_SITE_FRAMES = 8;
+	private static final int MAX_LONG_LIVED = 10;
+
+	static volatile boolean enabled;
+
+	private static volatile int sampleInterval = 1000;
+	private static volatile long longLivedMillis = 10000L;
+	private static final AtomicLong sampleCounter = new AtomicLong();
+	private static final AtomicLongArray allocated = new AtomicLongArray(NativeHandle.KIND_COUNT);
+	private static final AtomicLongArray leaked = new AtomicLongArray(NativeHandle.KIND_COUNT);
+	private static final ConcurrentHashMap<NativeHandle, Sample> samples = new ConcurrentHashMap<NativeHandle, Sample>();
+	private static final ConcurrentHashMap<String, AtomicLong> leakSites = new ConcurrentHashMap<String, AtomicLong>();
+	private static final long[] lastAllocated = new long[NativeHandle.KIND_COUNT];
+	private static long lastReportNanos;
+	private static ScheduledExecutorService reporter;
+
+	private static final class Sample {
+		final Throwable site;
+		final long createdMillis;
+
+		Sample(Throwable site) {
+			this.site = site;
+			this.createdMillis = System.currentTimeMillis();
+		}
+	}
+
+	private static final class Bean implements NativeLeakDetectorMXBean {
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public int getSampleInterval() {
+			return sampleInterval;
+		}
+
+		public void setSampleInterval(int interval) {
+			NativeLeakDetector.setSampleInterval(interval);
+		}
+
+		public Map<String, Long> getLiveCounts() {
+			Map<String, Long> counts = new LinkedHashMap<String, Long>();
+			for (int kind = 0; kind < NativeHandle.KIND_COUNT; kind++) {
+				long live = NativeObjects.liveCount(NativeObjects.type(kind));
+				if (live != 0) {
+					counts.put(name(kind), live);
+				}
+			}
+			return counts;
+		}
+
+		public Map<String, Long> getAllocationCounts() {
+			return toMap(allocated);
+		}
+
+		public Map<String, Long> getLeakCounts() {
+			return toMap(leaked);
+		}
+
+		public String[] getLeakSites() {
+			List<Map.Entry<String, AtomicLong>> sites = sortedLeakSites();
+			String[] result = new String[sites.size()];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = sites.get(i).getValue().get() + " x " + sites.get(i).getKey();
+			}
+			return result;
+		}
+
+		public String getReport() {
+			return report();
+		}
+	}
+
+	private NativeLeakDetector() {
+	}
+
+	/**
+	 * Starts recording, registers the {@link NativeLeakDetectorMXBean} and, if {@code logPeriodSeconds}
+	 * is positive, starts logging a report at that period. Calling it again changes the settings.
+	 *
+	 * @param sampleInterval - Record the allocation stack of one in this many wrappers; 1 records all.
+	 * @param logPeriodSeconds - The time between logged reports, or 0 for no logging.
+	 */
+	public static synchronized void enable(int sampleInterval, long logPeriodSeconds) {
+		setSampleInterval(sampleInterval);
+		if (!enabled) {
+			lastReportNanos = System.nanoTime();
+			enabled = true;
+			registerBean();
+		}
+		if (reporter != null) {
+			reporter.shutdownNow();
+			reporter = null;
+		}
+		if (logPeriodSeconds > 0) {
+			reporter = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "NativeLeakDetector");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			reporter.scheduleAtFixedRate(new Runnable() {
+				public void run() {
+					LOG.info(report());
+				}
+			}, logPeriodSeconds, logPeriodSeconds, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Stops recording and logging, unregisters the MXBean and discards all recorded data.
+	 */
+	public static synchronized void disable() {
+		if (!enabled) {
+			return;
+		}
+		enabled = false;
+		if (reporter != null) {
+			reporter.shutdownNow();
+			reporter = null;
+		}
+		unregisterBean();
+		samples.clear();
+		leakSites.clear();
+		for (int kind = 0; kind < NativeHandle.KIND_COUNT; kind++) {
+			allocated.set(kind, 0);
+			leaked.set(kind, 0);
+			lastAllocated[kind] = 0;
+		}
+	}
+
+	/**
+	 * Whether the detector is recording.
+	 *
+	 * @return True, if enabled.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Changes how often allocation stacks are recorded.
+	 *
+	 * @param interval - Record the allocation stack of one in this many wrappers; 1 records all.
+	 */
+	public static void setSampleInterval(int interval) {
+		if (interval <= 0) {
+			throw new IllegalArgumentException("Sample interval must be positive: " + interval);
+		}
+		sampleInterval = interval;
+	}
+
+	/**
+	 * Sets the age after which a sampled live wrapper is listed in reports. The default is 10 seconds.
+	 *
+	 * @param millis - The age in milliseconds.
+	 */
+	public static void setLongLivedMillis(long millis) {
+		longLivedMillis = millis;
+	}
+
+	static void allocated(NativeHandle handle, int kind) {
+		allocated.incrementAndGet(kind);
+		if (handle != null && sampleCounter.incrementAndGet() % sampleInterval == 0) {
+			samples.put(handle, new Sample(new Throwable("Allocation site")));
+		}
+	}
+
+	static void retagged(int oldKind, int newKind) {
+		allocated.decrementAndGet(oldKind);
+		allocated.incrementAndGet(newKind);
+	}
+
+	static void released(NativeHandle handle) {
+		samples.remove(handle);
+	}
+
+	static void moved(NativeHandle from, NativeHandle to) {
+		Sample sample = samples.remove(from);
+		if (sample != null) {
+			samples.put(to, sample);
+		}
+	}
+
+	static void collected(NativeHandle handle) {
+		leaked.incrementAndGet(handle.kind);
+		Sample sample = samples.remove(handle);
+		if (sample != null) {
+			String site = name(handle.kind) + " allocated" + format(sample.site);
+			AtomicLong count = leakSites.get(site);
+			if (count == null && leakSites.size() < MAX_LEAK_SITES) {
+				AtomicLong created = new AtomicLong();
+				count = leakSites.putIfAbsent(site, created);
+				if (count == null) {
+					count = created;
+				}
+			}
+			if (count != null) {
+				count.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Builds a text report of the current state. Allocation rates are measured since the previous report.
+	 *
+	 * @return The report.
+	 */
+	public static synchronized String report() {
+		long now = System.nanoTime();
+		double seconds = Math.max((now - lastReportNanos) / 1e9, 1e-9);
+		lastReportNanos = now;
+		StringBuilder out = new StringBuilder();
+		out.append("Native objects: ").append(NativeObjects.liveCount()).append(" live");
+		if (!enabled) {
+			return out.append(" (leak detector disabled)").toString();
+		}
+		out.append(String.format("%n%-18s %10s %12s %12s %10s", "type", "live", "allocated", "alloc/s", "leaked"));
+		for (int kind = 0; kind < NativeHandle.KIND_COUNT; kind++) {
+			long live = NativeObjects.liveCount(NativeObjects.type(kind));
+			long total = allocated.get(kind);
+			long leaks = leaked.get(kind);
+			double rate = (total - lastAllocated[kind]) / seconds;
+			lastAllocated[kind] = total;
+			if (live != 0 || total != 0 || leaks != 0) {
+				out.append(String.format("%n%-18s %10d %12d %12.1f %10d", name(kind), live, total, rate, leaks));
+			}
+		}
+		List<Map.Entry<String, AtomicLong>> sites = sortedLeakSites();
+		if (!sites.isEmpty()) {
+			out.append(String.format("%nSampled leak sites:"));
+			for (Map.Entry<String, AtomicLong> site : sites) {
+				out.append(String.format("%n%d x %s", site.getValue().get(), site.getKey()));
+			}
+		}
+		appendLongLived(out);
+		return out.toString();
+	}
+
+	private static void appendLongLived(StringBuilder out) {
+		final long cutoff = System.currentTimeMillis() - longLivedMillis;
+		List<Map.Entry<NativeHandle, Sample>> old = new ArrayList<Map.Entry<NativeHandle, Sample>>();
+		for (Map.Entry<NativeHandle, Sample> entry : samples.entrySet()) {
+			if (entry.getValue().createdMillis < cutoff && entry.getKey().isLive()) {
+				old.add(entry);
+			}
+		}
+		if (old.isEmpty()) {
+			return;
+		}
+		Collections.sort(old, new Comparator<Map.Entry<NativeHandle, Sample>>() {
+			public int compare(Map.Entry<NativeHandle, Sample> a, Map.Entry<NativeHandle, Sample> b) {
+				long x = a.getValue().createdMillis;
+				long y = b.getValue().createdMillis;
+				return x < y ? -1 : x == y ? 0 : 1;
+			}
+		});
+		out.append(String.format("%nSampled wrappers alive for more than %d ms: %d", longLivedMillis, old.size()));
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < old.size() && i < MAX_LONG_LIVED; i++) {
+			Map.Entry<NativeHandle, Sample> entry = old.get(i);
+			out.append(String.format("%n%s, %d ms old, allocated%s", name(entry.getKey().kind),
+					now - entry.getValue().createdMillis, format(entry.getValue().site)));
+		}
+	}
+
+	private static List<Map.Entry<String, AtomicLong>> sortedLeakSites() {
+		List<Map.Entry<String, AtomicLong>> sites = new ArrayList<Map.Entry<String, AtomicLong>>(leakSites.entrySet());
+		Collections.sort(sites, new Comparator<Map.Entry<String, AtomicLong>>() {
+			public int compare(Map.Entry<String, AtomicLong> a, Map.Entry<String, AtomicLong> b) {
+				long x = a.getValue().get();
+				long y = b.getValue().get();
+				return x > y ? -1 : x == y ? 0 : 1;
+			}
+		});
+		return sites;
+	}
+
+	// Skips the frames of this package's bookkeeping so the first line is the caller's code.
+	private static String format(Throwable site) {
+		StringBuilder out = new StringBuilder();
+		int frames = 0;
+		for (StackTraceElement element : site.getStackTrace()) {
+			String className = element.getClassName();
+			if (frames == 0 && className.startsWith("com.leapmotion.leap.Native")) {
+				continue;
+			}
+			out.append("\n\tat ").append(element);
+			if (++frames == MAX_SITE_FRAMES) {
+				break;
+			}
+		}
+		return out.toString();
+	}
+
+	private static Map<String, Long> toMap(AtomicLongArray counts) {
+		Map<String, Long> map = new LinkedHashMap<String, Long>();
+		for (int kind = 0; kind < NativeHandle.KIND_COUNT; kind++) {
+			long count = counts.get(kind);
+			if (count != 0) {
+				map.put(name(kind), count);
+			}
+		}
+		return map;
+	}
+
+	private static String name(int kind) {
+		Class<?> type = NativeObjects.type(kind);
+		return type == Interface.Implementation.class ? "Interface.Implementation" : type.getSimpleName();
+	}
+
+	private static void registerBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(new Bean(), name);
+			}
+		} catch (JMException e) {
+			LOG.log(Level.WARNING, "Cannot register " + OBJECT_NAME, e);
+		}
+	}
+
+	private static void unregisterBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+		} catch (JMException e) {
+			LOG.log(Level.WARNING, "Cannot unregister " + OBJECT_NAME, e);
+		}
+	}
+}
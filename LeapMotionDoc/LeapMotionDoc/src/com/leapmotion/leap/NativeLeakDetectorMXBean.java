@@ -0,0 +1,69 @@
+package com.leapmotion.leap;
+
+import java.util.Map;
+
+/**
+ * The management interface of the {@link NativeLeakDetector}, registered as
+ * {@code com.leapmotion.leap:type=NativeLeakDetector} while the detector is enabled.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public interface NativeLeakDetectorMXBean {
+	/**
+	 * Whether the detector is recording.
+	 *
+	 * @return True, if enabled.
+	 */
+	boolean isEnabled();
+
+	/**
+	 * One in how many tracked wrappers has its allocation stack recorded.
+	 *
+	 * @return The sample interval.
+	 */
+	int getSampleInterval();
+
+	/**
+	 * Changes the sample interval.
+	 *
+	 * @param interval - One in how many wrappers to sample; 1 samples every wrapper.
+	 */
+	void setSampleInterval(int interval);
+
+	/**
+	 * The number of live native objects owned by wrappers, by wrapper class name.
+	 *
+	 * @return The live counts of all types with a nonzero count.
+	 */
+	Map<String, Long> getLiveCounts();
+
+	/**
+	 * The number of owning wrappers created since the detector was enabled, by wrapper class name.
+	 *
+	 * @return The allocation counts.
+	 */
+	Map<String, Long> getAllocationCounts();
+
+	/**
+	 * The number of native objects released by the garbage collector instead of by
+	 * {@code delete()}, a {@link FrameScope} or a {@link FrameArena}, by wrapper class name.
+	 *
+	 * @return The leak counts.
+	 */
+	Map<String, Long> getLeakCounts();
+
+	/**
+	 * The sampled allocation sites of leaked wrappers, most frequent first.
+	 *
+	 * @return One entry per site, starting with its count.
+	 */
+	String[] getLeakSites();
+
+	/**
+	 * A text report of all the above, plus sampled wrappers that have been alive for a long time.
+	 *
+	 * @return The report.
+	 */
+	String getReport();
+}
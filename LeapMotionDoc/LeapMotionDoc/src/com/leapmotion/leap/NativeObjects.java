@@ -0,0 +1,285 @@
+package com.leapmotion.leap;
+
+import java.lang.ref.ReferenceQueue;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The {@code NativeObjects} class reports on the native objects owned by wrapper objects
+ * such as {@link Frame}, {@link Hand} and {@link Vector}.<p>
+ *
+ * A wrapper that owns a native object releases it when {@code delete()} is called, when the
+ * {@link FrameScope} it was created in is closed, or, failing both, after the garbage collector
+ * finds the wrapper unreachable. The last case is handled by a single daemon cleaner thread
+ * using phantom references, which unlike finalizers do not delay the collection of the wrapper
+ * itself.<p>
+ *
+ * Native memory is invisible to the Java heap, so a steadily growing
+ * {@link NativeObjects#liveCount()} is the first sign of wrappers that are neither deleted nor
+ * scoped:
+ *
+ * <blockquote><pre>
+ * System.out.println(NativeObjects.liveCount() + " native objects, "
+ *     + NativeObjects.liveCount(Frame.class) + " of them frames");
+ * </pre></blockquote>
+ *
+ * {@link Listener} objects are not counted; they are released by their finalizer as before.
+ * For counts by allocation site and leak reports, enable the {@link NativeLeakDetector}.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public final class NativeObjects {
+	private static final Class<?>[] TYPES = new Class<?>[NativeHandle.KIND_COUNT];
+
+	static {
+		TYPES[NativeHandle.INTERFACE] = Interface.class;
+		TYPES[NativeHandle.INTERFACE_IMPLEMENTATION] = Interface.Implementation.class;
+		TYPES[NativeHandle.ARM] = Arm.class;
+		TYPES[NativeHandle.BONE] = Bone.class;
+		TYPES[NativeHandle.BUG_REPORT] = BugReport.class;
+		TYPES[NativeHandle.CIRCLE_GESTURE] = CircleGesture.class;
+		TYPES[NativeHandle.CONFIG] = Config.class;
+		TYPES[NativeHandle.CONTROLLER] = Controller.class;
+		TYPES[NativeHandle.DEVICE] = Device.class;
+		TYPES[NativeHandle.DEVICE_LIST] = DeviceList.class;
+		TYPES[NativeHandle.FINGER] = Finger.class;
+		TYPES[NativeHandle.FINGER_LIST] = FingerList.class;
+		TYPES[NativeHandle.FRAME] = Frame.class;
+		TYPES[NativeHandle.GESTURE] = Gesture.class;
+		TYPES[NativeHandle.GESTURE_LIST] = GestureList.class;
+		TYPES[NativeHandle.HAND] = Hand.class;
+		TYPES[NativeHandle.HAND_LIST] = HandList.class;
+		TYPES[NativeHandle.IMAGE] = Image.class;
+		TYPES[NativeHandle.IMAGE_LIST] = ImageList.class;
+		TYPES[NativeHandle.INTERACTION_BOX] = InteractionBox.class;
+		TYPES[NativeHandle.KEY_TAP_GESTURE] = KeyTapGesture.class;
+		TYPES[NativeHandle.MASK] = Mask.class;
+		TYPES[NativeHandle.MASK_LIST] = MaskList.class;
+		TYPES[NativeHandle.MATRIX] = Matrix.class;
+		TYPES[NativeHandle.POINTABLE] = Pointable.class;
+		TYPES[NativeHandle.POINTABLE_LIST] = PointableList.class;
+		TYPES[NativeHandle.SCREEN] = Screen.class;
+		TYPES[NativeHandle.SCREEN_LIST] = ScreenList.class;
+		TYPES[NativeHandle.SCREEN_TAP_GESTURE] = ScreenTapGesture.class;
+		TYPES[NativeHandle.SWIPE_GESTURE] = SwipeGesture.class;
+		TYPES[NativeHandle.TOOL] = Tool.class;
+		TYPES[NativeHandle.TOOL_LIST] = ToolList.class;
+		TYPES[NativeHandle.TRACKED_QUAD] = TrackedQuad.class;
+		TYPES[NativeHandle.VECTOR] = Vector.class;
+	}
+
+	private static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<Object>();
+	// Phantom references must stay reachable until they are enqueued.
+	private static final Set<NativeHandle> PENDING =
+			Collections.newSetFromMap(new ConcurrentHashMap<NativeHandle, Boolean>());
+	private static final AtomicLongArray LIVE = new AtomicLongArray(NativeHandle.KIND_COUNT);
+
+	static {
+		Thread cleaner = new Thread(new Runnable() {
+			public void run() {
+				while (true) {
+					try {
+						NativeHandle handle = (NativeHandle)QUEUE.remove();
+						if (NativeLeakDetector.enabled && handle.isLive()) {
+							NativeLeakDetector.collected(handle);
+						}
+						free(handle);
+					} catch (InterruptedException e) {
+						// Daemon thread; keep serving the queue.
+					} catch (RuntimeException e) {
+						Thread thread = Thread.currentThread();
+						thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+					}
+				}
+			}
+		}, "Leap native cleaner");
+		cleaner.setDaemon(true);
+		cleaner.start();
+	}
+
+	private NativeObjects() {
+	}
+
+	/**
+	 * Called by the {@code (long, boolean)} constructor of every wrapper class that owns its
+	 * native object. The first call creates the handle; the constructors of subclasses then
+	 * call it again with their own pointer, so the handle ends up describing the most
+	 * derived class.
+	 */
+	static NativeHandle track(NativeHandle handle, Object wrapper, long cPtr, int kind) {
+		if (handle != null) {
+			if (handle.arena != null) {
+				handle.arena.retagLast(cPtr, kind);
+				return handle;
+			}
+			retag(handle.kind, kind);
+			handle.kind = kind;
+			handle.cPtr = cPtr;
+			return handle;
+		}
+		NativeOwner owner = NativeOwner.current();
+		if (owner != null) {
+			handle = owner.adopt(wrapper, cPtr, kind);
+		} else {
+			handle = queued(wrapper, cPtr, kind);
+		}
+		LIVE.incrementAndGet(kind);
+		if (NativeLeakDetector.enabled) {
+			NativeLeakDetector.allocated(handle.arena == null ? handle : null, kind);
+		}
+		return handle;
+	}
+
+	private static NativeHandle queued(Object wrapper, long cPtr, int kind) {
+		NativeHandle handle = new NativeHandle(wrapper, QUEUE, kind, cPtr);
+		PENDING.add(handle);
+		return handle;
+	}
+
+	/**
+	 * Moves a scoped handle to the cleaner, so the native object outlives its scope.
+	 */
+	static NativeHandle promote(NativeHandle handle, Object wrapper) {
+		if (handle == null || !handle.scoped || !handle.markReleased()) {
+			return handle;
+		}
+		NativeHandle promoted = queued(wrapper, handle.cPtr, handle.kind);
+		if (NativeLeakDetector.enabled) {
+			// The native object is the same; keep its allocation sample under the new handle.
+			NativeLeakDetector.moved(handle, promoted);
+		}
+		return promoted;
+	}
+
+	/**
+	 * Hands a native object released from a {@link FrameArena} to the cleaner.
+	 */
+	static NativeHandle promote(Object wrapper, long cPtr, int kind) {
+		return queued(wrapper, cPtr, kind);
+	}
+
+	static void retag(int oldKind, int newKind) {
+		LIVE.decrementAndGet(oldKind);
+		LIVE.incrementAndGet(newKind);
+		if (NativeLeakDetector.enabled) {
+			NativeLeakDetector.retagged(oldKind, newKind);
+		}
+	}
+
+	/**
+	 * Deletes native objects owned by an arena, newest first.
+	 */
+	static void freeAll(long[] cPtrs, int[] kinds, int count) {
+		for (int i = count - 1; i >= 0; i--) {
+			int kind = kinds[i];
+			if (kind >= 0) {
+				deleteNative(kind, cPtrs[i]);
+				LIVE.decrementAndGet(kind);
+			}
+		}
+	}
+
+	/**
+	 * Marks a handle released. Returns true if the caller should now delete the native
+	 * object, or false if it was already released elsewhere.
+	 */
+	static boolean release(NativeHandle handle) {
+		if (handle == null) {
+			return true;
+		}
+		if (!handle.markReleased()) {
+			return false;
+		}
+		if (!handle.scoped) {
+			PENDING.remove(handle);
+		}
+		handle.clear();
+		LIVE.decrementAndGet(handle.kind);
+		if (NativeLeakDetector.enabled) {
+			NativeLeakDetector.released(handle);
+		}
+		return true;
+	}
+
+	static void free(NativeHandle handle) {
+		if (release(handle)) {
+			deleteNative(handle.kind, handle.cPtr);
+		}
+	}
+
+	private static void deleteNative(int kind, long cPtr) {
+		switch (kind) {
+		case NativeHandle.INTERFACE: break;
+		case NativeHandle.INTERFACE_IMPLEMENTATION: LeapJNI.delete_Interface_Implementation(cPtr); break;
+		case NativeHandle.ARM: LeapJNI.delete_Arm(cPtr); break;
+		case NativeHandle.BONE: LeapJNI.delete_Bone(cPtr); break;
+		case NativeHandle.BUG_REPORT: LeapJNI.delete_BugReport(cPtr); break;
+		case NativeHandle.CIRCLE_GESTURE: LeapJNI.delete_CircleGesture(cPtr); break;
+		case NativeHandle.CONFIG: LeapJNI.delete_Config(cPtr); break;
+		case NativeHandle.CONTROLLER: LeapJNI.delete_Controller(cPtr); break;
+		case NativeHandle.DEVICE: LeapJNI.delete_Device(cPtr); break;
+		case NativeHandle.DEVICE_LIST: LeapJNI.delete_DeviceList(cPtr); break;
+		case NativeHandle.FINGER: LeapJNI.delete_Finger(cPtr); break;
+		case NativeHandle.FINGER_LIST: LeapJNI.delete_FingerList(cPtr); break;
+		case NativeHandle.FRAME: LeapJNI.delete_Frame(cPtr); break;
+		case NativeHandle.GESTURE: LeapJNI.delete_Gesture(cPtr); break;
+		case NativeHandle.GESTURE_LIST: LeapJNI.delete_GestureList(cPtr); break;
+		case NativeHandle.HAND: LeapJNI.delete_Hand(cPtr); break;
+		case NativeHandle.HAND_LIST: LeapJNI.delete_HandList(cPtr); break;
+		case NativeHandle.IMAGE: LeapJNI.delete_Image(cPtr); break;
+		case NativeHandle.IMAGE_LIST: LeapJNI.delete_ImageList(cPtr); break;
+		case NativeHandle.INTERACTION_BOX: LeapJNI.delete_InteractionBox(cPtr); break;
+		case NativeHandle.KEY_TAP_GESTURE: LeapJNI.delete_KeyTapGesture(cPtr); break;
+		case NativeHandle.MASK: LeapJNI.delete_Mask(cPtr); break;
+		case NativeHandle.MASK_LIST: LeapJNI.delete_MaskList(cPtr); break;
+		case NativeHandle.MATRIX: LeapJNI.delete_Matrix(cPtr); break;
+		case NativeHandle.POINTABLE: LeapJNI.delete_Pointable(cPtr); break;
+		case NativeHandle.POINTABLE_LIST: LeapJNI.delete_PointableList(cPtr); break;
+		case NativeHandle.SCREEN: LeapJNI.delete_Screen(cPtr); break;
+		case NativeHandle.SCREEN_LIST: LeapJNI.delete_ScreenList(cPtr); break;
+		case NativeHandle.SCREEN_TAP_GESTURE: LeapJNI.delete_ScreenTapGesture(cPtr); break;
+		case NativeHandle.SWIPE_GESTURE: LeapJNI.delete_SwipeGesture(cPtr); break;
+		case NativeHandle.TOOL: LeapJNI.delete_Tool(cPtr); break;
+		case NativeHandle.TOOL_LIST: LeapJNI.delete_ToolList(cPtr); break;
+		case NativeHandle.TRACKED_QUAD: LeapJNI.delete_TrackedQuad(cPtr); break;
+		case NativeHandle.VECTOR: LeapJNI.delete_Vector(cPtr); break;
+		default: throw new IllegalStateException("Unknown native object kind " + kind);
+		}
+	}
+
+	/**
+	 * The number of native objects currently owned by wrapper objects.
+	 *
+	 * @return The number of live native objects.
+	 */
+	public static long liveCount() {
+		long total = 0;
+		for (int kind = 0; kind < NativeHandle.KIND_COUNT; kind++) {
+			total += LIVE.get(kind);
+		}
+		return total;
+	}
+
+	/**
+	 * The number of native objects currently owned by wrappers of exactly the specified class.
+	 *
+	 * @param type - A wrapper class such as {@code Frame.class}.
+	 *
+	 * @return The number of live native objects of that type; zero for classes that are not wrappers.
+	 */
+	public static long liveCount(Class<?> type) {
+		for (int kind = 0; kind < NativeHandle.KIND_COUNT; kind++) {
+			if (TYPES[kind] == type) {
+				return LIVE.get(kind);
+			}
+		}
+		return 0;
+	}
+
+	static Class<?> type(int kind) {
+		return TYPES[kind];
+	}
+}
@@ -0,0 +1,54 @@
+package com.leapmotion.leap;
+
+/**
+ * Base class of {@link FrameScope} and {@link FrameArena}: something that takes ownership of the
+ * native objects created on its thread while it is open. Owners nest; the innermost open owner
+ * of the current thread adopts each new wrapper.
+ */
+abstract class NativeOwner {
+	private static final ThreadLocal<NativeOwner> CURRENT = new ThreadLocal<NativeOwner>();
+
+	private NativeOwner parent;
+	private Thread thread;
+
+	static NativeOwner current() {
+		return CURRENT.get();
+	}
+
+	final void attach() {
+		if (this.thread != null) {
+			throw new IllegalStateException(getClass().getSimpleName() + " is already open");
+		}
+		this.thread = Thread.currentThread();
+		this.parent = CURRENT.get();
+		CURRENT.set(this);
+	}
+
+	/**
+	 * Makes the parent owner current again. Returns false if this owner was not open.
+	 */
+	final boolean detach() {
+		if (this.thread == null) {
+			return false;
+		}
+		if (Thread.currentThread() != this.thread) {
+			throw new IllegalStateException(getClass().getSimpleName() + " must be closed by the thread that opened it");
+		}
+		if (CURRENT.get() != this) {
+			throw new IllegalStateException("A nested " + CURRENT.get().getClass().getSimpleName() + " is still open");
+		}
+		if (this.parent == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(this.parent);
+		}
+		this.parent = null;
+		this.thread = null;
+		return true;
+	}
+
+	/**
+	 * Takes ownership of a new wrapper's native object and returns the handle to store in it.
+	 */
+	abstract NativeHandle adopt(Object wrapper, long cPtr, int kind);
+}
@@ -0,0 +1,849 @@
+package com.leapmotion.leap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The {@code OffHeapFrameSnapshot} class reads frame tracking data stored in a {@link ByteBuffer}
+ * using a fixed binary layout.<p>
+ *
+ * This is the off-heap storage mode of {@link FrameSnapshot}. A record is written with
+ * {@link OffHeapFrameSnapshot#write(FrameSnapshot, byte[], ByteBuffer, int)} and read through a
+ * reusable {@code OffHeapFrameSnapshot} view; the accessors read directly from the buffer and
+ * never copy the record. Because the layout is fixed, records can be kept in direct buffers
+ * outside the Java heap or in a memory-mapped file shared with another process:
+ *
+ * <blockquote><pre>
+ * ByteBuffer history = ByteBuffer.allocateDirect(600 * OffHeapFrameSnapshot.FIXED_SIZE)
+ *         .order(ByteOrder.nativeOrder());
+ * int size = OffHeapFrameSnapshot.write(FrameSnapshot.of(frame), null, history, slot * OffHeapFrameSnapshot.FIXED_SIZE);
+ *
+ * OffHeapFrameSnapshot view = new OffHeapFrameSnapshot();
+ * view.wrap(history, slot * OffHeapFrameSnapshot.FIXED_SIZE);
+ * float grab = view.handGrabStrength(0);
+ * </pre></blockquote>
+ *
+ * A record may also carry the output of {@link Frame#serialize()} after its fixed part.
+ * {@link OffHeapFrameSnapshot#toFrame(Frame)} passes those bytes to {@link Frame#deserialize(byte[])},
+ * so a record can be turned back into a full {@link Frame}.<p>
+ *
+ * The fixed part has room for {@link OffHeapFrameSnapshot#MAX_HANDS} hands,
+ * {@link OffHeapFrameSnapshot#MAX_FINGERS} fingers, {@link OffHeapFrameSnapshot#MAX_TOOLS} tools and
+ * {@link OffHeapFrameSnapshot#MAX_GESTURES} gestures; further entities are not stored.
+ * Multi-byte values use the byte order of the buffer.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public final class OffHeapFrameSnapshot {
+	/** The first four bytes of every record: "LMFS". */
+	public static final int MAGIC = 0x4C4D4653;
+	/** The layout version written by this class. */
+	public static final int VERSION = 1;
+
+	/** The number of hands a record holds. */
+	public static final int MAX_HANDS = 4;
+	/** The number of fingers a record holds, five per hand. */
+	public static final int MAX_FINGERS = MAX_HANDS * 5;
+	/** The number of tools a record holds. */
+	public static final int MAX_TOOLS = 4;
+	/** The number of gestures a record holds. */
+	public static final int MAX_GESTURES = 16;
+
+	private static final int FLAG_VALID = 1;
+
+	private static final Bone.Type[] BONE_TYPES = Bone.Type.values();
+	private static final ThreadLocal<MutableVector3f> SCRATCH = new ThreadLocal<MutableVector3f>() {
+		protected MutableVector3f initialValue() {
+			return new MutableVector3f();
+		}
+	};
+
+	private static final int OFF_MAGIC = 0;
+	private static final int OFF_VERSION = 4;
+	private static final int OFF_FLAGS = 6;
+	private static final int OFF_ID = 8;
+	private static final int OFF_TIMESTAMP = 16;
+	private static final int OFF_FPS = 24;
+	private static final int OFF_HAND_COUNT = 28;
+	private static final int OFF_FINGER_COUNT = 29;
+	private static final int OFF_TOOL_COUNT = 30;
+	private static final int OFF_GESTURE_COUNT = 31;
+	private static final int OFF_SERIALIZED_LENGTH = 32;
+	private static final int HEADER_SIZE = 40;
+
+	private static final int HAND_ID = 0;
+	private static final int HAND_IS_LEFT = 4;
+	private static final int HAND_CONFIDENCE = 8;
+	private static final int HAND_GRAB = 12;
+	private static final int HAND_PINCH = 16;
+	private static final int HAND_PALM_WIDTH = 20;
+	private static final int HAND_PALM_POSITION = 24;
+	private static final int HAND_PALM_VELOCITY = 36;
+	private static final int HAND_PALM_NORMAL = 48;
+	private static final int HAND_DIRECTION = 60;
+	private static final int ARM_WIDTH = 72;
+	private static final int ARM_ELBOW = 76;
+	private static final int ARM_WRIST = 88;
+	private static final int ARM_DIRECTION = 100;
+	private static final int HAND_SIZE = 112;
+
+	private static final int FINGER_ID = 0;
+	private static final int FINGER_HAND_INDEX = 4;
+	private static final int FINGER_TYPE = 8;
+	private static final int FINGER_IS_EXTENDED = 12;
+	private static final int FINGER_WIDTH = 16;
+	private static final int FINGER_LENGTH = 20;
+	private static final int FINGER_TIP_POSITION = 24;
+	private static final int FINGER_TIP_VELOCITY = 36;
+	private static final int FINGER_DIRECTION = 48;
+	private static final int FINGER_BONES = 60;
+	private static final int BONE_PREV_JOINT = 0;
+	private static final int BONE_NEXT_JOINT = 12;
+	private static final int BONE_WIDTH = 24;
+	private static final int BONE_SIZE = 28;
+	private static final int FINGER_SIZE = 176;
+
+	private static final int TOOL_ID = 0;
+	private static final int TOOL_HAND_ID = 4;
+	private static final int TOOL_WIDTH = 8;
+	private static final int TOOL_LENGTH = 12;
+	private static final int TOOL_TIP_POSITION = 16;
+	private static final int TOOL_TIP_VELOCITY = 28;
+	private static final int TOOL_DIRECTION = 40;
+	private static final int TOOL_SIZE = 56;
+
+	private static final int GESTURE_ID = 0;
+	private static final int GESTURE_TYPE = 4;
+	private static final int GESTURE_STATE = 8;
+	private static final int GESTURE_DURATION = 16;
+	private static final int GESTURE_SIZE = 24;
+
+	private static final int HANDS = HEADER_SIZE;
+	private static final int FINGERS = HANDS + MAX_HANDS * HAND_SIZE;
+	private static final int TOOLS = FINGERS + MAX_FINGERS * FINGER_SIZE;
+	private static final int GESTURES = TOOLS + MAX_TOOLS * TOOL_SIZE;
+
+	/** The size in bytes of the fixed part of every record. */
+	public static final int FIXED_SIZE = GESTURES + MAX_GESTURES * GESTURE_SIZE;
+
+	private ByteBuffer buffer;
+	private int base;
+
+	/**
+	 * Constructs a view that is not yet attached to a buffer.
+	 */
+	public OffHeapFrameSnapshot() {
+	}
+
+	/**
+	 * Allocates a direct buffer in native byte order holding a single record of {@code frame},
+	 * including its serialized bytes, and returns a view of it.
+	 *
+	 * @param frame - The frame to store.
+	 *
+	 * @return A view of the new record.
+	 */
+	public static OffHeapFrameSnapshot allocate(Frame frame) {
+		byte[] serialized = frame.serialize();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(FIXED_SIZE + serialized.length).order(ByteOrder.nativeOrder());
+		write(FrameSnapshot.of(frame), serialized, buffer, 0);
+		return new OffHeapFrameSnapshot().wrap(buffer, 0);
+	}
+
+	/**
+	 * Attaches this view to the record that starts at {@code offset} in {@code buffer}.
+	 *
+	 * @param buffer - The buffer holding the record.
+	 * @param offset - The absolute position of the record.
+	 *
+	 * @return This {@link OffHeapFrameSnapshot}.
+	 *
+	 * @throws IllegalArgumentException if no record of a supported version starts at {@code offset}.
+	 */
+	public OffHeapFrameSnapshot wrap(ByteBuffer buffer, int offset) {
+		if (buffer.getInt(offset + OFF_MAGIC) != MAGIC || buffer.getShort(offset + OFF_VERSION) != VERSION) {
+			throw new IllegalArgumentException("No frame record at offset " + offset);
+		}
+		this.buffer = buffer;
+		this.base = offset;
+		return this;
+	}
+
+	/**
+	 * The total size of a stored record, including its serialized frame bytes.
+	 *
+	 * @param buffer - The buffer holding the record.
+	 * @param offset - The absolute position of the record.
+	 *
+	 * @return The record size in bytes.
+	 */
+	public static int recordSize(ByteBuffer buffer, int offset) {
+		return FIXED_SIZE + buffer.getInt(offset + OFF_SERIALIZED_LENGTH);
+	}
+
+	/**
+	 * Writes a record at the specified absolute position of {@code dst}.
+	 * The position and limit of {@code dst} are not changed.
+	 *
+	 * @param snapshot - The frame data to store.
+	 * @param serialized - The output of {@link Frame#serialize()} for the same frame, or null.
+	 * @param dst - The destination buffer.
+	 * @param offset - The absolute position at which to write the record.
+	 *
+	 * @return The number of bytes written.
+	 */
+	public static int write(FrameSnapshot snapshot, byte[] serialized, ByteBuffer dst, int offset) {
+		int serializedLength = serialized == null ? 0 : serialized.length;
+		int hc = Math.min(snapshot.handCount(), MAX_HANDS);
+		int fc = 0;
+		while (fc < snapshot.fingerCount() && fc < MAX_FINGERS && snapshot.fingerHandIndex(fc) < hc) {
+			fc++;
+		}
+		int tc = Math.min(snapshot.toolCount(), MAX_TOOLS);
+		int gc = Math.min(snapshot.gestureCount(), MAX_GESTURES);
+
+		dst.putInt(offset + OFF_MAGIC, MAGIC);
+		dst.putShort(offset + OFF_VERSION, (short)VERSION);
+		dst.putShort(offset + OFF_FLAGS, (short)(snapshot.isValid() ? FLAG_VALID : 0));
+		dst.putLong(offset + OFF_ID, snapshot.id());
+		dst.putLong(offset + OFF_TIMESTAMP, snapshot.timestamp());
+		dst.putFloat(offset + OFF_FPS, snapshot.currentFramesPerSecond());
+		dst.put(offset + OFF_HAND_COUNT, (byte)hc);
+		dst.put(offset + OFF_FINGER_COUNT, (byte)fc);
+		dst.put(offset + OFF_TOOL_COUNT, (byte)tc);
+		dst.put(offset + OFF_GESTURE_COUNT, (byte)gc);
+		dst.putInt(offset + OFF_SERIALIZED_LENGTH, serializedLength);
+
+		MutableVector3f v = SCRATCH.get();
+		for (int h = 0; h < hc; h++) {
+			int p = offset + HANDS + h * HAND_SIZE;
+			dst.putInt(p + HAND_ID, snapshot.handId(h));
+			dst.putInt(p + HAND_IS_LEFT, snapshot.handIsLeft(h) ? 1 : 0);
+			dst.putFloat(p + HAND_CONFIDENCE, snapshot.handConfidence(h));
+			dst.putFloat(p + HAND_GRAB, snapshot.handGrabStrength(h));
+			dst.putFloat(p + HAND_PINCH, snapshot.handPinchStrength(h));
+			dst.putFloat(p + HAND_PALM_WIDTH, snapshot.handPalmWidth(h));
+			put(dst, p + HAND_PALM_POSITION, snapshot.handPalmPosition(h, v));
+			put(dst, p + HAND_PALM_VELOCITY, snapshot.handPalmVelocity(h, v));
+			put(dst, p + HAND_PALM_NORMAL, snapshot.handPalmNormal(h, v));
+			put(dst, p + HAND_DIRECTION, snapshot.handDirection(h, v));
+			dst.putFloat(p + ARM_WIDTH, snapshot.armWidth(h));
+			put(dst, p + ARM_ELBOW, snapshot.armElbowPosition(h, v));
+			put(dst, p + ARM_WRIST, snapshot.armWristPosition(h, v));
+			put(dst, p + ARM_DIRECTION, snapshot.armDirection(h, v));
+		}
+		for (int f = 0; f < fc; f++) {
+			int p = offset + FINGERS + f * FINGER_SIZE;
+			dst.putInt(p + FINGER_ID, snapshot.fingerId(f));
+			dst.putInt(p + FINGER_HAND_INDEX, snapshot.fingerHandIndex(f));
+			dst.putInt(p + FINGER_TYPE, snapshot.fingerType(f).swigValue());
+			dst.putInt(p + FINGER_IS_EXTENDED, snapshot.fingerIsExtended(f) ? 1 : 0);
+			dst.putFloat(p + FINGER_WIDTH, snapshot.fingerWidth(f));
+			dst.putFloat(p + FINGER_LENGTH, snapshot.fingerLength(f));
+			put(dst, p + FINGER_TIP_POSITION, snapshot.fingerTipPosition(f, v));
+			put(dst, p + FINGER_TIP_VELOCITY, snapshot.fingerTipVelocity(f, v));
+			put(dst, p + FINGER_DIRECTION, snapshot.fingerDirection(f, v));
+			for (Bone.Type type : BONE_TYPES) {
+				int b = p + FINGER_BONES + type.swigValue() * BONE_SIZE;
+				put(dst, b + BONE_PREV_JOINT, snapshot.bonePrevJoint(f, type, v));
+				put(dst, b + BONE_NEXT_JOINT, snapshot.boneNextJoint(f, type, v));
+				dst.putFloat(b + BONE_WIDTH, snapshot.boneWidth(f, type));
+			}
+		}
+		for (int t = 0; t < tc; t++) {
+			int p = offset + TOOLS + t * TOOL_SIZE;
+			dst.putInt(p + TOOL_ID, snapshot.toolId(t));
+			dst.putInt(p + TOOL_HAND_ID, snapshot.toolHandId(t));
+			dst.putFloat(p + TOOL_WIDTH, snapshot.toolWidth(t));
+			dst.putFloat(p + TOOL_LENGTH, snapshot.toolLength(t));
+			put(dst, p + TOOL_TIP_POSITION, snapshot.toolTipPosition(t, v));
+			put(dst, p + TOOL_TIP_VELOCITY, snapshot.toolTipVelocity(t, v));
+			put(dst, p + TOOL_DIRECTION, snapshot.toolDirection(t, v));
+		}
+		for (int g = 0; g < gc; g++) {
+			int p = offset + GESTURES + g * GESTURE_SIZE;
+			dst.putInt(p + GESTURE_ID, snapshot.gestureId(g));
+			dst.putInt(p + GESTURE_TYPE, snapshot.gestureType(g).swigValue());
+			dst.putInt(p + GESTURE_STATE, snapshot.gestureState(g).swigValue());
+			dst.putLong(p + GESTURE_DURATION, snapshot.gestureDuration(g));
+		}
+		if (serializedLength > 0) {
+			ByteBuffer payload = dst.duplicate();
+			payload.position(offset + FIXED_SIZE);
+			payload.put(serialized);
+		}
+		return FIXED_SIZE + serializedLength;
+	}
+
+	private static void put(ByteBuffer dst, int p, MutableVector3f v) {
+		dst.putFloat(p, v.x);
+		dst.putFloat(p + 4, v.y);
+		dst.putFloat(p + 8, v.z);
+	}
+
+	private MutableVector3f get(int p, MutableVector3f dst) {
+		return dst.set(this.buffer.getFloat(p), this.buffer.getFloat(p + 4), this.buffer.getFloat(p + 8));
+	}
+
+	private int hand(int hand) {
+		return this.base + HANDS + hand * HAND_SIZE;
+	}
+
+	private int finger(int finger) {
+		return this.base + FINGERS + finger * FINGER_SIZE;
+	}
+
+	private int bone(int finger, Bone.Type type) {
+		return finger(finger) + FINGER_BONES + type.swigValue() * BONE_SIZE;
+	}
+
+	private int tool(int tool) {
+		return this.base + TOOLS + tool * TOOL_SIZE;
+	}
+
+	private int gesture(int gesture) {
+		return this.base + GESTURES + gesture * GESTURE_SIZE;
+	}
+
+	/**
+	 * Replaces the properties of {@code dst} with the serialized frame stored in this record.
+	 *
+	 * @param dst - The frame to deserialize into, typically a new {@link Frame}.
+	 *
+	 * @return The {@code dst} parameter.
+	 *
+	 * @throws IllegalStateException if the record does not carry serialized frame bytes.
+	 */
+	public Frame toFrame(Frame dst) {
+		int length = serializedLength();
+		if (length == 0) {
+			throw new IllegalStateException("Record " + id() + " has no serialized frame data");
+		}
+		byte[] bytes = new byte[length];
+		ByteBuffer payload = this.buffer.duplicate();
+		payload.position(this.base + FIXED_SIZE);
+		payload.get(bytes);
+		dst.deserialize(bytes);
+		return dst;
+	}
+
+	/**
+	 * The length of the serialized frame bytes that follow the fixed part of this record.
+	 *
+	 * @return The length in bytes, or zero if the record has none.
+	 */
+	public int serializedLength() {
+		return this.buffer.getInt(this.base + OFF_SERIALIZED_LENGTH);
+	}
+
+	/**
+	 * Reports whether the captured {@link Frame} was valid.
+	 *
+	 * @return True, if this record holds the data of a valid frame.
+	 */
+	public boolean isValid() {
+		return (this.buffer.getShort(this.base + OFF_FLAGS) & FLAG_VALID) != 0;
+	}
+
+	/**
+	 * The {@link Frame#id()} of the captured frame.
+	 *
+	 * @return The frame ID.
+	 */
+	public long id() {
+		return this.buffer.getLong(this.base + OFF_ID);
+	}
+
+	/**
+	 * The {@link Frame#timestamp()} of the captured frame.
+	 *
+	 * @return The timestamp in microseconds.
+	 */
+	public long timestamp() {
+		return this.buffer.getLong(this.base + OFF_TIMESTAMP);
+	}
+
+	/**
+	 * The {@link Frame#currentFramesPerSecond()} of the captured frame.
+	 *
+	 * @return The instantaneous framerate.
+	 */
+	public float currentFramesPerSecond() {
+		return this.buffer.getFloat(this.base + OFF_FPS);
+	}
+
+	/**
+	 * The number of hands in this record.
+	 *
+	 * @return The number of hands.
+	 */
+	public int handCount() {
+		return this.buffer.get(this.base + OFF_HAND_COUNT);
+	}
+
+	/**
+	 * The number of fingers in this record, over all hands.
+	 *
+	 * @return The number of fingers.
+	 */
+	public int fingerCount() {
+		return this.buffer.get(this.base + OFF_FINGER_COUNT);
+	}
+
+	/**
+	 * The number of tools in this record.
+	 *
+	 * @return The number of tools.
+	 */
+	public int toolCount() {
+		return this.buffer.get(this.base + OFF_TOOL_COUNT);
+	}
+
+	/**
+	 * The number of gestures in this record.
+	 *
+	 * @return The number of gestures.
+	 */
+	public int gestureCount() {
+		return this.buffer.get(this.base + OFF_GESTURE_COUNT);
+	}
+
+	/**
+	 * The {@link Hand#id()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 *
+	 * @return The hand ID.
+	 */
+	public int handId(int hand) {
+		return this.buffer.getInt(hand(hand) + HAND_ID);
+	}
+
+	/**
+	 * The {@link Hand#isLeft()} value of a hand.
+	 *
+	 * @param hand - The hand index.
+	 *
+	 * @return True, if the hand is identified as a left hand.
+	 */
+	public boolean handIsLeft(int hand) {
+		return this.buffer.getInt(hand(hand) + HAND_IS_LEFT) != 0;
+	}
+
+	/**
+	 * The {@link Hand#confidence()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 *
+	 * @return The confidence rating, from 0 to 1.
+	 */
+	public float handConfidence(int hand) {
+		return this.buffer.getFloat(hand(hand) + HAND_CONFIDENCE);
+	}
+
+	/**
+	 * The {@link Hand#grabStrength()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 *
+	 * @return The grab strength, from 0 to 1.
+	 */
+	public float handGrabStrength(int hand) {
+		return this.buffer.getFloat(hand(hand) + HAND_GRAB);
+	}
+
+	/**
+	 * The {@link Hand#pinchStrength()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 *
+	 * @return The pinch strength, from 0 to 1.
+	 */
+	public float handPinchStrength(int hand) {
+		return this.buffer.getFloat(hand(hand) + HAND_PINCH);
+	}
+
+	/**
+	 * The {@link Hand#palmWidth()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 *
+	 * @return The palm width in millimeters.
+	 */
+	public float handPalmWidth(int hand) {
+		return this.buffer.getFloat(hand(hand) + HAND_PALM_WIDTH);
+	}
+
+	/**
+	 * The {@link Hand#palmPosition()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f handPalmPosition(int hand, MutableVector3f dst) {
+		return get(hand(hand) + HAND_PALM_POSITION, dst);
+	}
+
+	/**
+	 * The {@link Hand#palmVelocity()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f handPalmVelocity(int hand, MutableVector3f dst) {
+		return get(hand(hand) + HAND_PALM_VELOCITY, dst);
+	}
+
+	/**
+	 * The {@link Hand#palmNormal()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f handPalmNormal(int hand, MutableVector3f dst) {
+		return get(hand(hand) + HAND_PALM_NORMAL, dst);
+	}
+
+	/**
+	 * The {@link Hand#direction()} of a hand.
+	 *
+	 * @param hand - The hand index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f handDirection(int hand, MutableVector3f dst) {
+		return get(hand(hand) + HAND_DIRECTION, dst);
+	}
+
+	/**
+	 * The {@link Arm#width()} of the arm of a hand.
+	 *
+	 * @param hand - The hand index.
+	 *
+	 * @return The arm width in millimeters.
+	 */
+	public float armWidth(int hand) {
+		return this.buffer.getFloat(hand(hand) + ARM_WIDTH);
+	}
+
+	/**
+	 * The {@link Arm#elbowPosition()} of the arm of a hand.
+	 *
+	 * @param hand - The hand index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f armElbowPosition(int hand, MutableVector3f dst) {
+		return get(hand(hand) + ARM_ELBOW, dst);
+	}
+
+	/**
+	 * The {@link Arm#wristPosition()} of the arm of a hand.
+	 *
+	 * @param hand - The hand index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f armWristPosition(int hand, MutableVector3f dst) {
+		return get(hand(hand) + ARM_WRIST, dst);
+	}
+
+	/**
+	 * The {@link Arm#direction()} of the arm of a hand.
+	 *
+	 * @param hand - The hand index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f armDirection(int hand, MutableVector3f dst) {
+		return get(hand(hand) + ARM_DIRECTION, dst);
+	}
+
+	/**
+	 * The {@link Pointable#id()} of a finger.
+	 *
+	 * @param finger - The finger index.
+	 *
+	 * @return The finger ID.
+	 */
+	public int fingerId(int finger) {
+		return this.buffer.getInt(finger(finger) + FINGER_ID);
+	}
+
+	/**
+	 * The index of the hand a finger belongs to.
+	 *
+	 * @param finger - The finger index.
+	 *
+	 * @return The index of the hand, for use with the hand accessors.
+	 */
+	public int fingerHandIndex(int finger) {
+		return this.buffer.getInt(finger(finger) + FINGER_HAND_INDEX);
+	}
+
+	/**
+	 * The {@link Finger#type()} of a finger.
+	 *
+	 * @param finger - The finger index.
+	 *
+	 * @return The finger type.
+	 */
+	public Finger.Type fingerType(int finger) {
+		return Finger.Type.swigToEnum(this.buffer.getInt(finger(finger) + FINGER_TYPE));
+	}
+
+	/**
+	 * The {@link Pointable#isExtended()} value of a finger.
+	 *
+	 * @param finger - The finger index.
+	 *
+	 * @return True, if the finger is extended.
+	 */
+	public boolean fingerIsExtended(int finger) {
+		return this.buffer.getInt(finger(finger) + FINGER_IS_EXTENDED) != 0;
+	}
+
+	/**
+	 * The {@link Pointable#width()} of a finger.
+	 *
+	 * @param finger - The finger index.
+	 *
+	 * @return The width in millimeters.
+	 */
+	public float fingerWidth(int finger) {
+		return this.buffer.getFloat(finger(finger) + FINGER_WIDTH);
+	}
+
+	/**
+	 * The {@link Pointable#length()} of a finger.
+	 *
+	 * @param finger - The finger index.
+	 *
+	 * @return The visible length in millimeters.
+	 */
+	public float fingerLength(int finger) {
+		return this.buffer.getFloat(finger(finger) + FINGER_LENGTH);
+	}
+
+	/**
+	 * The {@link Pointable#tipPosition()} of a finger.
+	 *
+	 * @param finger - The finger index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f fingerTipPosition(int finger, MutableVector3f dst) {
+		return get(finger(finger) + FINGER_TIP_POSITION, dst);
+	}
+
+	/**
+	 * The {@link Pointable#tipVelocity()} of a finger.
+	 *
+	 * @param finger - The finger index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f fingerTipVelocity(int finger, MutableVector3f dst) {
+		return get(finger(finger) + FINGER_TIP_VELOCITY, dst);
+	}
+
+	/**
+	 * The {@link Pointable#direction()} of a finger.
+	 *
+	 * @param finger - The finger index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f fingerDirection(int finger, MutableVector3f dst) {
+		return get(finger(finger) + FINGER_DIRECTION, dst);
+	}
+
+	/**
+	 * The {@link Bone#prevJoint()} of a bone of a finger.
+	 *
+	 * @param finger - The finger index.
+	 * @param type - The bone type.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f bonePrevJoint(int finger, Bone.Type type, MutableVector3f dst) {
+		return get(bone(finger, type) + BONE_PREV_JOINT, dst);
+	}
+
+	/**
+	 * The {@link Bone#nextJoint()} of a bone of a finger.
+	 *
+	 * @param finger - The finger index.
+	 * @param type - The bone type.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f boneNextJoint(int finger, Bone.Type type, MutableVector3f dst) {
+		return get(bone(finger, type) + BONE_NEXT_JOINT, dst);
+	}
+
+	/**
+	 * The {@link Bone#width()} of a bone of a finger.
+	 *
+	 * @param finger - The finger index.
+	 * @param type - The bone type.
+	 *
+	 * @return The bone width in millimeters.
+	 */
+	public float boneWidth(int finger, Bone.Type type) {
+		return this.buffer.getFloat(bone(finger, type) + BONE_WIDTH);
+	}
+
+	/**
+	 * The {@link Pointable#id()} of a tool.
+	 *
+	 * @param tool - The tool index.
+	 *
+	 * @return The tool ID.
+	 */
+	public int toolId(int tool) {
+		return this.buffer.getInt(tool(tool) + TOOL_ID);
+	}
+
+	/**
+	 * The {@link Hand#id()} of the hand holding a tool.
+	 *
+	 * @param tool - The tool index.
+	 *
+	 * @return The hand ID, or -1 if the tool is not associated with a tracked hand.
+	 */
+	public int toolHandId(int tool) {
+		return this.buffer.getInt(tool(tool) + TOOL_HAND_ID);
+	}
+
+	/**
+	 * The {@link Pointable#width()} of a tool.
+	 *
+	 * @param tool - The tool index.
+	 *
+	 * @return The width in millimeters.
+	 */
+	public float toolWidth(int tool) {
+		return this.buffer.getFloat(tool(tool) + TOOL_WIDTH);
+	}
+
+	/**
+	 * The {@link Pointable#length()} of a tool.
+	 *
+	 * @param tool - The tool index.
+	 *
+	 * @return The visible length in millimeters.
+	 */
+	public float toolLength(int tool) {
+		return this.buffer.getFloat(tool(tool) + TOOL_LENGTH);
+	}
+
+	/**
+	 * The {@link Pointable#tipPosition()} of a tool.
+	 *
+	 * @param tool - The tool index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f toolTipPosition(int tool, MutableVector3f dst) {
+		return get(tool(tool) + TOOL_TIP_POSITION, dst);
+	}
+
+	/**
+	 * The {@link Pointable#tipVelocity()} of a tool.
+	 *
+	 * @param tool - The tool index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f toolTipVelocity(int tool, MutableVector3f dst) {
+		return get(tool(tool) + TOOL_TIP_VELOCITY, dst);
+	}
+
+	/**
+	 * The {@link Pointable#direction()} of a tool.
+	 *
+	 * @param tool - The tool index.
+	 * @param dst - Receives the vector.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f toolDirection(int tool, MutableVector3f dst) {
+		return get(tool(tool) + TOOL_DIRECTION, dst);
+	}
+
+	/**
+	 * The {@link Gesture#id()} of a gesture.
+	 *
+	 * @param gesture - The gesture index.
+	 *
+	 * @return The gesture ID.
+	 */
+	public int gestureId(int gesture) {
+		return this.buffer.getInt(gesture(gesture) + GESTURE_ID);
+	}
+
+	/**
+	 * The {@link Gesture#type()} of a gesture.
+	 *
+	 * @param gesture - The gesture index.
+	 *
+	 * @return The gesture type.
+	 */
+	public Gesture.Type gestureType(int gesture) {
+		return Gesture.Type.swigToEnum(this.buffer.getInt(gesture(gesture) + GESTURE_TYPE));
+	}
+
+	/**
+	 * The {@link Gesture#state()} of a gesture.
+	 *
+	 * @param gesture - The gesture index.
+	 *
+	 * @return The gesture state.
+	 */
+	public Gesture.State gestureState(int gesture) {
+		return Gesture.State.swigToEnum(this.buffer.getInt(gesture(gesture) + GESTURE_STATE));
+	}
+
+	/**
+	 * The {@link Gesture#duration()} of a gesture.
+	 *
+	 * @param gesture - The gesture index.
+	 *
+	 * @return The elapsed duration in microseconds.
+	 */
+	public long gestureDuration(int gesture) {
+		return this.buffer.getLong(gesture(gesture) + GESTURE_DURATION);
+	}
+
+	/**
+	 * A string containing a brief, human readable description of the stored record.
+	 *
+	 * @return A description of the {@link OffHeapFrameSnapshot} as a string.
+	 */
+	public String toString() {
+		if (this.buffer == null) {
+			return "OffHeapFrameSnapshot (unattached)";
+		}
+		return "OffHeapFrameSnapshot Id:" + id() + " Timestamp:" + timestamp() + " Hands:" + handCount()
+				+ " Fingers:" + fingerCount() + " Tools:" + toolCount() + " Gestures:" + gestureCount();
+	}
+}
@@ -57,6 +57,9 @@ public class Pointable extends Interface {
 	{
 		super(LeapJNI.Pointable_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.POINTABLE);
+		}
 	}
 
 	/**
@@ -407,15 +410,13 @@ public class Pointable extends Interface {
 		return paramPointable == null ? 0L : paramPointable.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_Pointable(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_Pointable(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -31,6 +31,9 @@ public class PointableList extends Interface implements Iterable<Pointable> {
 	{
 		super(LeapJNI.PointableList_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.POINTABLE_LIST);
+		}
 	}
 
 	public Iterator<Pointable> iterator() { 
@@ -174,19 +177,38 @@ public class PointableList extends Interface implements Iterable<Pointable> {
 		return new PointableList(LeapJNI.PointableList_extended(this.swigCPtr, this), true);
 	}
 
-	public static long getCPtr(PointableList paramPointableList) {
-		return paramPointableList == null ? 0L : paramPointableList.swigCPtr;
+	/**
+	 * Copies the members of this list into a new array.<p>
+	 * 
+	 * The list size is read once, so this makes one fewer native call per member
+	 * than calling {@link PointableList#count()} and {@link PointableList#get(int)} in a loop.
+	 * 
+	 * <blockquote><pre>
+	 * Pointable[] all = list.toArray();
+	 * </pre></blockquote>
+	 * 
+	 * @return An array of the {@link Pointable} objects in this list, in list order.
+	 */
+	public Pointable[] toArray() {
+		int count = count();
+		Pointable[] result = new Pointable[count];
+		for (int index = 0; index < count; index++) {
+			result[index] = get(index);
+		}
+		return result;
 	}
 
-	protected void finalize() {
-		delete();
+	public static long getCPtr(PointableList paramPointableList) {
+		return paramPointableList == null ? 0L : paramPointableList.swigCPtr;
 	}
 
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_PointableList(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_PointableList(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -197,9 +219,10 @@ public class PointableList extends Interface implements Iterable<Pointable> {
 		public PointableListIterator() {}
 
 		int index = 0;
+		final int count = PointableList.this.count();
 
 		public boolean hasNext() { 
-			return this.index < PointableList.this.count(); 
+			return this.index < this.count; 
 		}
 
 		public Pointable next() {
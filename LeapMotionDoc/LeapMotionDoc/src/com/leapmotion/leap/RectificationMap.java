@@ -0,0 +1,359 @@
+package com.leapmotion.leap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The {@code RectificationMap} class removes lens distortion from whole camera images in pure Java.<p>
+ *
+ * Undistorting an image with {@link Image#warp(Vector)} takes one native call and two {@link Vector}
+ * objects per pixel. A {@code RectificationMap} evaluates the distortion calibration map of
+ * {@link Image#distortion()} once, the way {@link Image#warp(Vector)} does, and stores for every pixel of
+ * the corrected image where to sample the raw image. Correcting an image is then a table lookup and a
+ * bilinear interpolation per pixel:
+ *
+ * <blockquote><pre>
+ * byte[] raw = new byte[image.width() * image.height()];
+ * byte[] corrected = new byte[400 * 400];
+ *
+ * public void onImages(Controller controller) {
+ *     Image image = controller.images().get(0);
+ *     RectificationMap map = RectificationMap.of(image, 400, 400);
+ *     image.data(raw);
+ *     map.parallelUndistort(raw, corrected, pool);
+ * }
+ * </pre></blockquote>
+ *
+ * The corrected image covers the full ray slope range of the calibration map, as described for
+ * {@link Image#rayOffsetX()} and {@link Image#rayScaleX()}; {@link RectificationMap#slopeX(float)} and
+ * {@link RectificationMap#slopeY(float)} give the ray through any of its pixels. Pixels for which the camera
+ * recorded no data are set to zero.<p>
+ *
+ * Maps depend only on the calibration of a camera, so {@link RectificationMap#of(Image, int, int)} keeps
+ * the maps it builds and returns the same one for every image with the same calibration.
+ * A {@code RectificationMap} is immutable and may be used from several threads at once.
+ * Raw images are expected to have one byte per pixel.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public final class RectificationMap {
+	/**
+	 * Images with fewer pixels than this are not split across threads.
+	 */
+	public static final int PARALLEL_THRESHOLD = 16384;
+
+	private static final int MAX_CACHED = 8;
+	private static final List<RectificationMap> CACHE = new ArrayList<RectificationMap>();
+	private static final ThreadLocal<float[]> SCRATCH = new ThreadLocal<float[]>();
+
+	private final float[] distortion;
+	private final int gridWidth;
+	private final int gridHeight;
+	private final int sourceWidth;
+	private final int sourceHeight;
+	private final int width;
+	private final int height;
+	private final float rayOffsetX;
+	private final float rayOffsetY;
+	private final float rayScaleX;
+	private final float rayScaleY;
+	private final int[] offsets;
+	private final byte[] fractionX;
+	private final byte[] fractionY;
+
+	/**
+	 * Builds a map from calibration data.
+	 *
+	 * @param distortion - The map returned by {@link Image#distortion()}; it is copied.
+	 * @param distortionWidth - The value of {@link Image#distortionWidth()}.
+	 * @param distortionHeight - The value of {@link Image#distortionHeight()}.
+	 * @param sourceWidth - The width of the raw images.
+	 * @param sourceHeight - The height of the raw images.
+	 * @param rayOffsetX - The value of {@link Image#rayOffsetX()}.
+	 * @param rayOffsetY - The value of {@link Image#rayOffsetY()}.
+	 * @param rayScaleX - The value of {@link Image#rayScaleX()}.
+	 * @param rayScaleY - The value of {@link Image#rayScaleY()}.
+	 * @param width - The width of the corrected images.
+	 * @param height - The height of the corrected images.
+	 */
+	public RectificationMap(float[] distortion, int distortionWidth, int distortionHeight, int sourceWidth, int sourceHeight,
+			float rayOffsetX, float rayOffsetY, float rayScaleX, float rayScaleY, int width, int height) {
+		if (distortionWidth < 4 || distortionHeight < 2 || distortion.length < distortionWidth * distortionHeight) {
+			throw new IllegalArgumentException("Invalid distortion map: " + distortionWidth + "x" + distortionHeight);
+		}
+		if (sourceWidth < 2 || sourceHeight < 2 || width <= 0 || height <= 0) {
+			throw new IllegalArgumentException("Invalid image size");
+		}
+		this.distortion = Arrays.copyOf(distortion, distortionWidth * distortionHeight);
+		this.gridWidth = distortionWidth / 2;
+		this.gridHeight = distortionHeight;
+		this.sourceWidth = sourceWidth;
+		this.sourceHeight = sourceHeight;
+		this.width = width;
+		this.height = height;
+		this.rayOffsetX = rayOffsetX;
+		this.rayOffsetY = rayOffsetY;
+		this.rayScaleX = rayScaleX;
+		this.rayScaleY = rayScaleY;
+		this.offsets = new int[width * height];
+		this.fractionX = new byte[width * height];
+		this.fractionY = new byte[width * height];
+		float[] normalized = new float[2];
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int i = y * width + x;
+				lookup((x + 0.5F) / width, (y + 0.5F) / height, normalized);
+				if (normalized[0] < 0.0F || normalized[0] > 1.0F || normalized[1] < 0.0F || normalized[1] > 1.0F) {
+					this.offsets[i] = -1;
+					continue;
+				}
+				// Sample between the centers of the four nearest raw pixels.
+				float sx = clamp(normalized[0] * sourceWidth - 0.5F, sourceWidth - 1);
+				float sy = clamp(normalized[1] * sourceHeight - 0.5F, sourceHeight - 1);
+				int x0 = Math.min((int)sx, sourceWidth - 2);
+				int y0 = Math.min((int)sy, sourceHeight - 2);
+				this.offsets[i] = y0 * sourceWidth + x0;
+				this.fractionX[i] = (byte)Math.min((int)((sx - x0) * 256.0F), 255);
+				this.fractionY[i] = (byte)Math.min((int)((sy - y0) * 256.0F), 255);
+			}
+		}
+	}
+
+	private static float clamp(float value, int max) {
+		return value < 0.0F ? 0.0F : value > max ? max : value;
+	}
+
+	/**
+	 * Returns the map for the calibration of an image's camera, building it on first use.<p>
+	 *
+	 * The distortion map of the image is compared with those of the maps already built, so a
+	 * device that is recalibrated or replaced gets a new map. The comparison copies the
+	 * distortion map into a reused per-thread array and does not allocate.
+	 *
+	 * @param image - A valid image.
+	 * @param width - The width of the corrected images.
+	 * @param height - The height of the corrected images.
+	 *
+	 * @return The map.
+	 */
+	public static RectificationMap of(Image image, int width, int height) {
+		int distortionWidth = image.distortionWidth();
+		int distortionHeight = image.distortionHeight();
+		float[] scratch = SCRATCH.get();
+		if (scratch == null || scratch.length != distortionWidth * distortionHeight) {
+			scratch = new float[distortionWidth * distortionHeight];
+			SCRATCH.set(scratch);
+		}
+		image.distortion(scratch);
+		int sourceWidth = image.width();
+		int sourceHeight = image.height();
+		synchronized (CACHE) {
+			for (int i = CACHE.size() - 1; i >= 0; i--) {
+				RectificationMap map = CACHE.get(i);
+				if (map.width == width && map.height == height && map.sourceWidth == sourceWidth
+						&& map.sourceHeight == sourceHeight && map.gridWidth * 2 == distortionWidth
+						&& Arrays.equals(map.distortion, scratch)) {
+					return map;
+				}
+			}
+		}
+		RectificationMap map = new RectificationMap(scratch, distortionWidth, distortionHeight, sourceWidth, sourceHeight,
+				image.rayOffsetX(), image.rayOffsetY(), image.rayScaleX(), image.rayScaleY(), width, height);
+		synchronized (CACHE) {
+			if (CACHE.size() == MAX_CACHED) {
+				CACHE.remove(0);
+			}
+			CACHE.add(map);
+		}
+		return map;
+	}
+
+	/**
+	 * Interpolates the distortion map at normalized ray coordinates, as {@link Image#warp(Vector)} does.
+	 */
+	private void lookup(float u, float v, float[] dst) {
+		float gx = clamp(u * (this.gridWidth - 1), this.gridWidth - 1);
+		float gy = clamp(v * (this.gridHeight - 1), this.gridHeight - 1);
+		int x1 = Math.min((int)gx, this.gridWidth - 2);
+		int y1 = Math.min((int)gy, this.gridHeight - 2);
+		float wx = gx - x1;
+		float wy = gy - y1;
+		int stride = this.gridWidth * 2;
+		int i1 = y1 * stride + x1 * 2;
+		int i2 = i1 + 2;
+		int i3 = i1 + stride;
+		int i4 = i3 + 2;
+		float[] d = this.distortion;
+		float w1 = (1.0F - wx) * (1.0F - wy);
+		float w2 = wx * (1.0F - wy);
+		float w3 = (1.0F - wx) * wy;
+		float w4 = wx * wy;
+		dst[0] = d[i1] * w1 + d[i2] * w2 + d[i3] * w3 + d[i4] * w4;
+		dst[1] = d[i1 + 1] * w1 + d[i2 + 1] * w2 + d[i3 + 1] * w3 + d[i4 + 1] * w4;
+	}
+
+	/**
+	 * The pixel of the raw image that a ray from the camera falls on, computed in pure Java.
+	 *
+	 * @param slopeX - The horizontal ray slope.
+	 * @param slopeY - The vertical ray slope.
+	 * @param dst - Receives the pixel coordinates [x, y, 0]; coordinates outside the image mean
+	 * the camera recorded no data for the ray.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public MutableVector3f warp(float slopeX, float slopeY, MutableVector3f dst) {
+		float u = slopeX * this.rayScaleX + this.rayOffsetX;
+		float v = slopeY * this.rayScaleY + this.rayOffsetY;
+		if (u < 0.0F || u > 1.0F || v < 0.0F || v > 1.0F) {
+			return dst.set(-1.0F, -1.0F, 0.0F);
+		}
+		float[] normalized = new float[2];
+		lookup(u, v, normalized);
+		return dst.set(normalized[0] * this.sourceWidth, normalized[1] * this.sourceHeight, 0.0F);
+	}
+
+	/**
+	 * The horizontal ray slope through a column of the corrected image.
+	 *
+	 * @param x - The column; fractional values address points between pixel centers.
+	 *
+	 * @return The slope.
+	 */
+	public float slopeX(float x) {
+		return ((x + 0.5F) / this.width - this.rayOffsetX) / this.rayScaleX;
+	}
+
+	/**
+	 * The vertical ray slope through a row of the corrected image.
+	 *
+	 * @param y - The row; fractional values address points between pixel centers.
+	 *
+	 * @return The slope.
+	 */
+	public float slopeY(float y) {
+		return ((y + 0.5F) / this.height - this.rayOffsetY) / this.rayScaleY;
+	}
+
+	/**
+	 * The width of the corrected images.
+	 *
+	 * @return The width in pixels.
+	 */
+	public int width() {
+		return this.width;
+	}
+
+	/**
+	 * The height of the corrected images.
+	 *
+	 * @return The height in pixels.
+	 */
+	public int height() {
+		return this.height;
+	}
+
+	/**
+	 * The width of the raw images this map applies to.
+	 *
+	 * @return The width in pixels.
+	 */
+	public int sourceWidth() {
+		return this.sourceWidth;
+	}
+
+	/**
+	 * The height of the raw images this map applies to.
+	 *
+	 * @return The height in pixels.
+	 */
+	public int sourceHeight() {
+		return this.sourceHeight;
+	}
+
+	/**
+	 * Corrects a raw image.
+	 *
+	 * @param src - The raw image, {@link RectificationMap#sourceWidth()} by {@link RectificationMap#sourceHeight()} bytes.
+	 * @param dst - Receives the corrected image, {@link RectificationMap#width()} by {@link RectificationMap#height()} bytes.
+	 */
+	public void undistort(byte[] src, byte[] dst) {
+		undistort(src, dst, 0, this.height);
+	}
+
+	/**
+	 * Corrects a band of rows of a raw image.
+	 *
+	 * @param src - The raw image.
+	 * @param dst - Receives the corrected image.
+	 * @param fromRow - The first row of {@code dst} to fill.
+	 * @param toRow - The row after the last one to fill.
+	 */
+	public void undistort(byte[] src, byte[] dst, int fromRow, int toRow) {
+		if (src.length < this.sourceWidth * this.sourceHeight || dst.length < this.width * this.height) {
+			throw new IllegalArgumentException("Image buffer too small");
+		}
+		int stride = this.sourceWidth;
+		int end = toRow * this.width;
+		for (int i = fromRow * this.width; i < end; i++) {
+			int offset = this.offsets[i];
+			if (offset < 0) {
+				dst[i] = 0;
+				continue;
+			}
+			int fx = this.fractionX[i] & 0xFF;
+			int fy = this.fractionY[i] & 0xFF;
+			int top = (src[offset] & 0xFF) * (256 - fx) + (src[offset + 1] & 0xFF) * fx;
+			int bottom = (src[offset + stride] & 0xFF) * (256 - fx) + (src[offset + stride + 1] & 0xFF) * fx;
+			dst[i] = (byte)((top * (256 - fy) + bottom * fy + 32768) >>> 16);
+		}
+	}
+
+	/**
+	 * Corrects a raw image, splitting the rows across the threads of {@code pool}.
+	 *
+	 * @param src - The raw image.
+	 * @param dst - Receives the corrected image.
+	 * @param pool - The pool that runs the work.
+	 */
+	public void parallelUndistort(byte[] src, byte[] dst, ForkJoinPool pool) {
+		if (this.width * this.height < PARALLEL_THRESHOLD) {
+			undistort(src, dst);
+		} else {
+			pool.invoke(new RowTask(this, src, dst, 0, this.height));
+		}
+	}
+
+	private static class RowTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final RectificationMap map;
+		private final byte[] src;
+		private final byte[] dst;
+		private final int fromRow;
+		private final int toRow;
+
+		RowTask(RectificationMap map, byte[] src, byte[] dst, int fromRow, int toRow) {
+			this.map = map;
+			this.src = src;
+			this.dst = dst;
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+		}
+
+		protected void compute() {
+			int rows = this.toRow - this.fromRow;
+			if (rows < 2 || rows * this.map.width <= PARALLEL_THRESHOLD) {
+				this.map.undistort(this.src, this.dst, this.fromRow, this.toRow);
+				return;
+			}
+			int middle = this.fromRow + (rows >>> 1);
+			invokeAll(new RowTask(this.map, this.src, this.dst, this.fromRow, middle),
+					new RowTask(this.map, this.src, this.dst, middle, this.toRow));
+		}
+	}
+}
@@ -7,21 +7,22 @@ public class Screen extends Interface {
 	{
 		super(LeapJNI.Screen_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.SCREEN);
+		}
 	}
 
 	public static long getCPtr(Screen paramScreen) {
 		return paramScreen == null ? 0L : paramScreen.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_Screen(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_Screen(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
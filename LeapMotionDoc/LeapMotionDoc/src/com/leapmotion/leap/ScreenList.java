@@ -9,21 +9,43 @@ public class ScreenList extends Interface implements Iterable<Screen> {
 	{
 		super(LeapJNI.ScreenList_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.SCREEN_LIST);
+		}
 	}
 
-	public static long getCPtr(ScreenList paramScreenList) {
-		return paramScreenList == null ? 0L : paramScreenList.swigCPtr;
+	/**
+	 * Copies the members of this list into a new array.<p>
+	 * 
+	 * The list size is read once, so this makes one fewer native call per member
+	 * than calling {@link ScreenList#count()} and {@link ScreenList#get(int)} in a loop.
+	 * 
+	 * <blockquote><pre>
+	 * Screen[] all = list.toArray();
+	 * </pre></blockquote>
+	 * 
+	 * @return An array of the {@link Screen} objects in this list, in list order.
+	 */
+	public Screen[] toArray() {
+		int count = count();
+		Screen[] result = new Screen[count];
+		for (int index = 0; index < count; index++) {
+			result[index] = get(index);
+		}
+		return result;
 	}
 
-	protected void finalize() {
-		delete();
+	public static long getCPtr(ScreenList paramScreenList) {
+		return paramScreenList == null ? 0L : paramScreenList.swigCPtr;
 	}
 
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_ScreenList(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_ScreenList(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -32,8 +54,9 @@ public class ScreenList extends Interface implements Iterable<Screen> {
 	public class ScreenListIterator implements Iterator<Screen> { public ScreenListIterator() {}
 
 	int index = 0;
+	final int count = ScreenList.this.count();
 
-	public boolean hasNext() { return this.index < ScreenList.this.count(); }
+	public boolean hasNext() { return this.index < this.count; }
 
 	public Screen next() {
 		return ScreenList.this.get(this.index++);
@@ -93,6 +93,9 @@ public class ScreenTapGesture extends Gesture {
 	{
 		super(LeapJNI.ScreenTapGesture_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.SCREEN_TAP_GESTURE);
+		}
 	}
 
 	/**
@@ -161,15 +164,13 @@ public class ScreenTapGesture extends Gesture {
 		return paramScreenTapGesture == null ? 0L : paramScreenTapGesture.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_ScreenTapGesture(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_ScreenTapGesture(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -0,0 +1,271 @@
+package com.leapmotion.leap;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@code SimulatedFrameSource} class is a pure Java {@link FrameSource} that generates
+ * synthetic tracking data.<p>
+ *
+ * It never calls the native library, so it runs on build servers and headless machines
+ * without a device or the {@code LeapJava} library. Each frame holds up to two hands moving
+ * along smooth periodic paths, with five fingers of four bones each opening and closing over
+ * time, an arm per hand, and a swipe or circle gesture every few seconds. The data is
+ * plausible rather than anatomically exact.<p>
+ *
+ * Frames are numbered from 1 and time-stamped on a simulated clock, so the same configuration
+ * always produces the same sequence. The source can run its own thread, paced at the configured
+ * rate or unpaced for load tests, or be pulled one frame at a time with
+ * {@link SimulatedFrameSource#nextFrame(FrameSnapshot)}:
+ *
+ * <blockquote><pre>
+ * SimulatedFrameSource source = new SimulatedFrameSource(1000);
+ * source.setPaced(false); // as fast as the handlers can go
+ * source.addHandler(pipeline);
+ * source.start();
+ * </pre></blockquote>
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class SimulatedFrameSource extends FrameSource {
+	private static final Finger.Type[] FINGER_TYPES = {
+		Finger.Type.TYPE_THUMB, Finger.Type.TYPE_INDEX, Finger.Type.TYPE_MIDDLE, Finger.Type.TYPE_RING, Finger.Type.TYPE_PINKY
+	};
+	private static final float[][] BONE_LENGTHS = {
+		{ 0, 46, 32, 24 },
+		{ 68, 39, 22, 16 },
+		{ 64, 44, 26, 17 },
+		{ 58, 41, 25, 17 },
+		{ 53, 32, 18, 16 }
+	};
+	private static final float[] FINGER_WIDTHS = { 20, 18, 18, 17, 15 };
+	private static final float[] KNUCKLE_OFFSETS = { -30, -22, -4, 13, 28 };
+	private static final float GESTURE_SECONDS = 0.25F;
+
+	private final float framesPerSecond;
+	private final FrameSnapshot snapshot = new FrameSnapshot();
+	private final MutableVector3f palm = new MutableVector3f();
+	private final MutableVector3f velocity = new MutableVector3f();
+	private final MutableVector3f normal = new MutableVector3f();
+	private final MutableVector3f direction = new MutableVector3f();
+	private final MutableVector3f lateral = new MutableVector3f();
+	private final MutableVector3f wrist = new MutableVector3f();
+	private final MutableVector3f elbow = new MutableVector3f();
+	private final MutableVector3f prev = new MutableVector3f();
+	private final MutableVector3f next = new MutableVector3f();
+	private final MutableVector3f boneDirection = new MutableVector3f();
+	private final MutableVector3f baseDirection = new MutableVector3f();
+	private final MutableVector3f scratch = new MutableVector3f();
+
+	private volatile int handCount = 2;
+	private volatile float gesturePeriodSeconds = 2.0F;
+	private volatile boolean paced = true;
+	private long frameId;
+	private Thread thread;
+	private volatile boolean running;
+
+	/**
+	 * Constructs a source producing frames at the specified rate.
+	 *
+	 * @param framesPerSecond - The simulated tracking rate. Timestamps advance by
+	 * {@code 1 / framesPerSecond} seconds per frame.
+	 */
+	public SimulatedFrameSource(float framesPerSecond) {
+		if (!(framesPerSecond > 0)) {
+			throw new IllegalArgumentException("Frame rate must be positive: " + framesPerSecond);
+		}
+		this.framesPerSecond = framesPerSecond;
+	}
+
+	/**
+	 * Sets the number of simulated hands, from 0 to 2. The default is 2.
+	 *
+	 * @param handCount - The number of hands in each frame.
+	 */
+	public void setHandCount(int handCount) {
+		if (handCount < 0 || handCount > 2) {
+			throw new IllegalArgumentException("Hand count must be between 0 and 2: " + handCount);
+		}
+		this.handCount = handCount;
+	}
+
+	/**
+	 * Sets the time between simulated gestures. The default is 2 seconds; zero disables gestures.
+	 *
+	 * @param seconds - The gesture period in simulated seconds.
+	 */
+	public void setGesturePeriod(float seconds) {
+		this.gesturePeriodSeconds = seconds;
+	}
+
+	/**
+	 * Chooses whether the source thread waits between frames to match the configured rate.
+	 * The default is true. Unpaced sources produce the next frame as soon as the handlers return.
+	 *
+	 * @param paced - True, to produce frames in real time.
+	 */
+	public void setPaced(boolean paced) {
+		this.paced = paced;
+	}
+
+	/**
+	 * The simulated tracking rate.
+	 *
+	 * @return The number of frames per simulated second.
+	 */
+	public float framesPerSecond() {
+		return this.framesPerSecond;
+	}
+
+	public synchronized void start() {
+		if (this.thread != null) {
+			return;
+		}
+		this.running = true;
+		this.thread = new Thread(new Runnable() {
+			public void run() {
+				runLoop();
+			}
+		}, "SimulatedFrameSource");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	public void stop() {
+		Thread thread;
+		synchronized (this) {
+			thread = this.thread;
+			this.thread = null;
+			this.running = false;
+		}
+		if (thread != null && thread != Thread.currentThread()) {
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void runLoop() {
+		long periodNanos = (long)(1e9 / this.framesPerSecond);
+		long due = System.nanoTime();
+		while (this.running) {
+			dispatch(nextFrame(this.snapshot));
+			if (this.paced) {
+				due += periodNanos;
+				long wait;
+				while ((wait = due - System.nanoTime()) > 0 && this.running) {
+					LockSupport.parkNanos(wait);
+				}
+			} else {
+				due = System.nanoTime();
+			}
+		}
+	}
+
+	/**
+	 * Generates the next frame into {@code dst} without dispatching it.<p>
+	 *
+	 * This advances the same frame counter as the source thread; do not mix the two.
+	 *
+	 * @param dst - The snapshot to fill.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public synchronized FrameSnapshot nextFrame(FrameSnapshot dst) {
+		long id = ++this.frameId;
+		double seconds = id / (double)this.framesPerSecond;
+		dst.beginFrame(id, (long)(seconds * 1e6), this.framesPerSecond);
+		int hands = this.handCount;
+		for (int h = 0; h < hands; h++) {
+			addHand(dst, h, seconds);
+		}
+		float period = this.gesturePeriodSeconds;
+		if (hands > 0 && period > 0) {
+			addGesture(dst, seconds, period);
+		}
+		return dst;
+	}
+
+	private void addHand(FrameSnapshot dst, int h, double seconds) {
+		boolean isLeft = h == 0;
+		float side = isLeft ? -1.0F : 1.0F;
+		double w = 2 * Math.PI * 0.25;
+		double phase = w * seconds + h * 1.3;
+
+		this.palm.set((float)(side * 90 + 40 * Math.sin(phase)), (float)(200 + 50 * Math.sin(0.7 * phase)),
+				(float)(30 * Math.cos(phase)));
+		this.velocity.set((float)(40 * w * Math.cos(phase)), (float)(50 * 0.7 * w * Math.cos(0.7 * phase)),
+				(float)(-30 * w * Math.sin(phase)));
+		float yaw = (float)(0.3 * Math.sin(0.5 * phase));
+		float roll = (float)(side * 0.4 * Math.sin(0.3 * phase));
+		this.direction.set((float)Math.sin(yaw), 0, (float)-Math.cos(yaw));
+		this.lateral.set((float)Math.cos(yaw), 0, (float)Math.sin(yaw));
+		this.normal.set(this.lateral.x * (float)Math.sin(roll), (float)-Math.cos(roll), this.lateral.z * (float)Math.sin(roll));
+		float grab = (float)(0.5 + 0.5 * Math.sin(0.35 * phase + h));
+		float pinch = (float)(0.5 + 0.5 * Math.sin(0.5 * phase + h + 1));
+
+		int handId = h + 1;
+		int hand = dst.addHand(handId, isLeft, 0.95F, grab, pinch, 85.0F, this.palm, this.velocity, this.normal, this.direction);
+		MutableVector3f.addInto(this.palm, MutableVector3f.scaleInto(this.direction, -60, this.scratch), this.wrist);
+		MutableVector3f.addInto(this.wrist, MutableVector3f.scaleInto(this.direction, -250, this.scratch), this.elbow);
+		dst.setArm(hand, 60.0F, this.elbow, this.wrist, this.direction);
+
+		float curl = grab * 0.9F;
+		for (int f = 0; f < FINGER_TYPES.length; f++) {
+			addFinger(dst, hand, handId, f, side, f == 0 ? curl * 0.5F : curl);
+		}
+	}
+
+	private void addFinger(FrameSnapshot dst, int hand, int handId, int f, float side, float curl) {
+		float[] lengths = BONE_LENGTHS[f];
+		float width = FINGER_WIDTHS[f];
+		// Knuckle row starts behind the palm center, fanned out across the hand.
+		MutableVector3f.addInto(this.palm, MutableVector3f.scaleInto(this.direction, -40, this.scratch), this.prev);
+		MutableVector3f.addInto(this.prev, MutableVector3f.scaleInto(this.lateral, KNUCKLE_OFFSETS[f] * side * 0.5F, this.scratch), this.prev);
+		if (f == 0) {
+			MutableVector3f.scaleInto(this.lateral, -side * 0.7F, this.scratch);
+			MutableVector3f.addInto(MutableVector3f.scaleInto(this.direction, 0.7F, this.baseDirection), this.scratch, this.baseDirection);
+			this.baseDirection.normalizeInPlace();
+		} else {
+			this.baseDirection.set(this.direction);
+			this.baseDirection.x += this.lateral.x * KNUCKLE_OFFSETS[f] * side * 0.004F;
+			this.baseDirection.z += this.lateral.z * KNUCKLE_OFFSETS[f] * side * 0.004F;
+			this.baseDirection.normalizeInPlace();
+		}
+
+		// The tip and direction are only known once the bones have been laid out.
+		int finger = dst.addFinger(handId * 10 + f, hand, FINGER_TYPES[f], curl < 0.6F, width,
+				lengths[1] + lengths[2] + lengths[3], this.prev, this.velocity, this.baseDirection);
+		for (int b = 0; b < FrameSnapshot.BONES_PER_FINGER; b++) {
+			float angle = b * curl;
+			MutableVector3f.scaleInto(this.baseDirection, (float)Math.cos(angle), this.boneDirection);
+			MutableVector3f.addInto(this.boneDirection, MutableVector3f.scaleInto(this.normal, (float)Math.sin(angle), this.scratch),
+					this.boneDirection);
+			MutableVector3f.addInto(this.prev, MutableVector3f.scaleInto(this.boneDirection, lengths[b], this.scratch), this.next);
+			dst.setBone(finger, b, this.prev, this.next, width);
+			this.prev.set(this.next);
+		}
+		dst.setFingerTip(finger, this.next, this.boneDirection);
+	}
+
+	private void addGesture(FrameSnapshot dst, double seconds, float period) {
+		long cycle = (long)(seconds / period);
+		double intoCycle = seconds - cycle * period;
+		if (cycle == 0 || intoCycle > GESTURE_SECONDS) {
+			return;
+		}
+		double frameSeconds = 1.0 / this.framesPerSecond;
+		Gesture.State state;
+		if (intoCycle < frameSeconds) {
+			state = Gesture.State.STATE_START;
+		} else if (intoCycle + frameSeconds > GESTURE_SECONDS) {
+			state = Gesture.State.STATE_STOP;
+		} else {
+			state = Gesture.State.STATE_UPDATE;
+		}
+		Gesture.Type type = cycle % 2 == 1 ? Gesture.Type.TYPE_SWIPE : Gesture.Type.TYPE_CIRCLE;
+		dst.addGesture((int)cycle, type, state, (long)(intoCycle * 1e6));
+	}
+}
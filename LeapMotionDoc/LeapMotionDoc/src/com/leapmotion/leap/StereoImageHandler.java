@@ -0,0 +1,19 @@
+package com.leapmotion.leap;
+
+/**
+ * The {@code StereoImageHandler} interface receives the results of a {@link StereoPipeline}.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public interface StereoImageHandler {
+	/**
+	 * Called with the output of the last stage for both cameras, on a thread of the pipeline's pool.<p>
+	 *
+	 * The planes are reused for the next pair once this call returns.
+	 *
+	 * @param left - The processed image of the left camera.
+	 * @param right - The processed image of the right camera, with the same {@link ImagePlane#sequenceId()}.
+	 */
+	void onImages(ImagePlane left, ImagePlane right);
+}
@@ -0,0 +1,318 @@
+package com.leapmotion.leap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The {@code StereoPipeline} class pairs the images of the left and right cameras and processes
+ * both at the same time.<p>
+ *
+ * Images are matched by {@link Image#sequenceId()}. Each complete pair runs through a list of
+ * {@link ImageStage} objects on a {@link ForkJoinPool}, with one task per camera, and the results
+ * are passed to a {@link StereoImageHandler}. Every stage writes into planes that are reused for
+ * the next pair:
+ *
+ * <blockquote><pre>
+ * StereoPipeline pipeline = new StereoPipeline(new ForkJoinPool(), handler);
+ * pipeline.setRectification(320, 320);
+ * pipeline.addStage("undistort", ImageStages.undistort());
+ * pipeline.addStage("threshold", ImageStages.threshold(96));
+ * pipeline.addStage("blobs", blobDetector);
+ *
+ * public void onImages(Controller controller) {
+ *     pipeline.submit(controller.images());
+ * }
+ * </pre></blockquote>
+ *
+ * {@link StereoPipeline#submit(ImageList)} only copies the image data and returns; the listener thread
+ * does not wait for the stages. One pair is processed at a time. Images that arrive while a pair is
+ * being processed are dropped and counted, so a slow stage lowers the rate of processed pairs instead
+ * of building up a backlog. The time spent in each stage is recorded; see {@link StereoPipeline#report()}.<p>
+ *
+ * Configure the stages before submitting the first image. An exception thrown by a stage drops the
+ * pair and is passed to the uncaught exception handler of the thread that ran it.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public class StereoPipeline {
+	private static final int CAMERAS = 2;
+
+	private final ForkJoinPool pool;
+	private final StereoImageHandler handler;
+	private final List<String> names = new ArrayList<String>();
+	private final List<ImageStage> stages = new ArrayList<ImageStage>();
+	private final List<ImagePlane[]> planes = new ArrayList<ImagePlane[]>();
+	private final long[] pendingSequence = { -1L, -1L };
+	private final AtomicBoolean busy = new AtomicBoolean();
+	private final AtomicLong processed = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong pairNanos = new AtomicLong();
+	private AtomicLongArray stageNanos = new AtomicLongArray(0);
+	private AtomicLongArray stageMaxNanos = new AtomicLongArray(0);
+	private AtomicLongArray stageRuns = new AtomicLongArray(0);
+	private int rectifiedWidth;
+	private int rectifiedHeight;
+
+	/**
+	 * Constructs a pipeline without stages.
+	 *
+	 * @param pool - The pool that runs the stages.
+	 * @param handler - Receives each processed pair.
+	 */
+	public StereoPipeline(ForkJoinPool pool, StereoImageHandler handler) {
+		this.pool = pool;
+		this.handler = handler;
+		this.planes.add(new ImagePlane[] { new ImagePlane(), new ImagePlane() });
+	}
+
+	/**
+	 * Appends a stage.
+	 *
+	 * @param name - The name used in statistics.
+	 * @param stage - The stage.
+	 *
+	 * @return This pipeline.
+	 *
+	 * @throws IllegalStateException if a pair is being processed.
+	 */
+	public synchronized StereoPipeline addStage(String name, ImageStage stage) {
+		checkIdle();
+		this.names.add(name);
+		this.stages.add(stage);
+		this.planes.add(new ImagePlane[] { new ImagePlane(), new ImagePlane() });
+		this.stageNanos = new AtomicLongArray(this.stages.size());
+		this.stageMaxNanos = new AtomicLongArray(this.stages.size());
+		this.stageRuns = new AtomicLongArray(this.stages.size());
+		return this;
+	}
+
+	/**
+	 * Attaches the {@link RectificationMap} of each camera to its images, for use by
+	 * {@link ImageStages#undistort()}.
+	 *
+	 * @param width - The width of the corrected images.
+	 * @param height - The height of the corrected images.
+	 */
+	public synchronized void setRectification(int width, int height) {
+		checkIdle();
+		this.rectifiedWidth = width;
+		this.rectifiedHeight = height;
+	}
+
+	private void checkIdle() {
+		if (this.busy.get()) {
+			throw new IllegalStateException("Pipeline is processing images");
+		}
+	}
+
+	/**
+	 * Submits the images of a frame.
+	 *
+	 * @param images - The images, usually from {@link Controller#images()} or {@link Frame#images()}.
+	 */
+	public void submit(ImageList images) {
+		for (Image image : images) {
+			submit(image);
+		}
+	}
+
+	/**
+	 * Submits the image of one camera. Processing starts when the image of the other camera with
+	 * the same {@link Image#sequenceId()} has been submitted as well.
+	 *
+	 * @param image - A valid image.
+	 */
+	public synchronized void submit(Image image) {
+		int camera = image.id();
+		if (camera < 0 || camera >= CAMERAS || !image.isValid()) {
+			return;
+		}
+		if (this.busy.get()) {
+			this.dropped.incrementAndGet();
+			return;
+		}
+		RectificationMap map = null;
+		if (this.rectifiedWidth > 0) {
+			map = RectificationMap.of(image, this.rectifiedWidth, this.rectifiedHeight);
+		}
+		long sequence = image.sequenceId();
+		if (this.pendingSequence[camera] >= 0) {
+			// The other camera never delivered a match for the previous image.
+			this.dropped.incrementAndGet();
+		}
+		this.planes.get(0)[camera].capture(image, map);
+		this.pendingSequence[camera] = sequence;
+		if (this.pendingSequence[1 - camera] == sequence) {
+			this.pendingSequence[0] = -1L;
+			this.pendingSequence[1] = -1L;
+			this.busy.set(true);
+			this.pool.execute(new PairTask(System.nanoTime()));
+		}
+	}
+
+	/**
+	 * Whether a pair is being processed.
+	 *
+	 * @return True, if the stages are running.
+	 */
+	public boolean isBusy() {
+		return this.busy.get();
+	}
+
+	/**
+	 * The number of stages added.
+	 *
+	 * @return The number of stages.
+	 */
+	public int stageCount() {
+		return this.stages.size();
+	}
+
+	/**
+	 * The name a stage was added with.
+	 *
+	 * @param stage - The stage index, in the order the stages were added.
+	 *
+	 * @return The name of the stage.
+	 */
+	public String stageName(int stage) {
+		return this.names.get(stage);
+	}
+
+	/**
+	 * The average time a stage takes for the image of one camera.
+	 *
+	 * @param stage - The stage index, in the order the stages were added.
+	 *
+	 * @return The average time in nanoseconds, or zero if the stage has not run.
+	 */
+	public long averageStageNanos(int stage) {
+		long runs = this.stageRuns.get(stage);
+		return runs == 0 ? 0L : this.stageNanos.get(stage) / runs;
+	}
+
+	/**
+	 * The longest time a stage has taken for the image of one camera.
+	 *
+	 * @param stage - The stage index.
+	 *
+	 * @return The time in nanoseconds.
+	 */
+	public long maxStageNanos(int stage) {
+		return this.stageMaxNanos.get(stage);
+	}
+
+	/**
+	 * The average time from the submission of the second image of a pair to the return of
+	 * {@link StereoImageHandler#onImages(ImagePlane, ImagePlane)}.
+	 *
+	 * @return The average time in nanoseconds, or zero if no pair has been processed.
+	 */
+	public long averagePairNanos() {
+		long count = this.processed.get();
+		return count == 0 ? 0L : this.pairNanos.get() / count;
+	}
+
+	/**
+	 * The number of pairs processed.
+	 *
+	 * @return The number of pairs passed to the handler.
+	 */
+	public long processedCount() {
+		return this.processed.get();
+	}
+
+	/**
+	 * The number of images dropped because the pipeline was busy or the other camera's image did not arrive.
+	 *
+	 * @return The number of images dropped.
+	 */
+	public long droppedCount() {
+		return this.dropped.get();
+	}
+
+	/**
+	 * The number of pairs dropped because a stage or the handler threw an exception.
+	 *
+	 * @return The number of failed pairs.
+	 */
+	public long failedCount() {
+		return this.failed.get();
+	}
+
+	/**
+	 * A text report of the pipeline statistics.
+	 *
+	 * @return One line per stage with its average and longest time, followed by the pair totals.
+	 */
+	public String report() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < stageCount(); i++) {
+			sb.append(String.format("%-16s avg %8.3f ms  max %8.3f ms%n", stageName(i), averageStageNanos(i) / 1e6,
+					maxStageNanos(i) / 1e6));
+		}
+		sb.append(String.format("pairs %d (avg %.3f ms), dropped images %d, failed %d", processedCount(),
+				averagePairNanos() / 1e6, droppedCount(), failedCount()));
+		return sb.toString();
+	}
+
+	private void record(int stage, long nanos) {
+		this.stageNanos.addAndGet(stage, nanos);
+		this.stageRuns.incrementAndGet(stage);
+		long max;
+		while (nanos > (max = this.stageMaxNanos.get(stage)) && !this.stageMaxNanos.compareAndSet(stage, max, nanos)) {
+		}
+	}
+
+	private class PairTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final long submitted;
+
+		PairTask(long submitted) {
+			this.submitted = submitted;
+		}
+
+		protected void compute() {
+			try {
+				invokeAll(new CameraTask(0), new CameraTask(1));
+				ImagePlane[] last = StereoPipeline.this.planes.get(StereoPipeline.this.stages.size());
+				StereoPipeline.this.handler.onImages(last[0], last[1]);
+				StereoPipeline.this.pairNanos.addAndGet(System.nanoTime() - this.submitted);
+				StereoPipeline.this.processed.incrementAndGet();
+			} catch (RuntimeException e) {
+				StereoPipeline.this.failed.incrementAndGet();
+				Thread thread = Thread.currentThread();
+				thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+			} finally {
+				StereoPipeline.this.busy.set(false);
+			}
+		}
+	}
+
+	private class CameraTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int camera;
+
+		CameraTask(int camera) {
+			this.camera = camera;
+		}
+
+		protected void compute() {
+			for (int i = 0; i < StereoPipeline.this.stages.size(); i++) {
+				long start = System.nanoTime();
+				StereoPipeline.this.stages.get(i).process(StereoPipeline.this.planes.get(i)[this.camera],
+						StereoPipeline.this.planes.get(i + 1)[this.camera]);
+				record(i, System.nanoTime() - start);
+			}
+		}
+	}
+}
@@ -84,6 +84,9 @@ public class SwipeGesture extends Gesture {
 	public SwipeGesture(long paramLong, boolean paramBoolean) {
 		super(LeapJNI.SwipeGesture_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.SWIPE_GESTURE);
+		}
 	}
 
 	/**
@@ -175,15 +178,13 @@ public class SwipeGesture extends Gesture {
 		return paramSwipeGesture == null ? 0L : paramSwipeGesture.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_SwipeGesture(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_SwipeGesture(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -56,6 +56,9 @@ public class Tool extends Pointable {
 	public Tool(long paramLong, boolean paramBoolean){
 		super(LeapJNI.Tool_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.TOOL);
+		}
 	}
 
 	/**
@@ -90,15 +93,13 @@ public class Tool extends Pointable {
 		return paramTool == null ? 0L : paramTool.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_Tool(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_Tool(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -27,6 +27,9 @@ public class ToolList extends Interface implements Iterable<Tool> {
 	public ToolList(long paramLong, boolean paramBoolean) {
 		super(LeapJNI.ToolList_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.TOOL_LIST);
+		}
 	}
 
 	public Iterator<Tool> iterator() { 
@@ -135,19 +138,38 @@ public class ToolList extends Interface implements Iterable<Tool> {
 		return new Tool(LeapJNI.ToolList_frontmost(this.swigCPtr, this), true);
 	}
 
-	public static long getCPtr(ToolList paramToolList) {
-		return paramToolList == null ? 0L : paramToolList.swigCPtr;
+	/**
+	 * Copies the members of this list into a new array.<p>
+	 * 
+	 * The list size is read once, so this makes one fewer native call per member
+	 * than calling {@link ToolList#count()} and {@link ToolList#get(int)} in a loop.
+	 * 
+	 * <blockquote><pre>
+	 * Tool[] all = list.toArray();
+	 * </pre></blockquote>
+	 * 
+	 * @return An array of the {@link Tool} objects in this list, in list order.
+	 */
+	public Tool[] toArray() {
+		int count = count();
+		Tool[] result = new Tool[count];
+		for (int index = 0; index < count; index++) {
+			result[index] = get(index);
+		}
+		return result;
 	}
 
-	protected void finalize() {
-		delete();
+	public static long getCPtr(ToolList paramToolList) {
+		return paramToolList == null ? 0L : paramToolList.swigCPtr;
 	}
 
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_ToolList(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_ToolList(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -158,9 +180,10 @@ public class ToolList extends Interface implements Iterable<Tool> {
 		public ToolListIterator() {}
 
 		int index = 0;
+		final int count = ToolList.this.count();
 
 		public boolean hasNext() { 
-			return this.index < ToolList.this.count(); 
+			return this.index < this.count; 
 		}
 
 		public Tool next() {
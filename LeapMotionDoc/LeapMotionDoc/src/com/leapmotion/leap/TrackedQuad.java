@@ -41,6 +41,9 @@ public class TrackedQuad extends Interface {
 	public TrackedQuad(long paramLong, boolean paramBoolean) {
 		super(LeapJNI.TrackedQuad_SWIGUpcast(paramLong), paramBoolean);
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.TRACKED_QUAD);
+		}
 	}
 
 	/**
@@ -239,15 +242,13 @@ public class TrackedQuad extends Interface {
 		return paramTrackedQuad == null ? 0L : paramTrackedQuad.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_TrackedQuad(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_TrackedQuad(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
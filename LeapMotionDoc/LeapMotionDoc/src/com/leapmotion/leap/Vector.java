@@ -20,6 +20,7 @@ package com.leapmotion.leap;
 public class Vector {
 	private long swigCPtr;
 	protected boolean swigCMemOwn;
+	NativeHandle swigHandle;
 
 	/**
 	 * Creates a new {@link Vector} with all components set to zero.
@@ -59,6 +60,9 @@ public class Vector {
 	public Vector(long paramLong, boolean paramBoolean)	{
 		this.swigCMemOwn = paramBoolean;
 		this.swigCPtr = paramLong;
+		if (paramBoolean) {
+			this.swigHandle = NativeObjects.track(this.swigHandle, this, paramLong, NativeHandle.VECTOR);
+		}
 	}
 
 	/**
@@ -72,6 +76,22 @@ public class Vector {
 		return new float[] { getX(), getY(), getZ() };
 	}
 
+	/**
+	 * Copies this {@link Vector} into a pure Java {@link Vector3f}.<p>
+	 *
+	 * The returned object does not reference native memory,
+	 * so math on it does not cross into the native library.
+	 *
+	 * <blockquote><pre>
+	 * Vector3f direction = hand.direction().toVector3f();
+	 * </pre></blockquote>
+	 *
+	 * @return A {@link Vector3f} with the same components as this {@link Vector}.
+	 */
+	public Vector3f toVector3f() {
+		return new Vector3f(getX(), getY(), getZ());
+	}
+
 	/**
 	 * The zero vector: (0, 0, 0)
 	 * 
@@ -585,15 +605,13 @@ public class Vector {
 		return other == null ? 0L : other.swigCPtr;
 	}
 
-	protected void finalize() {
-		delete();
-	}
-
 	public synchronized void delete() {
 		if (this.swigCPtr != 0L) {
 			if (this.swigCMemOwn) {
 				this.swigCMemOwn = false;
-				LeapJNI.delete_Vector(this.swigCPtr);
+				if (NativeObjects.release(this.swigHandle)) {
+					LeapJNI.delete_Vector(this.swigCPtr);
+				}
 			}
 			this.swigCPtr = 0L;
 		}
@@ -0,0 +1,520 @@
+package com.leapmotion.leap;
+
+/**
+ * The {@code Vector3f} class is a pure Java counterpart of the {@link Vector} struct.<p>
+ *
+ * A {@code Vector3f} holds its three components in final fields on the Java heap.
+ * None of its functions call into the native library, so short-lived instances created
+ * inside a loop can be optimized away entirely by the JVM.
+ * Use it for math-heavy code and convert to and from {@link Vector} only at the boundary:
+ *
+ * <blockquote><pre>
+ * Vector3f palm = new Vector3f(hand.palmPosition());
+ * Vector3f tip = new Vector3f(finger.tipPosition());
+ * float reach = palm.distanceTo(tip);
+ * </pre></blockquote>
+ *
+ * All functions follow the same conventions as the matching {@link Vector} functions:
+ * units are millimeters, angles are radians, and the coordinate system is right-handed.
+ *
+ * @since 2.3
+ * @author Leap Motion Inc
+ */
+public final class Vector3f {
+
+	/**
+	 * The tolerance used by {@link Vector3f#angleTo(Vector3f)} and {@link Vector3f#normalized()}
+	 * to treat a magnitude as zero. Matches the value of the native {@code EPSILON} constant.
+	 */
+	public static final float EPSILON = 1.192092896e-07f;
+
+	private static final Vector3f ZERO = new Vector3f(0, 0, 0);
+	private static final Vector3f X_AXIS = new Vector3f(1, 0, 0);
+	private static final Vector3f Y_AXIS = new Vector3f(0, 1, 0);
+	private static final Vector3f Z_AXIS = new Vector3f(0, 0, 1);
+	private static final Vector3f LEFT = new Vector3f(-1, 0, 0);
+	private static final Vector3f DOWN = new Vector3f(0, -1, 0);
+	private static final Vector3f FORWARD = new Vector3f(0, 0, -1);
+
+	private final float x;
+	private final float y;
+	private final float z;
+
+	/**
+	 * Creates a new {@link Vector3f} with all components set to zero.
+	 */
+	public Vector3f() {
+		this(0, 0, 0);
+	}
+
+	/**
+	 * Creates a new {@link Vector3f} with the specified component values.
+	 *
+	 * <blockquote><pre>
+	 * Vector3f newVector = new Vector3f(0.5f, 200.3f, 67f);
+	 * </pre></blockquote>
+	 *
+	 * @param x - The horizontal component.
+	 * @param y - The vertical component.
+	 * @param z - The depth component.
+	 */
+	public Vector3f(float x, float y, float z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+
+	/**
+	 * Copies the components of the specified native {@link Vector}.<p>
+	 *
+	 * This reads the three components once; the new {@link Vector3f} does not
+	 * keep a reference to {@code other}.
+	 *
+	 * <blockquote><pre>
+	 * Vector3f position = new Vector3f(hand.palmPosition());
+	 * </pre></blockquote>
+	 *
+	 * @param other - A {@link Vector} object to copy.
+	 */
+	public Vector3f(Vector other) {
+		this(other.getX(), other.getY(), other.getZ());
+	}
+
+	/**
+	 * Creates a new {@link Vector3f} from the first three values of a float array.
+	 *
+	 * @param array - An array holding x, y and z at indices 0, 1 and 2.
+	 *
+	 * @return The new {@link Vector3f}.
+	 */
+	public static Vector3f fromFloatArray(float[] array) {
+		return new Vector3f(array[0], array[1], array[2]);
+	}
+
+	/**
+	 * Creates a native {@link Vector} holding the same components as this {@link Vector3f}.
+	 *
+	 * <blockquote><pre>
+	 * Matrix transform = new Matrix(axis.toVector(), angle);
+	 * </pre></blockquote>
+	 *
+	 * @return A new {@link Vector} object.
+	 */
+	public Vector toVector() {
+		return new Vector(this.x, this.y, this.z);
+	}
+
+	/**
+	 * Copies the components of this {@link Vector3f} into an existing native {@link Vector}.<p>
+	 *
+	 * Unlike {@link Vector3f#toVector()} this does not allocate a new native object.
+	 *
+	 * @param dst - The {@link Vector} object to overwrite.
+	 *
+	 * @return The {@code dst} parameter.
+	 */
+	public Vector toVector(Vector dst) {
+		dst.setX(this.x);
+		dst.setY(this.y);
+		dst.setZ(this.z);
+		return dst;
+	}
+
+	/**
+	 * The {@link Vector3f} in a float array representation.<p>
+	 *
+	 * Index 0 is x, index 1 is y, and index 2 is z.
+	 *
+	 * @return The {@link Vector3f} in a float array representation.
+	 */
+	public float[] toFloatArray() {
+		return new float[] { this.x, this.y, this.z };
+	}
+
+	/**
+	 * The zero vector: (0, 0, 0)
+	 *
+	 * @return The zero vector.
+	 */
+	public static Vector3f zero() {
+		return ZERO;
+	}
+
+	/**
+	 * The x-axis unit vector: (1, 0, 0)
+	 *
+	 * @return The x-axis unit vector.
+	 */
+	public static Vector3f xAxis() {
+		return X_AXIS;
+	}
+
+	/**
+	 * The y-axis unit vector: (0, 1, 0)
+	 *
+	 * @return The y-axis unit vector.
+	 */
+	public static Vector3f yAxis() {
+		return Y_AXIS;
+	}
+
+	/**
+	 * The z-axis unit vector: (0, 0, 1)
+	 *
+	 * @return The z-axis unit vector.
+	 */
+	public static Vector3f zAxis() {
+		return Z_AXIS;
+	}
+
+	/**
+	 * The unit vector pointing left along the negative x-axis: (-1, 0, 0)
+	 *
+	 * @return The unit vector pointing left.
+	 */
+	public static Vector3f left() {
+		return LEFT;
+	}
+
+	/**
+	 * The unit vector pointing right along the positive x-axis: (1, 0, 0)
+	 *
+	 * @return The unit vector pointing right.
+	 */
+	public static Vector3f right() {
+		return X_AXIS;
+	}
+
+	/**
+	 * The unit vector pointing down along the negative y-axis: (0, -1, 0)
+	 *
+	 * @return The unit vector pointing down.
+	 */
+	public static Vector3f down() {
+		return DOWN;
+	}
+
+	/**
+	 * The unit vector pointing up along the positive y-axis: (0, 1, 0)
+	 *
+	 * @return The unit vector pointing up.
+	 */
+	public static Vector3f up() {
+		return Y_AXIS;
+	}
+
+	/**
+	 * The unit vector pointing forward along the negative z-axis: (0, 0, -1)
+	 *
+	 * @return The unit vector pointing forward.
+	 */
+	public static Vector3f forward() {
+		return FORWARD;
+	}
+
+	/**
+	 * The unit vector pointing backward along the positive z-axis: (0, 0, 1)
+	 *
+	 * @return The unit vector pointing backward.
+	 */
+	public static Vector3f backward() {
+		return Z_AXIS;
+	}
+
+	/**
+	 * The magnitude, or length, of this vector.
+	 *
+	 * @return The length of this vector.
+	 */
+	public float magnitude() {
+		return (float)Math.sqrt(magnitudeSquared());
+	}
+
+	/**
+	 * The square of the magnitude, or length, of this vector.
+	 *
+	 * @return The square of the length of this vector.
+	 */
+	public float magnitudeSquared() {
+		return this.x * this.x + this.y * this.y + this.z * this.z;
+	}
+
+	/**
+	 * The distance between the point represented by this {@link Vector3f} object
+	 * and a point represented by the specified {@link Vector3f} object.
+	 *
+	 * <blockquote><pre>
+	 * Vector3f aPoint = new Vector3f(10f, 0f, 0f);
+	 * float distance = Vector3f.zero().distanceTo(aPoint); // distance = 10
+	 * </pre></blockquote>
+	 *
+	 * @param other - A {@link Vector3f} object.
+	 *
+	 * @return The distance from this point to the specified point.
+	 */
+	public float distanceTo(Vector3f other) {
+		float dx = this.x - other.x;
+		float dy = this.y - other.y;
+		float dz = this.z - other.z;
+		return (float)Math.sqrt(dx * dx + dy * dy + dz * dz);
+	}
+
+	/**
+	 * The angle between this vector and the specified vector in radians.<p>
+	 *
+	 * The angle returned is always the smaller of the two conjugate angles,
+	 * between zero and pi radians. If either vector has zero length, then this function returns zero.
+	 *
+	 * @param other - A {@link Vector3f} object.
+	 *
+	 * @return The angle between this vector and the specified vector in radians.
+	 */
+	public float angleTo(Vector3f other) {
+		float denom = magnitudeSquared() * other.magnitudeSquared();
+		if (denom <= EPSILON) {
+			return 0.0F;
+		}
+		float val = dot(other) / (float)Math.sqrt(denom);
+		if (val >= 1.0F) {
+			return 0.0F;
+		} else if (val <= -1.0F) {
+			return (float)Math.PI;
+		}
+		return (float)Math.acos(val);
+	}
+
+	/**
+	 * The pitch angle in radians.<p>
+	 *
+	 * Pitch is the angle between the negative z-axis and the projection of the vector onto the y-z plane.
+	 *
+	 * @return The angle of this vector above or below the horizon (x-z plane).
+	 */
+	public float pitch() {
+		return (float)Math.atan2(this.y, -this.z);
+	}
+
+	/**
+	 * The yaw angle in radians.<p>
+	 *
+	 * Yaw is the angle between the negative z-axis and the projection of the vector onto the x-z plane.
+	 *
+	 * @return The angle of this vector to the right or left of the negative z-axis.
+	 */
+	public float yaw() {
+		return (float)Math.atan2(this.x, -this.z);
+	}
+
+	/**
+	 * The roll angle in radians.<p>
+	 *
+	 * Roll is the angle between the y-axis and the projection of the vector onto the x-y plane.
+	 *
+	 * @return The angle of this vector to the right or left of the y-axis.
+	 */
+	public float roll() {
+		return (float)Math.atan2(this.x, -this.y);
+	}
+
+	/**
+	 * The dot product of this vector with another vector.
+	 *
+	 * @param other - A {@link Vector3f} object.
+	 *
+	 * @return The dot product of this vector and the specified vector.
+	 */
+	public float dot(Vector3f other) {
+		return this.x * other.x + this.y * other.y + this.z * other.z;
+	}
+
+	/**
+	 * The cross product of this vector and the specified vector.<p>
+	 *
+	 * The direction of the returned vector is determined by the right-hand rule.
+	 * Thus {@code A.cross(B) == -B.cross(A)}.
+	 *
+	 * @param other - A {@link Vector3f} object.
+	 *
+	 * @return The cross product of this vector and the specified vector.
+	 */
+	public Vector3f cross(Vector3f other) {
+		return new Vector3f(this.y * other.z - this.z * other.y,
+				this.z * other.x - this.x * other.z,
+				this.x * other.y - this.y * other.x);
+	}
+
+	/**
+	 * A normalized copy of this vector.<p>
+	 *
+	 * If this vector has zero length, the zero vector is returned.
+	 *
+	 * @return A {@link Vector3f} object with a length of one,
+	 * pointing in the same direction as this {@link Vector3f} object.
+	 */
+	public Vector3f normalized() {
+		float denom = magnitudeSquared();
+		if (denom <= EPSILON) {
+			return ZERO;
+		}
+		return times(1.0F / (float)Math.sqrt(denom));
+	}
+
+	/**
+	 * A copy of this vector pointing in the opposite direction.
+	 *
+	 * @return A {@link Vector3f} object with all components negated.
+	 */
+	public Vector3f opposite() {
+		return new Vector3f(-this.x, -this.y, -this.z);
+	}
+
+	/**
+	 * Add vectors component-wise.
+	 *
+	 * @param other - A {@link Vector3f} object.
+	 *
+	 * @return The component-wise addition of this vector and the specified vector.
+	 */
+	public Vector3f plus(Vector3f other) {
+		return new Vector3f(this.x + other.x, this.y + other.y, this.z + other.z);
+	}
+
+	/**
+	 * Subtract vectors component-wise.
+	 *
+	 * @param other - A {@link Vector3f} object.
+	 *
+	 * @return The component-wise subtraction of this vector and the specified vector.
+	 */
+	public Vector3f minus(Vector3f other) {
+		return new Vector3f(this.x - other.x, this.y - other.y, this.z - other.z);
+	}
+
+	/**
+	 * Multiply vector by a scalar.
+	 *
+	 * @param scalar - a given scalar.
+	 *
+	 * @return The given vector, multiplied by the given scalar.
+	 */
+	public Vector3f times(float scalar) {
+		return new Vector3f(this.x * scalar, this.y * scalar, this.z * scalar);
+	}
+
+	/**
+	 * Divide vector by a scalar.
+	 *
+	 * @param scalar - a given scalar.
+	 *
+	 * @return The given vector, divided by the given scalar.
+	 */
+	public Vector3f divide(float scalar) {
+		return new Vector3f(this.x / scalar, this.y / scalar, this.z / scalar);
+	}
+
+	/**
+	 * Index vector components numerically.<p>
+	 *
+	 * Index 0 is x, index 1 is y, and index 2 is z.
+	 *
+	 * @param index - the requested index.
+	 *
+	 * @return The x, y, or z component of this {@link Vector3f},
+	 * if the specified index value is at least 0 and at most 2; otherwise, returns zero.
+	 */
+	public float get(long index) {
+		if (index == 0) {
+			return this.x;
+		} else if (index == 1) {
+			return this.y;
+		} else if (index == 2) {
+			return this.z;
+		}
+		return 0.0F;
+	}
+
+	/**
+	 * Get the horizontal component.
+	 *
+	 * @return The horizontal component.
+	 */
+	public float getX() {
+		return this.x;
+	}
+
+	/**
+	 * Get the vertical component.
+	 *
+	 * @return The vertical component.
+	 */
+	public float getY() {
+		return this.y;
+	}
+
+	/**
+	 * Get the depth component.
+	 *
+	 * @return The depth component.
+	 */
+	public float getZ() {
+		return this.z;
+	}
+
+	/**
+	 * Returns true if all of the vector's components are finite.
+	 *
+	 * @return true if all of the vector's components are finite.
+	 */
+	public boolean isValid() {
+		return !Float.isNaN(this.x) && !Float.isInfinite(this.x)
+				&& !Float.isNaN(this.y) && !Float.isInfinite(this.y)
+				&& !Float.isNaN(this.z) && !Float.isInfinite(this.z);
+	}
+
+	/**
+	 * Compare {@link Vector3f} equality component-wise.<p>
+	 *
+	 * Components are compared as {@link Float#equals(Object)} does, so that equal vectors have equal
+	 * hash codes: 0 and -0 differ, and a NaN component equals NaN.
+	 *
+	 * @param other - {@link Vector3f} object to compare
+	 *
+	 * @return true if the {@link Vector3f} objects are equal.
+	 */
+	public boolean equals(Vector3f other) {
+		return other != null && Float.floatToIntBits(this.x) == Float.floatToIntBits(other.x)
+				&& Float.floatToIntBits(this.y) == Float.floatToIntBits(other.y)
+				&& Float.floatToIntBits(this.z) == Float.floatToIntBits(other.z);
+	}
+
+	/**
+	 * Compare with another object, which is equal if it is a {@link Vector3f} with the same components.
+	 *
+	 * @param other - The object to compare.
+	 *
+	 * @return true if {@code other} is an equal {@link Vector3f}.
+	 */
+	public boolean equals(Object other) {
+		return other instanceof Vector3f && equals((Vector3f)other);
+	}
+
+	/**
+	 * A hash code consistent with {@link Vector3f#equals(Vector3f)}.
+	 *
+	 * @return The hash code of the components.
+	 */
+	public int hashCode() {
+		int result = Float.floatToIntBits(this.x);
+		result = 31 * result + Float.floatToIntBits(this.y);
+		return 31 * result + Float.floatToIntBits(this.z);
+	}
+
+	/**
+	 * Returns a string containing this vector in a human readable format: (x, y, z).
+	 *
+	 * @return A description of the {@link Vector3f} object as a string.
+	 */
+	public String toString() {
+		return "(" + this.x + ", " + this.y + ", " + this.z + ")";
+	}
+}